@@ -0,0 +1,266 @@
+package com.hotel.reservation.core;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Live availability of watched rooms. Listens for the {@code notify_hotel_change} notices on a
+ * dedicated connection, as the Spring invalidation bus does, merges the bursts received within
+ * {@code coalesceMillis}, then reads back the stays of every watched room that changed: one query
+ * per room and burst, whatever the number of watches on it.
+ *
+ * <p>Notices give the new dates of an updated reservation but not the previous ones, so watches
+ * get the room's bookings rather than a change to apply, and work out themselves what changed
+ * for their range. Notices sent while the hub is not listening are lost: every watched room is
+ * read again each time the connection is (re)established.
+ */
+public class AvailabilityHub implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityHub.class);
+
+    static final String CHANNEL = "hotel_changes";
+    private static final int IDLE_POLL_MILLIS = 500;
+    private static final long RECONNECT_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 30_000;
+
+    // The payloads are flat json_build_object documents: the rooms are all that is needed here
+    private static final Pattern RESERVATION_NOTICE = Pattern.compile("\"t\"\\s*:\\s*\"reservations\"");
+    private static final Pattern ROOM = Pattern.compile("\"(?:room|prevRoom)\"\\s*:\\s*(\\d+)");
+
+    private static final String ROOM_EXISTS = "SELECT 1 FROM rooms WHERE id = ?";
+    private static final String BOOKED = "SELECT check_in_date, check_out_date FROM reservations " +
+            "WHERE room_id = ? AND status <> 'CANCELLED' AND check_in_date >= ? AND check_in_date <= ? " +
+            "AND check_out_date >= ? ORDER BY check_in_date";
+
+    private final DataSource dataSource;
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxStayNights;
+    private final long coalesceNanos;
+    private final ConcurrentHashMap<Long, Set<AvailabilityWatch>> watches = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public AvailabilityHub(DataSource dataSource, String url, String username, String password, int maxStayNights,
+                           int coalesceMillis) {
+        this.dataSource = dataSource;
+        this.url = url;
+        this.connectionProperties = new Properties();
+        connectionProperties.setProperty("user", username);
+        connectionProperties.setProperty("password", password);
+        connectionProperties.setProperty("ApplicationName", "hotel-reservation-grpc-availability");
+        // Detect half-open connections, which would otherwise look like a quiet channel
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        this.maxStayNights = maxStayNights;
+        this.coalesceNanos = coalesceMillis * 1_000_000L;
+    }
+
+    public void start() {
+        running = true;
+        listener = new Thread(this::run, "availability-hub");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Registers the watch and returns the room's current stays over its range; changes from then
+     * on are delivered to {@link AvailabilityWatch#onBookings}, possibly before this returns.
+     *
+     * @throws ResourceNotFoundException if the room does not exist, the watch then not being registered
+     */
+    public BookedStays watch(AvailabilityWatch watch) {
+        watches.computeIfAbsent(watch.roomId(), room -> ConcurrentHashMap.newKeySet()).add(watch);
+        try {
+            return read(watch.roomId(), watch.from(), watch.to(), true);
+        } catch (RuntimeException e) {
+            unwatch(watch);
+            throw e;
+        }
+    }
+
+    public void unwatch(AvailabilityWatch watch) {
+        watches.computeIfPresent(watch.roomId(), (room, roomWatches) -> {
+            roomWatches.remove(watch);
+            return roomWatches.isEmpty() ? null : roomWatches;
+        });
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // already broken
+            }
+        }
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        long backoff = RECONNECT_BACKOFF_MILLIS;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, connectionProperties)) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Watching availability changes on channel {}", CHANNEL);
+                // Anything committed while we were not listening is unknown
+                refresh(new LinkedHashSet<>(watches.keySet()));
+                backoff = RECONNECT_BACKOFF_MILLIS;
+                listen(conn.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Availability listener connection lost, reconnecting in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void listen(PGConnection pgConnection) throws SQLException {
+        Set<Long> changed = new LinkedHashSet<>();
+        long deadline = 0;
+
+        while (running) {
+            int timeout = changed.isEmpty()
+                    ? IDLE_POLL_MILLIS
+                    : (int) Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+            PGNotification[] notifications = pgConnection.getNotifications(timeout);
+
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    String payload = notification.getParameter();
+                    if (!RESERVATION_NOTICE.matcher(payload).find()) {
+                        continue;
+                    }
+                    Matcher room = ROOM.matcher(payload);
+                    while (room.find()) {
+                        long roomId = Long.parseLong(room.group(1));
+                        if (watches.containsKey(roomId)) {
+                            if (changed.isEmpty()) {
+                                deadline = System.nanoTime() + coalesceNanos;
+                            }
+                            changed.add(roomId);
+                        }
+                    }
+                }
+            }
+
+            if (!changed.isEmpty() && System.nanoTime() - deadline >= 0) {
+                refresh(changed);
+                changed.clear();
+            }
+        }
+    }
+
+    private void refresh(Set<Long> rooms) {
+        for (long roomId : rooms) {
+            Set<AvailabilityWatch> roomWatches = watches.get(roomId);
+            if (roomWatches == null || roomWatches.isEmpty()) {
+                continue;
+            }
+            List<AvailabilityWatch> targets = new ArrayList<>(roomWatches);
+            LocalDate from = targets.get(0).from();
+            LocalDate to = targets.get(0).to();
+            for (AvailabilityWatch watch : targets) {
+                from = watch.from().isBefore(from) ? watch.from() : from;
+                to = watch.to().isAfter(to) ? watch.to() : to;
+            }
+            BookedStays stays;
+            try {
+                stays = read(roomId, from, to, false);
+            } catch (RuntimeException e) {
+                // The room's watches keep their last state until its next change
+                log.warn("Availability of room {} could not be read: {}", roomId, e.getMessage());
+                continue;
+            }
+            for (AvailabilityWatch watch : targets) {
+                try {
+                    watch.onBookings(stays);
+                } catch (RuntimeException e) {
+                    log.error("Availability watch on room {} failed", roomId, e);
+                }
+            }
+        }
+    }
+
+    private BookedStays read(long roomId, LocalDate from, LocalDate to, boolean checkRoom) {
+        // Taken before the query: a later generation reads a later snapshot
+        long generation = generations.incrementAndGet();
+        try (Connection conn = dataSource.getConnection()) {
+            try {
+                if (checkRoom) {
+                    try (PreparedStatement statement = conn.prepareStatement(ROOM_EXISTS)) {
+                        statement.setLong(1, roomId);
+                        try (ResultSet rs = statement.executeQuery()) {
+                            if (!rs.next()) {
+                                throw new ResourceNotFoundException("Room not found with ID: " + roomId);
+                            }
+                        }
+                    }
+                }
+                try (PreparedStatement statement = conn.prepareStatement(BOOKED)) {
+                    statement.setLong(1, roomId);
+                    statement.setDate(2, Date.valueOf(from.minusDays(maxStayNights)));
+                    statement.setDate(3, Date.valueOf(to));
+                    statement.setDate(4, Date.valueOf(from));
+                    try (ResultSet rs = statement.executeQuery()) {
+                        List<BookedStays.Stay> stays = new ArrayList<>();
+                        while (rs.next()) {
+                            stays.add(new BookedStays.Stay(rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate()));
+                        }
+                        return new BookedStays(generation, stays);
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Availability of room " + roomId + " could not be read: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.reservation.core;
+
+import java.time.LocalDate;
+
+/**
+ * Interest in the availability of a room over a range of dates, registered with
+ * {@link AvailabilityHub#watch}.
+ */
+public interface AvailabilityWatch {
+
+    long roomId();
+
+    LocalDate from();
+
+    /**
+     * Last date of the range, inclusive.
+     */
+    LocalDate to();
+
+    /**
+     * The room's stays over at least {@code from()..to()} after one of its reservations changed.
+     * Called on the hub's listener thread: must not block.
+     */
+    void onBookings(BookedStays bookedStays);
+}
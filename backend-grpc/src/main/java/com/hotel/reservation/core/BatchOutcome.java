@@ -0,0 +1,24 @@
+package com.hotel.reservation.core;
+
+/**
+ * Outcome of one create of a batch: the new reservation's id, or why it was rejected. The error
+ * codes are those of the SOAP batch operations.
+ */
+public record BatchOutcome(long reservationId, ErrorCode errorCode, String errorMessage) {
+
+    public enum ErrorCode {
+        NOT_FOUND, CONFLICT, INVALID
+    }
+
+    public static BatchOutcome created(long reservationId) {
+        return new BatchOutcome(reservationId, null, null);
+    }
+
+    public static BatchOutcome rejected(ErrorCode errorCode, String errorMessage) {
+        return new BatchOutcome(0, errorCode, errorMessage);
+    }
+
+    public boolean success() {
+        return errorCode == null;
+    }
+}
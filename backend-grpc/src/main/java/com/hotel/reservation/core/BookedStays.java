@@ -0,0 +1,18 @@
+package com.hotel.reservation.core;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Non-cancelled stays of a room overlapping a range of dates, as read at a given generation: of
+ * two states of the same room, the one with the higher generation was read last.
+ */
+public record BookedStays(long generation, List<Stay> stays) {
+
+    /**
+     * A stay blocks its check-in and check-out dates inclusive, as the conflict check does: a
+     * new stay can be booked when none of its dates is blocked.
+     */
+    public record Stay(LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.hotel.reservation.core;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A reservation with the client and room details returned to callers.
+ */
+public record Reservation(
+        long id,
+        Client client,
+        Room room,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        int numberOfGuests,
+        BigDecimal totalPrice,
+        ReservationStatus status,
+        String specialRequests,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public record Client(long id, String firstName, String lastName, String email, String phone) {
+    }
+
+    public record Room(long id, String roomNumber, String roomType, BigDecimal pricePerNight, int capacity,
+                       List<String> amenities) {
+    }
+}
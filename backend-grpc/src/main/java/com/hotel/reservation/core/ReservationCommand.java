@@ -0,0 +1,16 @@
+package com.hotel.reservation.core;
+
+import java.time.LocalDate;
+
+/**
+ * Booking details of a create or update; a null status keeps the current one (PENDING on create).
+ */
+public record ReservationCommand(
+        long clientId,
+        long roomId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        int numberOfGuests,
+        String specialRequests,
+        ReservationStatus status) {
+}
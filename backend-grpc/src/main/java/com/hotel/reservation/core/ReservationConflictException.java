@@ -0,0 +1,8 @@
+package com.hotel.reservation.core;
+
+public class ReservationConflictException extends RuntimeException {
+
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.hotel.reservation.core;
+
+import java.util.List;
+
+/**
+ * A page of reservations in id order; {@code hasMore} tells whether a next page exists, which
+ * starts after the id of the last reservation.
+ */
+public record ReservationPage(List<Reservation> reservations, boolean hasMore) {
+
+    public long lastId() {
+        return reservations.isEmpty() ? 0 : reservations.get(reservations.size() - 1).id();
+    }
+}
@@ -0,0 +1,17 @@
+package com.hotel.reservation.core;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria of a reservation listing; a null (or zero id) criterion matches every reservation.
+ * Check-in bounds are inclusive and let PostgreSQL skip the partitions outside them.
+ */
+public record ReservationQuery(
+        ReservationStatus status,
+        long clientId,
+        long roomId,
+        LocalDate checkInFrom,
+        LocalDate checkInTo) {
+
+    public static final ReservationQuery ALL = new ReservationQuery(null, 0, 0, null, null);
+}
@@ -0,0 +1,5 @@
+package com.hotel.reservation.core;
+
+public enum ReservationStatus {
+    PENDING, CONFIRMED, CANCELLED, COMPLETED
+}
@@ -0,0 +1,569 @@
+package com.hotel.reservation.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reservations over plain JDBC, with the booking rules of the Spring backend's
+ * {@code ReservationService}: stays of at most {@code maxStayNights} nights in the future, no
+ * overlap with a non-cancelled stay of the same room (bounds inclusive), price computed from the
+ * room rate. Each write records its outbox event in the same transaction, with the payload the
+ * Spring relay reads, so both backends can share a database.
+ *
+ * <p>Statements are written by hand: every write is a data-modifying CTE returning the
+ * reservation with its client and room, so a create is three round trips (client check, room
+ * lock, conflict check) plus the insert. Bookings of a room are serialized by a lock on the room
+ * row, taken before the conflict check; taking it moves the room's {@code booking_version}, which
+ * the Spring cluster's owner nodes use to detect bookings made around them.
+ */
+public class ReservationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationStore.class);
+
+    private static final int MIN_GUESTS = 1;
+    private static final int MAX_GUESTS = 10;
+
+    /**
+     * Reservation state as the Spring {@code ReservationSnapshot} serializes it.
+     */
+    private static final String SNAPSHOT = "jsonb_build_object('id', %1$s.id, 'clientId', %1$s.client_id, " +
+            "'roomId', %1$s.room_id, 'checkInDate', %1$s.check_in_date, 'checkOutDate', %1$s.check_out_date, " +
+            "'numberOfGuests', %1$s.number_of_guests, 'totalPrice', %1$s.total_price, 'status', %1$s.status)";
+
+    private static final String DETAILS = "SELECT r.id, r.check_in_date, r.check_out_date, r.number_of_guests, " +
+            "r.total_price, r.status, r.special_requests, r.created_at, r.updated_at, " +
+            "c.id, c.first_name, c.last_name, c.email, c.phone, " +
+            "ro.id, ro.room_number, ro.room_type, ro.price_per_night, ro.capacity, ro.amenities " +
+            "FROM %s r JOIN clients c ON c.id = r.client_id JOIN rooms ro ON ro.id = r.room_id";
+
+    private static final String OUTBOX_EVENT = "INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload) " +
+            "SELECT 'RESERVATION', s.id, '%s', jsonb_build_object('reservation', %s, 'previous', %s) FROM %s s";
+
+    static final String SELECT_BY_ID = DETAILS.formatted("reservations") + " WHERE r.id = ?";
+
+    private static final String CLIENT_EXISTS = "SELECT 1 FROM clients WHERE id = ?";
+    // Held until commit: bookings of the same room wait here instead of racing the conflict check.
+    // Moving the booking version tells the Spring node owning the room that its calendar missed a booking
+    private static final String LOCK_ROOM = "UPDATE rooms SET booking_version = booking_version + 1 WHERE id = ? " +
+            "RETURNING price_per_night";
+    // The lower check-in bound lets PostgreSQL prune partitions, as in the Spring repository
+    private static final String CONFLICT = "SELECT 1 FROM reservations WHERE room_id = ? AND status <> 'CANCELLED' " +
+            "AND check_in_date >= ? AND check_in_date <= ? AND check_out_date >= ? AND id <> ? LIMIT 1";
+    private static final String LOCK_RESERVATION = "SELECT " + SNAPSHOT.formatted("r") +
+            "::text, r.client_id, r.room_id, r.check_in_date, r.check_out_date FROM reservations r WHERE r.id = ? FOR UPDATE";
+
+    private static final String INSERT = "WITH saved AS (INSERT INTO reservations (client_id, room_id, check_in_date, " +
+            "check_out_date, number_of_guests, total_price, status, special_requests) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "RETURNING *), event AS (" + OUTBOX_EVENT.formatted("CREATED", SNAPSHOT.formatted("s"), "NULL", "saved") +
+            ") " + DETAILS.formatted("saved");
+    private static final String UPDATE = "WITH saved AS (UPDATE reservations SET client_id = ?, room_id = ?, " +
+            "check_in_date = ?, check_out_date = ?, number_of_guests = ?, total_price = ?, status = COALESCE(?, status), " +
+            "special_requests = ? WHERE id = ? RETURNING *), event AS (" +
+            OUTBOX_EVENT.formatted("UPDATED", SNAPSHOT.formatted("s"), "?::jsonb", "saved") + ") " +
+            DETAILS.formatted("saved");
+    private static final String CANCEL = "WITH saved AS (UPDATE reservations SET status = 'CANCELLED' WHERE id = ? " +
+            "RETURNING *), event AS (" +
+            OUTBOX_EVENT.formatted("CANCELLED", SNAPSHOT.formatted("s"), "?::jsonb", "saved") + ") " +
+            DETAILS.formatted("saved");
+    private static final String DELETE = "WITH removed AS (DELETE FROM reservations WHERE id = ? RETURNING *) " +
+            OUTBOX_EVENT.formatted("DELETED", "NULL", SNAPSHOT.formatted("s"), "removed");
+
+    private static final String EXISTING_CLIENTS = "SELECT id FROM clients WHERE id = ANY(?)";
+    // Rooms in id order, so that batches sharing rooms lock them in the same order
+    private static final String LOCK_ROOMS = "WITH locked AS (SELECT id FROM rooms WHERE id = ANY(?) " +
+            "ORDER BY id FOR NO KEY UPDATE) UPDATE rooms r SET booking_version = r.booking_version + 1 " +
+            "FROM locked WHERE r.id = locked.id RETURNING r.id, r.price_per_night";
+    // CONFLICT for every stay of a batch at once: the positions of those overlapping a booking
+    private static final String BATCH_CONFLICTS = "SELECT i.idx FROM unnest(?::int[], ?::bigint[], ?::date[], ?::date[]) " +
+            "AS i(idx, room_id, check_in, check_out) WHERE EXISTS (SELECT 1 FROM reservations r " +
+            "WHERE r.room_id = i.room_id AND r.status <> 'CANCELLED' AND r.check_in_date >= i.check_in - ? " +
+            "AND r.check_in_date <= i.check_out AND r.check_out_date >= i.check_in)";
+    // Ids drawn up front keep the inserts a plain batch, which the driver rewrites into multi-row statements
+    private static final String NEXT_IDS = "SELECT nextval(pg_get_serial_sequence('reservations', 'id')) " +
+            "FROM generate_series(1, ?)";
+    private static final String INSERT_BATCH = "INSERT INTO reservations (id, client_id, room_id, check_in_date, " +
+            "check_out_date, number_of_guests, total_price, status, special_requests) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CREATED_EVENTS = OUTBOX_EVENT.formatted("CREATED", SNAPSHOT.formatted("s"), "NULL",
+            "reservations") + " WHERE s.id = ANY(?) ORDER BY s.id";
+
+    @FunctionalInterface
+    private interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private record Locked(String snapshot, long clientId, long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+
+    private final DataSource dataSource;
+    private final int maxStayNights;
+
+    public ReservationStore(DataSource dataSource, int maxStayNights) {
+        this.dataSource = dataSource;
+        this.maxStayNights = maxStayNights;
+    }
+
+    public Reservation find(long id) {
+        return inTransaction("find", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+                statement.setLong(1, id);
+                return single(statement, id);
+            }
+        });
+    }
+
+    /**
+     * Up to {@code pageSize} reservations matching the query, with an id above {@code afterId}.
+     */
+    public ReservationPage findPage(ReservationQuery query, long afterId, int pageSize) {
+        return inTransaction("page", connection -> {
+            List<Object> parameters = new ArrayList<>();
+            String sql = select(query, afterId, parameters) + " ORDER BY r.id LIMIT ?";
+            // One extra row tells whether a next page exists
+            parameters.add(pageSize + 1);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bind(statement, parameters);
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<Reservation> reservations = new ArrayList<>(pageSize);
+                    while (reservations.size() < pageSize && rs.next()) {
+                        reservations.add(map(rs));
+                    }
+                    return new ReservationPage(reservations, rs.next());
+                }
+            }
+        });
+    }
+
+    public Reservation create(ReservationCommand command) {
+        validate(command);
+        return inTransaction("create", connection -> {
+            requireClient(connection, command.clientId());
+            BigDecimal pricePerNight = lockRoom(connection, command.roomId());
+            checkAvailability(connection, command, 0);
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setLong(1, command.clientId());
+                statement.setLong(2, command.roomId());
+                statement.setDate(3, Date.valueOf(command.checkInDate()));
+                statement.setDate(4, Date.valueOf(command.checkOutDate()));
+                statement.setInt(5, command.numberOfGuests());
+                statement.setBigDecimal(6, totalPrice(pricePerNight, command));
+                statement.setString(7, (command.status() != null ? command.status() : ReservationStatus.PENDING).name());
+                statement.setString(8, command.specialRequests());
+                Reservation reservation = single(statement, 0);
+                log.info("Reservation created with ID: {}", reservation.id());
+                return reservation;
+            }
+        });
+    }
+
+    /**
+     * Creates the reservations of a batch in one transaction, applying to each the rules of
+     * {@link #create}; a rejected command does not affect the others. Stays of the batch are also
+     * checked against each other, the earlier one winning. Whatever the batch size, this takes
+     * a fixed number of round trips: one query per check, one for the ids, the batched inserts and
+     * one statement writing every outbox event.
+     *
+     * @return one outcome per command, in order
+     */
+    public List<BatchOutcome> createBatch(List<ReservationCommand> commands) {
+        BatchOutcome[] outcomes = new BatchOutcome[commands.size()];
+        List<Integer> pending = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                validate(commands.get(i));
+                pending.add(i);
+            } catch (IllegalArgumentException e) {
+                outcomes[i] = BatchOutcome.rejected(BatchOutcome.ErrorCode.INVALID, e.getMessage());
+            }
+        }
+        if (pending.isEmpty()) {
+            return Arrays.asList(outcomes);
+        }
+
+        return inTransaction("batch create", connection -> {
+            Set<Long> clients = existingClients(connection,
+                    pending.stream().map(i -> commands.get(i).clientId()).toList());
+            Map<Long, BigDecimal> prices = lockRooms(connection,
+                    pending.stream().map(i -> commands.get(i).roomId()).toList());
+            pending.removeIf(i -> {
+                ReservationCommand command = commands.get(i);
+                if (!clients.contains(command.clientId())) {
+                    outcomes[i] = BatchOutcome.rejected(BatchOutcome.ErrorCode.NOT_FOUND,
+                            "Client not found with ID: " + command.clientId());
+                } else if (!prices.containsKey(command.roomId())) {
+                    outcomes[i] = BatchOutcome.rejected(BatchOutcome.ErrorCode.NOT_FOUND,
+                            "Room not found with ID: " + command.roomId());
+                }
+                return outcomes[i] != null;
+            });
+
+            Set<Integer> booked = conflicting(connection, commands, pending);
+            Map<Long, List<ReservationCommand>> accepted = new HashMap<>();
+            pending.removeIf(i -> {
+                ReservationCommand command = commands.get(i);
+                List<ReservationCommand> sameRoom =
+                        accepted.computeIfAbsent(command.roomId(), room -> new ArrayList<>());
+                if (booked.contains(i) || sameRoom.stream().anyMatch(other -> overlaps(other, command))) {
+                    outcomes[i] = BatchOutcome.rejected(BatchOutcome.ErrorCode.CONFLICT,
+                            "Room is not available for the selected dates");
+                    return true;
+                }
+                sameRoom.add(command);
+                return false;
+            });
+
+            if (!pending.isEmpty()) {
+                long[] ids = nextIds(connection, pending.size());
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_BATCH)) {
+                    for (int k = 0; k < pending.size(); k++) {
+                        ReservationCommand command = commands.get(pending.get(k));
+                        statement.setLong(1, ids[k]);
+                        statement.setLong(2, command.clientId());
+                        statement.setLong(3, command.roomId());
+                        statement.setDate(4, Date.valueOf(command.checkInDate()));
+                        statement.setDate(5, Date.valueOf(command.checkOutDate()));
+                        statement.setInt(6, command.numberOfGuests());
+                        statement.setBigDecimal(7, totalPrice(prices.get(command.roomId()), command));
+                        statement.setString(8,
+                                (command.status() != null ? command.status() : ReservationStatus.PENDING).name());
+                        statement.setString(9, command.specialRequests());
+                        statement.addBatch();
+                        outcomes[pending.get(k)] = BatchOutcome.created(ids[k]);
+                    }
+                    statement.executeBatch();
+                }
+                try (PreparedStatement statement = connection.prepareStatement(CREATED_EVENTS)) {
+                    statement.setArray(1, connection.createArrayOf("int8", Arrays.stream(ids).boxed().toArray()));
+                    statement.executeUpdate();
+                }
+            }
+            log.info("Batch of {} reservations: {} created", commands.size(), pending.size());
+            return Arrays.asList(outcomes);
+        });
+    }
+
+    public Reservation update(long id, ReservationCommand command) {
+        validate(command);
+        return inTransaction("update", connection -> {
+            Locked existing = lockReservation(connection, id);
+            if (existing.clientId() != command.clientId()) {
+                requireClient(connection, command.clientId());
+            }
+            BigDecimal pricePerNight = lockRoom(connection, command.roomId());
+            if (existing.roomId() != command.roomId() || !existing.checkInDate().equals(command.checkInDate())
+                    || !existing.checkOutDate().equals(command.checkOutDate())) {
+                checkAvailability(connection, command, id);
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setLong(1, command.clientId());
+                statement.setLong(2, command.roomId());
+                statement.setDate(3, Date.valueOf(command.checkInDate()));
+                statement.setDate(4, Date.valueOf(command.checkOutDate()));
+                statement.setInt(5, command.numberOfGuests());
+                statement.setBigDecimal(6, totalPrice(pricePerNight, command));
+                statement.setString(7, command.status() != null ? command.status().name() : null);
+                statement.setString(8, command.specialRequests());
+                statement.setLong(9, id);
+                statement.setString(10, existing.snapshot());
+                Reservation reservation = single(statement, id);
+                log.info("Reservation updated with ID: {}", id);
+                return reservation;
+            }
+        });
+    }
+
+    public Reservation cancel(long id) {
+        return inTransaction("cancel", connection -> {
+            Locked existing = lockReservation(connection, id);
+            try (PreparedStatement statement = connection.prepareStatement(CANCEL)) {
+                statement.setLong(1, id);
+                statement.setString(2, existing.snapshot());
+                Reservation reservation = single(statement, id);
+                log.info("Reservation cancelled with ID: {}", id);
+                return reservation;
+            }
+        });
+    }
+
+    public void delete(long id) {
+        inTransaction("delete", connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+                statement.setLong(1, id);
+                if (statement.executeUpdate() == 0) {
+                    throw notFound(id);
+                }
+            }
+            log.info("Reservation deleted with ID: {}", id);
+            return null;
+        });
+    }
+
+    /**
+     * The constraints the REST API checks on its request body, then the stay length.
+     */
+    private void validate(ReservationCommand command) {
+        if (command.clientId() <= 0) {
+            throw new IllegalArgumentException("Client ID is required");
+        }
+        if (command.roomId() <= 0) {
+            throw new IllegalArgumentException("Room ID is required");
+        }
+        if (command.checkInDate() == null) {
+            throw new IllegalArgumentException("Check-in date is required");
+        }
+        if (command.checkOutDate() == null) {
+            throw new IllegalArgumentException("Check-out date is required");
+        }
+        LocalDate today = LocalDate.now();
+        if (!command.checkInDate().isAfter(today)) {
+            throw new IllegalArgumentException("Check-in date must be in the future");
+        }
+        if (command.numberOfGuests() < MIN_GUESTS) {
+            throw new IllegalArgumentException("At least one guest is required");
+        }
+        if (command.numberOfGuests() > MAX_GUESTS) {
+            throw new IllegalArgumentException("Maximum " + MAX_GUESTS + " guests allowed");
+        }
+        if (!command.checkOutDate().isAfter(command.checkInDate())) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(command.checkInDate(), command.checkOutDate()) > maxStayNights) {
+            throw new IllegalArgumentException("Stay cannot exceed " + maxStayNights + " nights");
+        }
+    }
+
+    private static String select(ReservationQuery query, long afterId, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder(DETAILS.formatted("reservations")).append(" WHERE r.id > ?");
+        parameters.add(afterId);
+        if (query.status() != null) {
+            sql.append(" AND r.status = ?");
+            parameters.add(query.status().name());
+        }
+        if (query.clientId() > 0) {
+            sql.append(" AND r.client_id = ?");
+            parameters.add(query.clientId());
+        }
+        if (query.roomId() > 0) {
+            sql.append(" AND r.room_id = ?");
+            parameters.add(query.roomId());
+        }
+        if (query.checkInFrom() != null) {
+            sql.append(" AND r.check_in_date >= ?");
+            parameters.add(Date.valueOf(query.checkInFrom()));
+        }
+        if (query.checkInTo() != null) {
+            sql.append(" AND r.check_in_date <= ?");
+            parameters.add(Date.valueOf(query.checkInTo()));
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    private static Set<Long> existingClients(Connection connection, List<Long> clientIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(EXISTING_CLIENTS)) {
+            statement.setArray(1, connection.createArrayOf("int8", clientIds.stream().distinct().toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                Set<Long> existing = new HashSet<>();
+                while (rs.next()) {
+                    existing.add(rs.getLong(1));
+                }
+                return existing;
+            }
+        }
+    }
+
+    private static Map<Long, BigDecimal> lockRooms(Connection connection, List<Long> roomIds) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_ROOMS)) {
+            statement.setArray(1, connection.createArrayOf("int8", roomIds.stream().distinct().toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                Map<Long, BigDecimal> prices = new HashMap<>();
+                while (rs.next()) {
+                    prices.put(rs.getLong(1), rs.getBigDecimal(2));
+                }
+                return prices;
+            }
+        }
+    }
+
+    private Set<Integer> conflicting(Connection connection, List<ReservationCommand> commands, List<Integer> pending)
+            throws SQLException {
+        if (pending.isEmpty()) {
+            return Set.of();
+        }
+        Object[] rooms = new Object[pending.size()];
+        Object[] checkIns = new Object[pending.size()];
+        Object[] checkOuts = new Object[pending.size()];
+        for (int k = 0; k < pending.size(); k++) {
+            ReservationCommand command = commands.get(pending.get(k));
+            rooms[k] = command.roomId();
+            checkIns[k] = Date.valueOf(command.checkInDate());
+            checkOuts[k] = Date.valueOf(command.checkOutDate());
+        }
+        try (PreparedStatement statement = connection.prepareStatement(BATCH_CONFLICTS)) {
+            statement.setArray(1, connection.createArrayOf("int4", pending.toArray()));
+            statement.setArray(2, connection.createArrayOf("int8", rooms));
+            statement.setArray(3, connection.createArrayOf("date", checkIns));
+            statement.setArray(4, connection.createArrayOf("date", checkOuts));
+            statement.setInt(5, maxStayNights);
+            try (ResultSet rs = statement.executeQuery()) {
+                Set<Integer> booked = new HashSet<>();
+                while (rs.next()) {
+                    booked.add(rs.getInt(1));
+                }
+                return booked;
+            }
+        }
+    }
+
+    private static long[] nextIds(Connection connection, int count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_IDS)) {
+            statement.setInt(1, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                long[] ids = new long[count];
+                for (int k = 0; k < count && rs.next(); k++) {
+                    ids[k] = rs.getLong(1);
+                }
+                return ids;
+            }
+        }
+    }
+
+    /**
+     * The overlap rule of the conflict query: bounds inclusive.
+     */
+    private static boolean overlaps(ReservationCommand a, ReservationCommand b) {
+        return !a.checkInDate().isAfter(b.checkOutDate()) && !a.checkOutDate().isBefore(b.checkInDate());
+    }
+
+    private static void requireClient(Connection connection, long clientId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLIENT_EXISTS)) {
+            statement.setLong(1, clientId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new ResourceNotFoundException("Client not found with ID: " + clientId);
+                }
+            }
+        }
+    }
+
+    private static BigDecimal lockRoom(Connection connection, long roomId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_ROOM)) {
+            statement.setLong(1, roomId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new ResourceNotFoundException("Room not found with ID: " + roomId);
+                }
+                return rs.getBigDecimal(1);
+            }
+        }
+    }
+
+    private void checkAvailability(Connection connection, ReservationCommand command, long excludedId)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CONFLICT)) {
+            statement.setLong(1, command.roomId());
+            statement.setDate(2, Date.valueOf(command.checkInDate().minusDays(maxStayNights)));
+            statement.setDate(3, Date.valueOf(command.checkOutDate()));
+            statement.setDate(4, Date.valueOf(command.checkInDate()));
+            statement.setLong(5, excludedId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    throw new ReservationConflictException("Room is not available for the selected dates");
+                }
+            }
+        }
+    }
+
+    private static Locked lockReservation(Connection connection, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_RESERVATION)) {
+            statement.setLong(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw notFound(id);
+                }
+                return new Locked(rs.getString(1), rs.getLong(2), rs.getLong(3),
+                        rs.getDate(4).toLocalDate(), rs.getDate(5).toLocalDate());
+            }
+        }
+    }
+
+    private static BigDecimal totalPrice(BigDecimal pricePerNight, ReservationCommand command) {
+        long nights = ChronoUnit.DAYS.between(command.checkInDate(), command.checkOutDate());
+        return pricePerNight.multiply(BigDecimal.valueOf(nights));
+    }
+
+    private static Reservation single(PreparedStatement statement, long id) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                throw notFound(id);
+            }
+            return map(rs);
+        }
+    }
+
+    /**
+     * Maps a row of {@link #DETAILS}.
+     */
+    static Reservation map(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp(9);
+        Array amenities = rs.getArray(20);
+        return new Reservation(
+                rs.getLong(1),
+                new Reservation.Client(rs.getLong(10), rs.getString(11), rs.getString(12), rs.getString(13),
+                        rs.getString(14)),
+                new Reservation.Room(rs.getLong(15), rs.getString(16), rs.getString(17), rs.getBigDecimal(18),
+                        rs.getInt(19), amenities != null ? Arrays.asList((String[]) amenities.getArray()) : List.of()),
+                rs.getDate(2).toLocalDate(),
+                rs.getDate(3).toLocalDate(),
+                rs.getInt(4),
+                rs.getBigDecimal(5),
+                ReservationStatus.valueOf(rs.getString(6)),
+                rs.getString(7),
+                rs.getTimestamp(8).toLocalDateTime(),
+                updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+
+    private static ResourceNotFoundException notFound(long id) {
+        return new ResourceNotFoundException("Reservation not found with ID: " + id);
+    }
+
+    private <T> T inTransaction(String operation, Work<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Reservation " + operation + " failed: " + e.getMessage(), e);
+        }
+    }
+}
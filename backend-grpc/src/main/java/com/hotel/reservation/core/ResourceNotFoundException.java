@@ -0,0 +1,8 @@
+package com.hotel.reservation.core;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.reservation.core;
+
+import java.sql.SQLException;
+
+/**
+ * A database failure, as opposed to a rejected request.
+ */
+public class StoreException extends RuntimeException {
+
+    public StoreException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,267 @@
+package com.hotel.reservation.grpc;
+
+import com.hotel.reservation.core.AvailabilityHub;
+import com.hotel.reservation.core.AvailabilityWatch;
+import com.hotel.reservation.core.BookedStays;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One {@code WatchAvailability} call. Each subscription keeps the blocked dates last sent and the
+ * latest known; a change marks it pending, and pending subscriptions are sent while the client
+ * keeps up. A subscription changing again before it was sent stays a single pending entry whose
+ * delta is computed when sent, so the buffer never holds more than one update per subscription
+ * and a slow client gets the net change.
+ *
+ * <p>Requests, hub callbacks and the transport's onReady run on different threads: the state and
+ * every use of the response observer are guarded by this stream's monitor.
+ */
+final class AvailabilityStream implements StreamObserver<WatchAvailabilityRequest> {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private record Key(long roomId, LocalDate from, LocalDate to) {
+    }
+
+    private final AvailabilityHub hub;
+    private final ServerCallStreamObserver<AvailabilityUpdate> observer;
+    private final int maxSubscriptions;
+    private final Map<Key, Subscription> subscriptions = new HashMap<>();
+    private final Set<Subscription> pending = new LinkedHashSet<>();
+    private boolean closed;
+
+    AvailabilityStream(AvailabilityHub hub, ServerCallStreamObserver<AvailabilityUpdate> observer,
+                       int maxSubscriptions) {
+        this.hub = hub;
+        this.observer = observer;
+        this.maxSubscriptions = maxSubscriptions;
+        observer.setOnReadyHandler(this::drain);
+        observer.setOnCancelHandler(this::close);
+    }
+
+    @Override
+    public void onNext(WatchAvailabilityRequest request) {
+        try {
+            switch (request.getActionCase()) {
+                case ADD -> add(toKey(request.getAdd()));
+                case REMOVE -> remove(toKey(request.getRemove()));
+                default -> throw new IllegalArgumentException("Request must add or remove a subscription");
+            }
+        } catch (RuntimeException e) {
+            fail(ReservationGrpcService.toStatus(e));
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        close();
+    }
+
+    @Override
+    public void onCompleted() {
+        close();
+        synchronized (this) {
+            observer.onCompleted();
+        }
+    }
+
+    private void add(Key key) {
+        Subscription subscription;
+        synchronized (this) {
+            if (closed || subscriptions.containsKey(key)) {
+                return;
+            }
+            if (subscriptions.size() >= maxSubscriptions) {
+                throw new IllegalArgumentException("At most " + maxSubscriptions + " subscriptions per stream");
+            }
+            subscription = new Subscription(key);
+            subscriptions.put(key, subscription);
+        }
+        BookedStays initial;
+        try {
+            initial = hub.watch(subscription);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                subscriptions.remove(key, subscription);
+            }
+            throw e;
+        }
+        subscription.onBookings(initial);
+    }
+
+    private void remove(Key key) {
+        Subscription subscription;
+        synchronized (this) {
+            subscription = subscriptions.remove(key);
+            if (subscription == null) {
+                return;
+            }
+            pending.remove(subscription);
+        }
+        hub.unwatch(subscription);
+    }
+
+    private synchronized void drain() {
+        Iterator<Subscription> it = pending.iterator();
+        while (!closed && it.hasNext() && observer.isReady()) {
+            Subscription subscription = it.next();
+            it.remove();
+            observer.onNext(subscription.update());
+        }
+    }
+
+    private void fail(Status status) {
+        boolean wasOpen;
+        synchronized (this) {
+            wasOpen = !closed;
+        }
+        close();
+        if (wasOpen) {
+            synchronized (this) {
+                observer.onError(status.asRuntimeException());
+            }
+        }
+    }
+
+    private void close() {
+        List<Subscription> removed;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            removed = new ArrayList<>(subscriptions.values());
+            subscriptions.clear();
+        }
+        removed.forEach(hub::unwatch);
+    }
+
+    private static Key toKey(AvailabilitySubscription subscription) {
+        if (subscription.getRoomId() <= 0) {
+            throw new IllegalArgumentException("Room ID is required");
+        }
+        LocalDate from = ReservationGrpcService.toLocalDate(subscription.getFromDate(), "from_date");
+        LocalDate to = ReservationGrpcService.toLocalDate(subscription.getToDate(), "to_date");
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from_date and to_date are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to_date must not be before from_date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("A subscription covers at most " + MAX_RANGE_DAYS + " days");
+        }
+        return new Key(subscription.getRoomId(), from, to);
+    }
+
+    /**
+     * Bit {@code i} of a state is set when date {@code from + i} is blocked by a booking.
+     */
+    private final class Subscription implements AvailabilityWatch {
+
+        private final Key key;
+        private final int days;
+        private BitSet blocked = new BitSet();
+        private BitSet sent;
+        private long generation = -1;
+
+        Subscription(Key key) {
+            this.key = key;
+            this.days = (int) ChronoUnit.DAYS.between(key.from(), key.to()) + 1;
+        }
+
+        @Override
+        public long roomId() {
+            return key.roomId();
+        }
+
+        @Override
+        public LocalDate from() {
+            return key.from();
+        }
+
+        @Override
+        public LocalDate to() {
+            return key.to();
+        }
+
+        @Override
+        public void onBookings(BookedStays bookedStays) {
+            synchronized (AvailabilityStream.this) {
+                if (closed || subscriptions.get(key) != this || bookedStays.generation() <= generation) {
+                    return;
+                }
+                generation = bookedStays.generation();
+                blocked = toBits(bookedStays);
+                if (sent == null || !sent.equals(blocked)) {
+                    pending.add(this);
+                    drain();
+                } else {
+                    // Changed back to what the client already has
+                    pending.remove(this);
+                }
+            }
+        }
+
+        /**
+         * The snapshot, or the dates changed since the last update; called with the stream's lock held.
+         */
+        AvailabilityUpdate update() {
+            AvailabilityUpdate.Builder update = AvailabilityUpdate.newBuilder()
+                    .setSubscription(AvailabilitySubscription.newBuilder()
+                            .setRoomId(key.roomId())
+                            .setFromDate(key.from().toString())
+                            .setToDate(key.to().toString()));
+            BitSet changed;
+            if (sent == null) {
+                update.setSnapshot(true);
+                changed = new BitSet(days);
+                changed.set(0, days);
+            } else {
+                changed = (BitSet) sent.clone();
+                changed.xor(blocked);
+            }
+            // Runs of changed dates with the same new availability
+            int start = changed.nextSetBit(0);
+            while (start >= 0 && start < days) {
+                boolean isBlocked = blocked.get(start);
+                int end = start;
+                while (end + 1 < days && changed.get(end + 1) && blocked.get(end + 1) == isBlocked) {
+                    end++;
+                }
+                update.addRanges(AvailabilityRange.newBuilder()
+                        .setFromDate(key.from().plusDays(start).toString())
+                        .setToDate(key.from().plusDays(end).toString())
+                        .setAvailable(!isBlocked));
+                start = changed.nextSetBit(end + 1);
+            }
+            sent = (BitSet) blocked.clone();
+            return update.build();
+        }
+
+        private BitSet toBits(BookedStays bookedStays) {
+            BitSet bits = new BitSet(days);
+            for (BookedStays.Stay stay : bookedStays.stays()) {
+                long first = Math.max(0, ChronoUnit.DAYS.between(key.from(), stay.checkInDate()));
+                long last = Math.min(days - 1, ChronoUnit.DAYS.between(key.from(), stay.checkOutDate()));
+                if (first <= last) {
+                    bits.set((int) first, (int) last + 1);
+                }
+            }
+            return bits;
+        }
+    }
+}
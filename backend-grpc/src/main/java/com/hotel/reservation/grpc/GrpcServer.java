@@ -0,0 +1,146 @@
+package com.hotel.reservation.grpc;
+
+import com.hotel.reservation.core.AvailabilityHub;
+import com.hotel.reservation.core.ReservationStore;
+import com.hotel.reservation.grpc.metrics.ExecutorCollector;
+import com.hotel.reservation.grpc.metrics.MetricsInterceptor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.prometheus.PrometheusHistogramMetricsTrackerFactory;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.exporter.HTTPServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry point of the gRPC backend: a Netty server whose calls run on a configurable executor and
+ * reach PostgreSQL through a HikariCP pool. Calls, the executor and the pool are measured in the
+ * default Prometheus registry, served over HTTP on the metrics port.
+ */
+public final class GrpcServer {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final ServerConfig config;
+    private final HikariDataSource dataSource;
+    private final ExecutorService executor;
+    private final AvailabilityHub availabilityHub;
+    private final Server server;
+    private HTTPServer metricsServer;
+
+    public GrpcServer(ServerConfig config) {
+        CollectorRegistry registry = CollectorRegistry.defaultRegistry;
+        this.config = config;
+        this.dataSource = createDataSource(config, registry);
+        this.executor = createExecutor(config);
+        if (executor instanceof ThreadPoolExecutor pool) {
+            new ExecutorCollector("grpc", pool).register(registry);
+        }
+        ReservationStore store = new ReservationStore(dataSource, config.maxStayNights());
+        this.availabilityHub = new AvailabilityHub(dataSource, config.databaseUrl(), config.databaseUsername(),
+                config.databasePassword(), config.maxStayNights(), config.watchCoalesceMillis());
+        this.server = NettyServerBuilder.forPort(config.port())
+                .executor(executor)
+                .intercept(new MetricsInterceptor(registry))
+                .addService(new ReservationGrpcService(store, availabilityHub, config.streamFetchSize(),
+                        config.bulkBatchSize(), config.watchMaxSubscriptions()))
+                .addService(new ReservationV2GrpcService(store, config.streamFetchSize()))
+                .build();
+    }
+
+    public void start() throws IOException {
+        metricsServer = new HTTPServer.Builder()
+                .withPort(config.metricsPort())
+                .withRegistry(CollectorRegistry.defaultRegistry)
+                .withDaemonThreads(true)
+                .build();
+        availabilityHub.start();
+        server.start();
+        log.info("gRPC server listening on port {} ({} executor, {} database connections), metrics on port {}",
+                config.port(), config.executor(), config.poolSize(), config.metricsPort());
+    }
+
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(30, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        availabilityHub.close();
+        executor.shutdown();
+        dataSource.close();
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
+        log.info("gRPC server stopped");
+    }
+
+    public void awaitTermination() throws InterruptedException {
+        server.awaitTermination();
+    }
+
+    static HikariDataSource createDataSource(ServerConfig config, CollectorRegistry registry) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("grpc-pool");
+        hikari.setJdbcUrl(config.databaseUrl());
+        hikari.setUsername(config.databaseUsername());
+        hikari.setPassword(config.databasePassword());
+        hikari.setMaximumPoolSize(config.poolSize());
+        hikari.setMinimumIdle(config.poolSize());
+        hikari.setAutoCommit(false);
+        hikari.setConnectionTimeout(5_000);
+        // Server-side prepared statements from the first execution, cached per connection
+        hikari.addDataSourceProperty("prepareThreshold", "1");
+        hikari.addDataSourceProperty("preparedStatementCacheQueries", "256");
+        hikari.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
+        hikari.addDataSourceProperty("reWriteBatchedInserts", "true");
+        // Pool gauges plus acquire, usage and creation time histograms, labelled pool="grpc-pool"
+        hikari.setMetricsTrackerFactory(new PrometheusHistogramMetricsTrackerFactory(registry));
+        return new HikariDataSource(hikari);
+    }
+
+    /**
+     * A fixed pool bounds the number of calls in progress; virtual threads run every call at once
+     * and leave the bound to the connection pool. The latter needs Java 21: on an older runtime
+     * the fixed pool is used.
+     */
+    static ExecutorService createExecutor(ServerConfig config) {
+        if ("virtual".equalsIgnoreCase(config.executor())) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads need Java 21+, running Java {}: using a fixed pool",
+                        Runtime.version().feature());
+            }
+        } else if (!"fixed".equalsIgnoreCase(config.executor())) {
+            throw new IllegalArgumentException("GRPC_EXECUTOR must be 'fixed' or 'virtual', got '"
+                    + config.executor() + "'");
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(config.executorThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "grpc-call-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        GrpcServer server = new GrpcServer(ServerConfig.fromEnvironment());
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "grpc-shutdown"));
+        server.awaitTermination();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hotel.reservation.grpc;
+
+import com.hotel.reservation.core.Reservation;
+import com.hotel.reservation.core.ReservationPage;
+import com.hotel.reservation.core.ReservationQuery;
+import com.hotel.reservation.core.ReservationStore;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+/**
+ * A server-streaming listing read one keyset page at a time. Sends rows while the transport
+ * accepts them, then returns; gRPC calls {@link #drain} again when the client has consumed
+ * enough. Each page is a short query resuming after the last id read, so a stream holds a
+ * database connection only for the duration of that query, however slowly its client reads.
+ * Pages are separate snapshots: a row changed during the stream is sent as it was when its page
+ * was read.
+ */
+final class KeysetStream<T> {
+
+    private final ServerCallStreamObserver<T> observer;
+    private final ReservationStore store;
+    private final ReservationQuery query;
+    private final int pageSize;
+    private final Function<Reservation, T> mapper;
+    private final Deque<Reservation> page = new ArrayDeque<>();
+    private long lastId;
+    private boolean hasMore = true;
+    private boolean finished;
+
+    private KeysetStream(ServerCallStreamObserver<T> observer, ReservationStore store, ReservationQuery query,
+                         int pageSize, Function<Reservation, T> mapper) {
+        this.observer = observer;
+        this.store = store;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.mapper = mapper;
+    }
+
+    static <T> void start(ReservationStore store, ReservationQuery query, int pageSize,
+                          StreamObserver<T> responseObserver, Function<Reservation, T> mapper) {
+        ServerCallStreamObserver<T> observer = (ServerCallStreamObserver<T>) responseObserver;
+        KeysetStream<T> stream = new KeysetStream<>(observer, store, query, pageSize, mapper);
+        // Both run on the call's serialized executor, never concurrently; onReady first runs once
+        // the service method returns
+        observer.setOnReadyHandler(stream::drain);
+        observer.setOnCancelHandler(stream::close);
+    }
+
+    private void drain() {
+        if (finished) {
+            return;
+        }
+        try {
+            while (observer.isReady()) {
+                if (page.isEmpty()) {
+                    if (!hasMore) {
+                        close();
+                        observer.onCompleted();
+                        return;
+                    }
+                    ReservationPage next = store.findPage(query, lastId, pageSize);
+                    page.addAll(next.reservations());
+                    lastId = next.lastId();
+                    hasMore = next.hasMore();
+                    continue;
+                }
+                observer.onNext(mapper.apply(page.poll()));
+            }
+        } catch (RuntimeException e) {
+            close();
+            observer.onError(ReservationGrpcService.toStatus(e).asRuntimeException());
+        }
+    }
+
+    private void close() {
+        finished = true;
+        page.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.reservation.grpc;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.FieldMask;
+import com.hotel.reservation.grpc.v2.Reservation;
+
+/**
+ * A {@code read_mask} of the v2 API, checked and compiled once per call into one bit per field
+ * number, so that filling a message costs a bit test per field. Naming the {@code client} or
+ * {@code room} field selects all of it; naming one of their fields selects the message with only
+ * that field. An empty mask selects everything.
+ */
+final class ReadMask {
+
+    static final ReadMask ALL = new ReadMask(-1L, -1L, -1L);
+
+    private final long reservation;
+    private final long client;
+    private final long room;
+
+    private ReadMask(long reservation, long client, long room) {
+        this.reservation = reservation;
+        this.client = client;
+        this.room = room;
+    }
+
+    static ReadMask of(FieldMask mask) {
+        if (mask.getPathsCount() == 0) {
+            return ALL;
+        }
+        long reservation = 0;
+        long client = 0;
+        long room = 0;
+        for (String path : mask.getPathsList()) {
+            String[] names = path.split("\\.", -1);
+            FieldDescriptor field = field(Reservation.getDescriptor(), names[0], path);
+            reservation |= bit(field.getNumber());
+            long selected;
+            if (names.length == 1) {
+                selected = -1L;
+            } else if (names.length == 2 && field.getJavaType() == FieldDescriptor.JavaType.MESSAGE) {
+                selected = bit(field(field.getMessageType(), names[1], path).getNumber());
+            } else {
+                throw new IllegalArgumentException("Unknown field in read_mask: " + path);
+            }
+            if (field.getNumber() == Reservation.CLIENT_FIELD_NUMBER) {
+                client |= selected;
+            } else if (field.getNumber() == Reservation.ROOM_FIELD_NUMBER) {
+                room |= selected;
+            }
+        }
+        return new ReadMask(reservation, client, room);
+    }
+
+    boolean has(int fieldNumber) {
+        return (reservation & bit(fieldNumber)) != 0;
+    }
+
+    boolean client(int fieldNumber) {
+        return (client & bit(fieldNumber)) != 0;
+    }
+
+    boolean room(int fieldNumber) {
+        return (room & bit(fieldNumber)) != 0;
+    }
+
+    private static FieldDescriptor field(Descriptor message, String name, String path) {
+        FieldDescriptor field = message.findFieldByName(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field in read_mask: " + path);
+        }
+        return field;
+    }
+
+    private static long bit(int fieldNumber) {
+        return 1L << fieldNumber;
+    }
+}
@@ -0,0 +1,374 @@
+package com.hotel.reservation.grpc;
+
+import com.google.protobuf.Timestamp;
+import com.hotel.reservation.core.AvailabilityHub;
+import com.hotel.reservation.core.BatchOutcome;
+import com.hotel.reservation.core.Reservation;
+import com.hotel.reservation.core.ReservationCommand;
+import com.hotel.reservation.core.ReservationConflictException;
+import com.hotel.reservation.core.ReservationPage;
+import com.hotel.reservation.core.ReservationQuery;
+import com.hotel.reservation.core.ReservationStore;
+import com.hotel.reservation.core.ResourceNotFoundException;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The {@code reservation.ReservationService} RPCs, over {@link ReservationStore}. Failures are
+ * reported with the status the REST API's HTTP code corresponds to: {@code NOT_FOUND} (404),
+ * {@code FAILED_PRECONDITION} for a room already booked (409), {@code INVALID_ARGUMENT} (400).
+ *
+ * <p>Listings never build one message of every reservation: {@code GetAllReservations} returns
+ * pages behind an opaque cursor, and {@code StreamReservations} sends rows from one keyset page
+ * at a time, only while the client keeps up with them. {@code CreateReservations} commits
+ * the requests of a stream {@code bulkBatchSize} at a time. {@code WatchAvailability} is served by
+ * an {@link AvailabilityStream} per call.
+ */
+public class ReservationGrpcService extends ReservationServiceGrpc.ReservationServiceImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationGrpcService.class);
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReservationStore store;
+    private final AvailabilityHub availabilityHub;
+    private final int streamFetchSize;
+    private final int bulkBatchSize;
+    private final int maxWatchSubscriptions;
+
+    public ReservationGrpcService(ReservationStore store, AvailabilityHub availabilityHub, int streamFetchSize,
+                                  int bulkBatchSize, int maxWatchSubscriptions) {
+        this.store = store;
+        this.availabilityHub = availabilityHub;
+        this.streamFetchSize = streamFetchSize;
+        this.bulkBatchSize = bulkBatchSize;
+        this.maxWatchSubscriptions = maxWatchSubscriptions;
+    }
+
+    @Override
+    public void createReservation(CreateReservationRequest request, StreamObserver<ReservationResponse> observer) {
+        unary(observer, () -> toResponse(store.create(toCommand(request))));
+    }
+
+    @Override
+    public StreamObserver<CreateReservationRequest> createReservations(
+            StreamObserver<CreateReservationsResponse> observer) {
+        return new BulkCreate(observer);
+    }
+
+    @Override
+    public void getReservation(GetReservationRequest request, StreamObserver<ReservationResponse> observer) {
+        unary(observer, () -> toResponse(store.find(request.getId())));
+    }
+
+    @Override
+    public void updateReservation(UpdateReservationRequest request, StreamObserver<ReservationResponse> observer) {
+        unary(observer, () -> toResponse(store.update(request.getId(), new ReservationCommand(
+                request.getClientId(),
+                request.getRoomId(),
+                toLocalDate(request.getCheckInDate(), "check_in_date"),
+                toLocalDate(request.getCheckOutDate(), "check_out_date"),
+                request.getNumberOfGuests(),
+                emptyToNull(request.getSpecialRequests()),
+                request.hasStatus() ? toStatus(request.getStatus()) : null))));
+    }
+
+    @Override
+    public void deleteReservation(DeleteReservationRequest request,
+                                  StreamObserver<DeleteReservationResponse> observer) {
+        unary(observer, () -> {
+            store.delete(request.getId());
+            return DeleteReservationResponse.newBuilder()
+                    .setSuccess(true)
+                    .setMessage("Reservation deleted successfully")
+                    .build();
+        });
+    }
+
+    @Override
+    public void getAllReservations(GetAllReservationsRequest request, StreamObserver<ReservationList> observer) {
+        unary(observer, () -> {
+            ReservationPage page = store.findPage(toQuery(request.getFilter()), decodeCursor(request.getCursor()),
+                    pageSize(request.getPageSize()));
+            ReservationList.Builder list = ReservationList.newBuilder();
+            for (Reservation reservation : page.reservations()) {
+                list.addReservations(toResponse(reservation));
+            }
+            if (page.hasMore()) {
+                list.setNextCursor(encodeCursor(page.lastId()));
+            }
+            return list.build();
+        });
+    }
+
+    @Override
+    public void streamReservations(StreamReservationsRequest request,
+                                   StreamObserver<ReservationResponse> responseObserver) {
+        ReservationQuery query;
+        try {
+            query = toQuery(request.getFilter());
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        KeysetStream.start(store, query, streamFetchSize, responseObserver, ReservationGrpcService::toResponse);
+    }
+
+    @Override
+    public StreamObserver<WatchAvailabilityRequest> watchAvailability(
+            StreamObserver<AvailabilityUpdate> observer) {
+        return new AvailabilityStream(availabilityHub, (ServerCallStreamObserver<AvailabilityUpdate>) observer,
+                maxWatchSubscriptions);
+    }
+
+    @Override
+    public void cancelReservation(CancelReservationRequest request, StreamObserver<ReservationResponse> observer) {
+        unary(observer, () -> toResponse(store.cancel(request.getId())));
+    }
+
+    static <T> void unary(StreamObserver<T> observer, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            observer.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        observer.onNext(response);
+        observer.onCompleted();
+    }
+
+    /**
+     * Collects the requests of a {@code CreateReservations} stream into batches. A full batch is
+     * created before the next request is read, so a client sending faster than the database
+     * commits is held back by flow control rather than buffered.
+     */
+    private final class BulkCreate implements StreamObserver<CreateReservationRequest> {
+
+        private final StreamObserver<CreateReservationsResponse> observer;
+        private final List<ReservationCommand> batch = new ArrayList<>();
+        private final List<Integer> batchIndexes = new ArrayList<>();
+        private final List<CreateReservationResult> results = new ArrayList<>();
+        private int received;
+        private int created;
+        private boolean failed;
+
+        BulkCreate(StreamObserver<CreateReservationsResponse> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(CreateReservationRequest request) {
+            if (failed) {
+                return;
+            }
+            int index = received++;
+            try {
+                batch.add(toCommand(request));
+                batchIndexes.add(index);
+            } catch (IllegalArgumentException e) {
+                record(index, BatchOutcome.rejected(BatchOutcome.ErrorCode.INVALID, e.getMessage()));
+            }
+            if (batch.size() >= bulkBatchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failed = true;
+            log.info("Bulk create stream ended by the client after {} requests, {} created: {}",
+                    received, created, Status.fromThrowable(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!failed) {
+                flush();
+            }
+            if (failed) {
+                return;
+            }
+            results.sort(Comparator.comparingInt(CreateReservationResult::getIndex));
+            observer.onNext(CreateReservationsResponse.newBuilder()
+                    .setReceived(received)
+                    .setCreated(created)
+                    .setRejected(received - created)
+                    .addAllResults(results)
+                    .build());
+            observer.onCompleted();
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                List<BatchOutcome> outcomes = store.createBatch(batch);
+                for (int k = 0; k < outcomes.size(); k++) {
+                    record(batchIndexes.get(k), outcomes.get(k));
+                }
+            } catch (RuntimeException e) {
+                failed = true;
+                observer.onError(toStatus(e).asRuntimeException());
+            } finally {
+                batch.clear();
+                batchIndexes.clear();
+            }
+        }
+
+        private void record(int index, BatchOutcome outcome) {
+            CreateReservationResult.Builder result = CreateReservationResult.newBuilder()
+                    .setIndex(index)
+                    .setSuccess(outcome.success());
+            if (outcome.success()) {
+                result.setReservationId(outcome.reservationId());
+                created++;
+            } else {
+                result.setErrorCode(outcome.errorCode().name()).setErrorMessage(outcome.errorMessage());
+            }
+            results.add(result.build());
+        }
+    }
+
+    static Status toStatus(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof ReservationConflictException) {
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        log.error("Unexpected error", e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred");
+    }
+
+    static ReservationResponse toResponse(Reservation reservation) {
+        Reservation.Client client = reservation.client();
+        Reservation.Room room = reservation.room();
+        ReservationResponse.Builder response = ReservationResponse.newBuilder()
+                .setId(reservation.id())
+                .setClient(ClientInfo.newBuilder()
+                        .setId(client.id())
+                        .setFirstName(client.firstName())
+                        .setLastName(client.lastName())
+                        .setEmail(client.email())
+                        .setPhone(nullToEmpty(client.phone())))
+                .setRoom(RoomInfo.newBuilder()
+                        .setId(room.id())
+                        .setRoomNumber(room.roomNumber())
+                        .setRoomType(RoomType.valueOf(room.roomType()))
+                        .setPricePerNight(room.pricePerNight().doubleValue())
+                        .setCapacity(room.capacity())
+                        .addAllAmenities(room.amenities()))
+                .setCheckInDate(reservation.checkInDate().toString())
+                .setCheckOutDate(reservation.checkOutDate().toString())
+                .setNumberOfGuests(reservation.numberOfGuests())
+                .setTotalPrice(reservation.totalPrice().doubleValue())
+                .setStatus(ReservationStatus.valueOf(reservation.status().name()))
+                .setSpecialRequests(nullToEmpty(reservation.specialRequests()));
+        if (reservation.createdAt() != null) {
+            response.setCreatedAt(toTimestamp(reservation.createdAt()));
+        }
+        if (reservation.updatedAt() != null) {
+            response.setUpdatedAt(toTimestamp(reservation.updatedAt()));
+        }
+        return response.build();
+    }
+
+    static LocalDate toLocalDate(String value, String field) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be a date in YYYY-MM-DD format, got '" + value + "'");
+        }
+    }
+
+    static ReservationCommand toCommand(CreateReservationRequest request) {
+        return new ReservationCommand(
+                request.getClientId(),
+                request.getRoomId(),
+                toLocalDate(request.getCheckInDate(), "check_in_date"),
+                toLocalDate(request.getCheckOutDate(), "check_out_date"),
+                request.getNumberOfGuests(),
+                emptyToNull(request.getSpecialRequests()),
+                toStatus(request.getStatus()));
+    }
+
+    static ReservationQuery toQuery(ReservationFilter filter) {
+        return new ReservationQuery(
+                filter.hasStatus() ? toStatus(filter.getStatus()) : null,
+                filter.getClientId(),
+                filter.getRoomId(),
+                toLocalDate(filter.getCheckInFrom(), "check_in_from"),
+                toLocalDate(filter.getCheckInTo(), "check_in_to"));
+    }
+
+    static int pageSize(int requested) {
+        if (requested < 0) {
+            throw new IllegalArgumentException("page_size must not be negative");
+        }
+        return requested == 0 ? DEFAULT_PAGE_SIZE : Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Cursors are opaque to clients: the last ID of the previous page, encoded as by the SOAP endpoint.
+     */
+    static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static com.hotel.reservation.core.ReservationStatus toStatus(ReservationStatus status) {
+        if (status == ReservationStatus.UNRECOGNIZED) {
+            throw new IllegalArgumentException("Unknown reservation status");
+        }
+        return com.hotel.reservation.core.ReservationStatus.valueOf(status.name());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        // The columns are TIMESTAMP WITHOUT TIME ZONE, written by the database in UTC
+        return Timestamp.newBuilder()
+                .setSeconds(dateTime.toEpochSecond(ZoneOffset.UTC))
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+
+    static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
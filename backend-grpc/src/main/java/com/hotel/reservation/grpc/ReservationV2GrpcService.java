@@ -0,0 +1,194 @@
+package com.hotel.reservation.grpc;
+
+import com.hotel.reservation.core.ReservationPage;
+import com.hotel.reservation.core.ReservationQuery;
+import com.hotel.reservation.core.ReservationStore;
+import com.hotel.reservation.grpc.v2.Client;
+import com.hotel.reservation.grpc.v2.GetReservationRequest;
+import com.hotel.reservation.grpc.v2.ListReservationsRequest;
+import com.hotel.reservation.grpc.v2.ListReservationsResponse;
+import com.hotel.reservation.grpc.v2.Reservation;
+import com.hotel.reservation.grpc.v2.ReservationFilter;
+import com.hotel.reservation.grpc.v2.ReservationServiceV2Grpc;
+import com.hotel.reservation.grpc.v2.ReservationStatus;
+import com.hotel.reservation.grpc.v2.Room;
+import com.hotel.reservation.grpc.v2.RoomType;
+import com.hotel.reservation.grpc.v2.StreamReservationsRequest;
+import io.grpc.stub.StreamObserver;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The {@code reservation.v2.ReservationServiceV2} reads, over the same {@link ReservationStore}
+ * as v1, with the same paging, cursors and error statuses. Messages are filled field by field
+ * from the {@link ReadMask} of the request: masked out fields are neither converted nor sent.
+ */
+public class ReservationV2GrpcService extends ReservationServiceV2Grpc.ReservationServiceV2ImplBase {
+
+    private final ReservationStore store;
+    private final int streamFetchSize;
+
+    public ReservationV2GrpcService(ReservationStore store, int streamFetchSize) {
+        this.store = store;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public void getReservation(GetReservationRequest request, StreamObserver<Reservation> observer) {
+        ReservationGrpcService.unary(observer, () -> {
+            ReadMask mask = ReadMask.of(request.getReadMask());
+            return toReservation(store.find(request.getId()), mask);
+        });
+    }
+
+    @Override
+    public void listReservations(ListReservationsRequest request, StreamObserver<ListReservationsResponse> observer) {
+        ReservationGrpcService.unary(observer, () -> {
+            ReadMask mask = ReadMask.of(request.getReadMask());
+            ReservationPage page = store.findPage(toQuery(request.getFilter()),
+                    ReservationGrpcService.decodeCursor(request.getCursor()),
+                    ReservationGrpcService.pageSize(request.getPageSize()));
+            ListReservationsResponse.Builder response = ListReservationsResponse.newBuilder();
+            for (com.hotel.reservation.core.Reservation reservation : page.reservations()) {
+                response.addReservations(toReservation(reservation, mask));
+            }
+            if (page.hasMore()) {
+                response.setNextCursor(ReservationGrpcService.encodeCursor(page.lastId()));
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    public void streamReservations(StreamReservationsRequest request, StreamObserver<Reservation> observer) {
+        ReservationQuery query;
+        ReadMask mask;
+        try {
+            query = toQuery(request.getFilter());
+            mask = ReadMask.of(request.getReadMask());
+        } catch (RuntimeException e) {
+            observer.onError(ReservationGrpcService.toStatus(e).asRuntimeException());
+            return;
+        }
+        KeysetStream.start(store, query, streamFetchSize, observer, reservation -> toReservation(reservation, mask));
+    }
+
+    static Reservation toReservation(com.hotel.reservation.core.Reservation reservation, ReadMask mask) {
+        Reservation.Builder message = Reservation.newBuilder();
+        if (mask.has(Reservation.ID_FIELD_NUMBER)) {
+            message.setId(reservation.id());
+        }
+        if (mask.has(Reservation.CLIENT_ID_FIELD_NUMBER)) {
+            message.setClientId(reservation.client().id());
+        }
+        if (mask.has(Reservation.ROOM_ID_FIELD_NUMBER)) {
+            message.setRoomId(reservation.room().id());
+        }
+        if (mask.has(Reservation.CHECK_IN_DAY_FIELD_NUMBER)) {
+            message.setCheckInDay(toEpochDay(reservation.checkInDate()));
+        }
+        if (mask.has(Reservation.CHECK_OUT_DAY_FIELD_NUMBER)) {
+            message.setCheckOutDay(toEpochDay(reservation.checkOutDate()));
+        }
+        if (mask.has(Reservation.NUMBER_OF_GUESTS_FIELD_NUMBER)) {
+            message.setNumberOfGuests(reservation.numberOfGuests());
+        }
+        if (mask.has(Reservation.TOTAL_PRICE_MINOR_FIELD_NUMBER)) {
+            message.setTotalPriceMinor(toMinor(reservation.totalPrice()));
+        }
+        if (mask.has(Reservation.STATUS_FIELD_NUMBER)) {
+            message.setStatus(ReservationStatus.valueOf(reservation.status().name()));
+        }
+        if (mask.has(Reservation.SPECIAL_REQUESTS_FIELD_NUMBER) && reservation.specialRequests() != null) {
+            message.setSpecialRequests(reservation.specialRequests());
+        }
+        if (mask.has(Reservation.CREATED_AT_MS_FIELD_NUMBER) && reservation.createdAt() != null) {
+            message.setCreatedAtMs(toEpochMilli(reservation.createdAt()));
+        }
+        if (mask.has(Reservation.UPDATED_AT_MS_FIELD_NUMBER) && reservation.updatedAt() != null) {
+            message.setUpdatedAtMs(toEpochMilli(reservation.updatedAt()));
+        }
+        if (mask.has(Reservation.CLIENT_FIELD_NUMBER)) {
+            message.setClient(toClient(reservation.client(), mask));
+        }
+        if (mask.has(Reservation.ROOM_FIELD_NUMBER)) {
+            message.setRoom(toRoom(reservation.room(), mask));
+        }
+        return message.build();
+    }
+
+    private static Client toClient(com.hotel.reservation.core.Reservation.Client client, ReadMask mask) {
+        Client.Builder message = Client.newBuilder();
+        if (mask.client(Client.ID_FIELD_NUMBER)) {
+            message.setId(client.id());
+        }
+        if (mask.client(Client.FIRST_NAME_FIELD_NUMBER)) {
+            message.setFirstName(client.firstName());
+        }
+        if (mask.client(Client.LAST_NAME_FIELD_NUMBER)) {
+            message.setLastName(client.lastName());
+        }
+        if (mask.client(Client.EMAIL_FIELD_NUMBER)) {
+            message.setEmail(client.email());
+        }
+        if (mask.client(Client.PHONE_FIELD_NUMBER) && client.phone() != null) {
+            message.setPhone(client.phone());
+        }
+        return message.build();
+    }
+
+    private static Room toRoom(com.hotel.reservation.core.Reservation.Room room, ReadMask mask) {
+        Room.Builder message = Room.newBuilder();
+        if (mask.room(Room.ID_FIELD_NUMBER)) {
+            message.setId(room.id());
+        }
+        if (mask.room(Room.ROOM_NUMBER_FIELD_NUMBER)) {
+            message.setRoomNumber(room.roomNumber());
+        }
+        if (mask.room(Room.ROOM_TYPE_FIELD_NUMBER)) {
+            message.setRoomType(RoomType.valueOf(room.roomType()));
+        }
+        if (mask.room(Room.PRICE_PER_NIGHT_MINOR_FIELD_NUMBER)) {
+            message.setPricePerNightMinor(toMinor(room.pricePerNight()));
+        }
+        if (mask.room(Room.CAPACITY_FIELD_NUMBER)) {
+            message.setCapacity(room.capacity());
+        }
+        if (mask.room(Room.AMENITIES_FIELD_NUMBER)) {
+            message.addAllAmenities(room.amenities());
+        }
+        return message.build();
+    }
+
+    static ReservationQuery toQuery(ReservationFilter filter) {
+        if (filter.getStatus() == ReservationStatus.UNRECOGNIZED) {
+            throw new IllegalArgumentException("Unknown reservation status");
+        }
+        return new ReservationQuery(
+                filter.getStatus() == ReservationStatus.RESERVATION_STATUS_UNSPECIFIED ? null
+                        : com.hotel.reservation.core.ReservationStatus.valueOf(filter.getStatus().name()),
+                filter.getClientId(),
+                filter.getRoomId(),
+                filter.hasCheckInFromDay() ? LocalDate.ofEpochDay(filter.getCheckInFromDay()) : null,
+                filter.hasCheckInToDay() ? LocalDate.ofEpochDay(filter.getCheckInToDay()) : null);
+    }
+
+    static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Amounts are DECIMAL(10, 2) columns: in cents, they are exact.
+     */
+    static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        // The columns are TIMESTAMP WITHOUT TIME ZONE, written by the database in UTC
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
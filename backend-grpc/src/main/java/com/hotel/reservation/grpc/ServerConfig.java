@@ -0,0 +1,67 @@
+package com.hotel.reservation.grpc;
+
+/**
+ * Server settings, read from the environment with defaults matching docker-compose.
+ *
+ * @param executor {@code fixed} for a pool of {@code executorThreads} threads, {@code virtual}
+ *                 for a virtual thread per call (Java 21+)
+ * @param maxStayNights longest stay accepted, bounding the conflict checks: must equal the
+ *                      {@code chk_reservations_max_stay} constraint of init.sql
+ * @param streamFetchSize rows read per query by {@code StreamReservations}, each query releasing its connection
+ * @param bulkBatchSize requests of a {@code CreateReservations} stream committed per transaction
+ * @param watchCoalesceMillis window within which booking changes are merged before availability
+ *                            updates are computed
+ * @param watchMaxSubscriptions subscriptions a {@code WatchAvailability} call may hold at once
+ * @param metricsPort port of the HTTP server exposing Prometheus metrics on {@code /metrics}
+ */
+public record ServerConfig(
+        int port,
+        String databaseUrl,
+        String databaseUsername,
+        String databasePassword,
+        int poolSize,
+        String executor,
+        int executorThreads,
+        int maxStayNights,
+        int streamFetchSize,
+        int bulkBatchSize,
+        int watchCoalesceMillis,
+        int watchMaxSubscriptions,
+        int metricsPort) {
+
+    public static ServerConfig fromEnvironment() {
+        int poolSize = intEnv("DATABASE_POOL_SIZE", 20);
+        return new ServerConfig(
+                intEnv("GRPC_PORT", 9090),
+                env("DATABASE_URL", "jdbc:postgresql://localhost:5432/hotel_reservation"),
+                env("DATABASE_USERNAME", "hoteluser"),
+                env("DATABASE_PASSWORD", "hotelpass123"),
+                poolSize,
+                env("GRPC_EXECUTOR", "fixed"),
+                // Calls block on JDBC: a couple of threads per connection keeps the pool busy
+                intEnv("GRPC_EXECUTOR_THREADS", poolSize * 2),
+                intEnv("MAX_STAY_NIGHTS", 90),
+                intEnv("STREAM_FETCH_SIZE", 500),
+                intEnv("BULK_BATCH_SIZE", 200),
+                intEnv("WATCH_COALESCE_MILLIS", 100),
+                intEnv("WATCH_MAX_SUBSCRIPTIONS", 100),
+                intEnv("METRICS_PORT", 9464));
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = env(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer, got '" + value + "'", e);
+        }
+    }
+}
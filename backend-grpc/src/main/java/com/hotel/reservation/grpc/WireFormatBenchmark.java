@@ -0,0 +1,174 @@
+package com.hotel.reservation.grpc;
+
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hotel.reservation.core.Reservation;
+import com.hotel.reservation.core.ReservationStatus;
+import com.hotel.reservation.grpc.v2.Client;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Size and encode/decode cost of a reservation in the v1 messages against v2, with every field and
+ * with a summary read mask. Encoding covers the server's work (domain object to message to bytes);
+ * decoding the client's (bytes to message to dates and amounts). No database or server involved.
+ *
+ * <p>Usage: {@code java -cp backend-grpc-*-jar-with-dependencies.jar
+ * com.hotel.reservation.grpc.WireFormatBenchmark [rounds] [iterations per round]}
+ */
+public final class WireFormatBenchmark {
+
+    private static final int SAMPLES = 1_000;
+    private static final String[] AMENITIES = {"WiFi", "TV", "Climatisation", "Minibar", "Coffre-fort", "Balcon",
+            "Jacuzzi", "Service chambre"};
+    private static final String[] ROOM_TYPES = {"SINGLE", "DOUBLE", "SUITE", "DELUXE"};
+
+    private static final ReadMask SUMMARY = ReadMask.of(FieldMask.newBuilder()
+            .addPaths("id").addPaths("room_id").addPaths("check_in_day").addPaths("check_out_day")
+            .addPaths("total_price_minor").addPaths("status")
+            .build());
+
+    private static volatile long sink;
+
+    private interface Codec {
+        byte[] encode(Reservation reservation);
+
+        long decode(byte[] bytes) throws InvalidProtocolBufferException;
+    }
+
+    private WireFormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<Reservation> reservations = samples();
+
+        Codec v1 = new Codec() {
+            public byte[] encode(Reservation reservation) {
+                return ReservationGrpcService.toResponse(reservation).toByteArray();
+            }
+
+            public long decode(byte[] bytes) throws InvalidProtocolBufferException {
+                ReservationResponse response = ReservationResponse.parseFrom(bytes);
+                LocalDate checkIn = LocalDate.parse(response.getCheckInDate());
+                LocalDate checkOut = LocalDate.parse(response.getCheckOutDate());
+                BigDecimal total = BigDecimal.valueOf(response.getTotalPrice());
+                BigDecimal rate = BigDecimal.valueOf(response.getRoom().getPricePerNight());
+                return response.getId() + checkIn.getDayOfYear() + checkOut.getDayOfYear() + total.scale()
+                        + rate.scale() + response.getClient().getEmail().length();
+            }
+        };
+        Codec v2Full = v2(ReadMask.ALL);
+        Codec v2Summary = v2(SUMMARY);
+
+        System.out.printf("Reservation messages, %d samples, %d rounds x %d iterations (median per message)%n%n",
+                SAMPLES, rounds, iterations);
+        System.out.println("| Message | Bytes | Encode (ns) | Decode (ns) |");
+        System.out.println("|---|---:|---:|---:|");
+        report("v1 ReservationResponse", v1, reservations, rounds, iterations);
+        report("v2 Reservation, all fields", v2Full, reservations, rounds, iterations);
+        report("v2 Reservation, summary mask", v2Summary, reservations, rounds, iterations);
+    }
+
+    private static Codec v2(ReadMask mask) {
+        return new Codec() {
+            public byte[] encode(Reservation reservation) {
+                return ReservationV2GrpcService.toReservation(reservation, mask).toByteArray();
+            }
+
+            public long decode(byte[] bytes) throws InvalidProtocolBufferException {
+                com.hotel.reservation.grpc.v2.Reservation message = com.hotel.reservation.grpc.v2.Reservation.parseFrom(bytes);
+                LocalDate checkIn = LocalDate.ofEpochDay(message.getCheckInDay());
+                LocalDate checkOut = LocalDate.ofEpochDay(message.getCheckOutDay());
+                BigDecimal total = BigDecimal.valueOf(message.getTotalPriceMinor(), 2);
+                BigDecimal rate = BigDecimal.valueOf(message.getRoom().getPricePerNightMinor(), 2);
+                Client client = message.getClient();
+                return message.getId() + checkIn.getDayOfYear() + checkOut.getDayOfYear() + total.scale()
+                        + rate.scale() + client.getEmail().length();
+            }
+        };
+    }
+
+    private static void report(String name, Codec codec, List<Reservation> reservations, int rounds, int iterations)
+            throws InvalidProtocolBufferException {
+        byte[][] encoded = new byte[reservations.size()][];
+        long bytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = codec.encode(reservations.get(i));
+            bytes += encoded[i].length;
+        }
+
+        // First rounds warm the JIT up and are discarded
+        double[] encodeNanos = new double[rounds];
+        double[] decodeNanos = new double[rounds];
+        for (int round = -rounds; round < rounds; round++) {
+            long started = System.nanoTime();
+            long acc = 0;
+            for (int it = 0; it < iterations; it++) {
+                for (Reservation reservation : reservations) {
+                    acc += codec.encode(reservation).length;
+                }
+            }
+            double encode = (System.nanoTime() - started) / (double) (iterations * reservations.size());
+
+            started = System.nanoTime();
+            for (int it = 0; it < iterations; it++) {
+                for (byte[] message : encoded) {
+                    acc += codec.decode(message);
+                }
+            }
+            double decode = (System.nanoTime() - started) / (double) (iterations * reservations.size());
+            sink += acc;
+            if (round >= 0) {
+                encodeNanos[round] = encode;
+                decodeNanos[round] = decode;
+            }
+        }
+        System.out.printf("| %s | %.1f | %.0f | %.0f |%n", name, bytes / (double) encoded.length,
+                median(encodeNanos), median(decodeNanos));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Reservations shaped like the seeded data: 10 rooms, 10 clients, stays of 1 to 7 nights.
+     */
+    private static List<Reservation> samples() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Reservation> reservations = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            int roomIndex = random.nextInt(10);
+            BigDecimal rate = BigDecimal.valueOf(8_000 + 4_000L * roomIndex, 2);
+            LocalDate checkIn = today.plusDays(1 + random.nextInt(365));
+            int nights = 1 + random.nextInt(7);
+            LocalDateTime createdAt = LocalDateTime.now().minusMinutes(random.nextInt(100_000));
+            reservations.add(new Reservation(
+                    100_000L + i,
+                    new Reservation.Client(1 + random.nextInt(10), "Jean", "Dupont",
+                            "client" + random.nextInt(10) + "@email.com", "+33612345678"),
+                    new Reservation.Room(roomIndex + 1, String.valueOf(101 + roomIndex), ROOM_TYPES[roomIndex % 4],
+                            rate, 1 + roomIndex % 6, List.of(AMENITIES).subList(0, 3 + roomIndex % 6)),
+                    checkIn,
+                    checkIn.plusDays(nights),
+                    1 + random.nextInt(4),
+                    rate.multiply(BigDecimal.valueOf(nights)),
+                    ReservationStatus.values()[random.nextInt(3)],
+                    random.nextBoolean() ? "Arrivée tardive prévue" : null,
+                    createdAt,
+                    random.nextBoolean() ? createdAt.plusMinutes(30) : null));
+        }
+        return reservations;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.reservation.grpc.metrics;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * State of the executor running call callbacks, read at scrape time under the names Micrometer
+ * gives executor metrics. Only a thread pool has a queue to report: with a virtual thread per
+ * task, tasks never wait for a thread and {@code grpc_server_in_flight_calls} is the concurrency
+ * to watch.
+ */
+public class ExecutorCollector extends Collector {
+
+    private static final List<String> LABELS = List.of("name");
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+
+    public ExecutorCollector(String name, ThreadPoolExecutor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<String> labels = List.of(name);
+        return List.of(
+                gauge("executor_queued_tasks", "Tasks waiting for a thread", executor.getQueue().size(), labels),
+                gauge("executor_active_threads", "Threads running a task", executor.getActiveCount(), labels),
+                gauge("executor_pool_size_threads", "Threads in the pool", executor.getPoolSize(), labels),
+                gauge("executor_pool_max_threads", "Maximum threads in the pool", executor.getMaximumPoolSize(),
+                        labels),
+                new CounterMetricFamily("executor_completed_tasks", "Tasks run to completion", LABELS)
+                        .addMetric(labels, executor.getCompletedTaskCount()));
+    }
+
+    private static GaugeMetricFamily gauge(String metric, String help, double value, List<String> labels) {
+        return new GaugeMetricFamily(metric, help, LABELS).addMetric(labels, value);
+    }
+}
@@ -0,0 +1,171 @@
+package com.hotel.reservation.grpc.metrics;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-method call metrics, named and labelled as the grpc-prometheus libraries do
+ * ({@code grpc_type}, {@code grpc_service}, {@code grpc_method}, {@code grpc_code}): calls started
+ * and handled, in flight, handling time, messages received and sent with their serialized size.
+ * A call's handling time runs from its start to its close or cancellation, so for streaming calls
+ * it is the stream's lifetime.
+ */
+public class MetricsInterceptor implements ServerInterceptor {
+
+    private static final double[] LATENCY_BUCKETS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1,
+            2.5, 5, 10, 30, 60};
+
+    private final Counter started;
+    private final Counter handled;
+    private final Gauge inFlight;
+    private final Histogram handling;
+    private final Counter received;
+    private final Counter sent;
+    private final Histogram messageSize;
+    // Label children per method, so a call does not look them up by label values
+    private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public MetricsInterceptor(CollectorRegistry registry) {
+        this.started = Counter.build("grpc_server_started_total", "RPCs started on the server")
+                .labelNames("grpc_type", "grpc_service", "grpc_method")
+                .register(registry);
+        this.handled = Counter.build("grpc_server_handled_total", "RPCs completed on the server, by status code")
+                .labelNames("grpc_type", "grpc_service", "grpc_method", "grpc_code")
+                .register(registry);
+        this.inFlight = Gauge.build("grpc_server_in_flight_calls", "RPCs started and not yet completed")
+                .labelNames("grpc_type", "grpc_service", "grpc_method")
+                .register(registry);
+        this.handling = Histogram.build("grpc_server_handling_seconds", "Time from the start to the end of RPCs")
+                .labelNames("grpc_type", "grpc_service", "grpc_method")
+                .buckets(LATENCY_BUCKETS)
+                .register(registry);
+        this.received = Counter.build("grpc_server_msg_received_total", "Request messages received")
+                .labelNames("grpc_type", "grpc_service", "grpc_method")
+                .register(registry);
+        this.sent = Counter.build("grpc_server_msg_sent_total", "Response messages sent")
+                .labelNames("grpc_type", "grpc_service", "grpc_method")
+                .register(registry);
+        this.messageSize = Histogram.build("grpc_server_msg_size_bytes", "Serialized size of messages, uncompressed")
+                .labelNames("grpc_type", "grpc_service", "grpc_method", "direction")
+                .exponentialBuckets(32, 4, 10)
+                .register(registry);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        MethodMetrics metrics = methods.computeIfAbsent(call.getMethodDescriptor().getFullMethodName(),
+                name -> new MethodMetrics(call.getMethodDescriptor()));
+        MonitoredCall<ReqT, RespT> monitored = new MonitoredCall<>(call, metrics);
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(monitored, headers);
+        } catch (RuntimeException e) {
+            monitored.finish(Status.Code.UNKNOWN);
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                metrics.received.inc();
+                metrics.receivedSize.observe(size(message));
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                monitored.finish(Status.Code.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+
+    private static int size(Object message) {
+        // Memoized by generated messages: the marshaller reuses it
+        return message instanceof MessageLite lite ? lite.getSerializedSize() : 0;
+    }
+
+    private final class MethodMetrics {
+
+        private final String[] labels;
+        private final Counter.Child started;
+        private final Counter.Child received;
+        private final Counter.Child sent;
+        private final Gauge.Child inFlight;
+        private final Histogram.Child handling;
+        private final Histogram.Child receivedSize;
+        private final Histogram.Child sentSize;
+        private final ConcurrentHashMap<Status.Code, Counter.Child> handled = new ConcurrentHashMap<>();
+
+        MethodMetrics(MethodDescriptor<?, ?> method) {
+            this.labels = new String[]{method.getType().name().toLowerCase(Locale.ROOT), method.getServiceName(),
+                    method.getBareMethodName()};
+            this.started = MetricsInterceptor.this.started.labels(labels);
+            this.received = MetricsInterceptor.this.received.labels(labels);
+            this.sent = MetricsInterceptor.this.sent.labels(labels);
+            this.inFlight = MetricsInterceptor.this.inFlight.labels(labels);
+            this.handling = MetricsInterceptor.this.handling.labels(labels);
+            this.receivedSize = messageSize.labels(labels[0], labels[1], labels[2], "received");
+            this.sentSize = messageSize.labels(labels[0], labels[1], labels[2], "sent");
+        }
+
+        Counter.Child handled(Status.Code code) {
+            return handled.computeIfAbsent(code, c -> MetricsInterceptor.this.handled.labels(labels[0], labels[1],
+                    labels[2], c.name()));
+        }
+    }
+
+    private final class MonitoredCall<ReqT, RespT>
+            extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final MethodMetrics metrics;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        MonitoredCall(ServerCall<ReqT, RespT> call, MethodMetrics metrics) {
+            super(call);
+            this.metrics = metrics;
+            metrics.started.inc();
+            metrics.inFlight.inc();
+        }
+
+        @Override
+        public void sendMessage(RespT message) {
+            metrics.sent.inc();
+            metrics.sentSize.observe(size(message));
+            super.sendMessage(message);
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            finish(status.getCode());
+            super.close(status, trailers);
+        }
+
+        /**
+         * Records the call once, whichever of close and cancellation comes first.
+         */
+        void finish(Status.Code code) {
+            if (finished.compareAndSet(false, true)) {
+                metrics.inFlight.dec();
+                metrics.handling.observe((System.nanoTime() - startNanos) / 1e9);
+                metrics.handled(code).inc();
+            }
+        }
+    }
+}
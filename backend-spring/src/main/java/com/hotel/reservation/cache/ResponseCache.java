@@ -0,0 +1,270 @@
+package com.hotel.reservation.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized GET responses. Each entry holds the JSON bytes, a gzip variant for bodies
+ * worth compressing, and an ETag derived from the content; a hit is written out as is, skipping
+ * mapping, serialization and compression. Responses already carrying a {@code Content-Encoding}
+ * are left alone by the server compression.
+ *
+ * <p>Entries are evicted least recently used beyond {@code max-size}. Writes on this node
+ * invalidate after commit, other nodes through the change notices. A response loaded while its
+ * key is being invalidated is served but not stored, so the cache never keeps data older than the
+ * last invalidation.
+ */
+@Component
+public class ResponseCache implements InvalidationSubscriber {
+
+    private static final String RESERVATION_PREFIX = "reservation:";
+    private static final String RESERVATION_LIST = "reservations";
+    private static final int STRIPES = 1024;
+
+    private record Entry(byte[] body, byte[] gzipBody, String etag) {
+        long weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ReservationProperties.ResponseCache properties;
+    private final Meter.MeterProvider<Counter> requests;
+    /**
+     * Invalidation count per key stripe; a load is stored only if its stripe did not move.
+     */
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    /**
+     * Access-ordered, guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(ObjectMapper objectMapper, ReservationProperties properties, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties.getResponseCache();
+        this.requests = Counter.builder("reservation.response.cache.requests")
+                .description("Cacheable GET requests, by result")
+                .withRegistry(registry);
+        Gauge.builder("reservation.response.cache.bytes", this, ResponseCache::size)
+                .description("Serialized bytes held by the response cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public static String reservationKey(long id) {
+        return RESERVATION_PREFIX + id;
+    }
+
+    public static String reservationListKey() {
+        return RESERVATION_LIST;
+    }
+
+    /**
+     * Answers a GET for {@code key} from the cache, loading and storing the response body on a
+     * miss. Honours {@code If-None-Match} and serves the gzip variant when the request accepts it.
+     */
+    public ResponseEntity<byte[]> respond(String key, HttpHeaders requestHeaders, Supplier<?> loader) {
+        Entry entry = properties.isEnabled() ? get(key) : null;
+        if (entry != null) {
+            requests.withTags("result", "hit").increment();
+        } else {
+            long stamp = stamps.get(stripe(key));
+            entry = serialize(loader.get());
+            if (properties.isEnabled()) {
+                put(key, entry, stamp);
+                requests.withTags("result", "miss").increment();
+            }
+        }
+
+        if (notModified(requestHeaders, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(entry.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzipBody() != null && acceptsGzip(requestHeaders)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzipBody());
+        }
+        return response.body(entry.body());
+    }
+
+    /**
+     * Drops a reservation and the list responses that include it.
+     */
+    public void invalidateReservation(long id) {
+        invalidate(reservationKey(id));
+        invalidate(RESERVATION_LIST);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        synchronized (this) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public synchronized long size() {
+        return bytes;
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        for (ChangeNotice notice : notices) {
+            switch (notice.getTable()) {
+                case RESERVATIONS -> invalidateReservation(notice.getId());
+                // Reservation responses embed their client and room; a new one changes none of them
+                case CLIENTS, ROOMS -> {
+                    if (notice.getOperation() != ChangeNotice.Operation.INSERT) {
+                        invalidateAll();
+                        return;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onResync() {
+        invalidateAll();
+    }
+
+    private void invalidate(String key) {
+        stamps.incrementAndGet(stripe(key));
+        synchronized (this) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                bytes -= removed.weight();
+            }
+        }
+    }
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    private void put(String key, Entry entry, long stamp) {
+        if (entry.weight() > properties.getMaxEntrySize().toBytes()) {
+            return;
+        }
+        long maxBytes = properties.getMaxSize().toBytes();
+        synchronized (this) {
+            // Checked under the lock: an invalidation either moved the stamp already or removes this entry
+            if (stamps.get(stripe(key)) != stamp) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            bytes += entry.weight() - (previous != null ? previous.weight() : 0);
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().weight();
+                eldest.remove();
+            }
+        }
+    }
+
+    private Entry serialize(Object value) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be serialized", e);
+        }
+        byte[] gzipBody = body.length >= properties.getGzipMinSize().toBytes() ? gzip(body) : null;
+        if (gzipBody != null && gzipBody.length >= body.length) {
+            gzipBody = null;
+        }
+        // Weak: the identity and gzip variants share it
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new Entry(body, gzipBody, etag);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Weak comparison, as {@code If-None-Match} requires.
+     */
+    private static boolean notModified(HttpHeaders requestHeaders, String etag) {
+        String opaque = etag.substring(2);
+        for (String candidate : requestHeaders.getIfNoneMatch()) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String header : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (!name.equals("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                        } catch (NumberFormatException e) {
+                            refused = true;
+                        }
+                    }
+                }
+                if (!refused) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hotel.reservation.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Static cluster membership and room ownership. Every node builds the same ring from the same
+ * configuration, so all nodes agree on the owner of a room without coordination.
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+
+    private final boolean enabled;
+    private final String selfId;
+    private final Map<String, ClusterProperties.Node> nodes;
+    private final ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.selfId = properties.getNodeId();
+        this.nodes = properties.getNodes().stream()
+                .collect(Collectors.toMap(ClusterProperties.Node::getId, Function.identity()));
+
+        if (!enabled) {
+            this.ring = null;
+            return;
+        }
+        if (!nodes.containsKey(selfId)) {
+            throw new IllegalStateException("reservation.cluster.node-id '" + selfId
+                    + "' is not one of the configured nodes " + nodes.keySet());
+        }
+        if (properties.getForwardSecret() == null || properties.getForwardSecret().isBlank()) {
+            throw new IllegalStateException("reservation.cluster.forward-secret is required in cluster mode");
+        }
+        this.ring = new ConsistentHashRing(nodes.keySet(), properties.getVirtualNodes());
+        log.info("Cluster mode enabled: node {} of {}", selfId, nodes.keySet());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelfId() {
+        return selfId;
+    }
+
+    /**
+     * Whether this node owns the room; always true when cluster mode is disabled.
+     */
+    public boolean isLocal(long roomId) {
+        return !enabled || selfId.equals(ring.ownerOf(roomId));
+    }
+
+    public ClusterProperties.Node ownerOf(long roomId) {
+        return nodes.get(ring.ownerOf(roomId));
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.reservation.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "reservation.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+    /**
+     * Id of this node; must match one of {@link #nodes}.
+     */
+    private String nodeId;
+    /**
+     * Static membership. Every node must be configured with the same list.
+     */
+    private List<Node> nodes = new ArrayList<>();
+    /**
+     * Points per node on the hash ring; more points give a more even room distribution.
+     */
+    private int virtualNodes = 128;
+    /**
+     * Shared by every node and sent with forwarded calls; a call is only processed as forwarded,
+     * bypassing ownership routing, if it carries it. Required in cluster mode.
+     */
+    private String forwardSecret;
+    private Duration forwardTimeout = Duration.ofSeconds(5);
+
+    @Data
+    public static class Node {
+        private String id;
+        private String url;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotel.reservation.cluster;
+
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Routes booking writes to the node owning the room. On the owner, writes of a room run under the
+ * room's lock in {@link RoomAvailabilityIndex}, whose calendar decides availability: the owner
+ * takes neither the exclusive room row lock nor the conflict query, so bookings of different rooms
+ * and nodes are not serialized in the database.
+ *
+ * <p>Writes that do not go through the owner (queued requests, SOAP batches, waitlist offers, the
+ * gRPC backend) still lock the room row exclusively and run the conflict query. The owner fences
+ * them with a share lock on the same row, read with its booking version (see
+ * {@link RoomAvailabilityIndex#isFree}). Every node must list the same members, so that a room has
+ * a single owner. When cluster mode is disabled every room is local and calls go straight to the
+ * service.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClusteredReservationService {
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final ClusterMembership membership;
+    private final RoomAvailabilityIndex availability;
+    private final OwnerForwarder forwarder;
+
+    public ReservationResponse createReservation(ReservationRequest request) {
+        if (!membership.isEnabled()) {
+            return reservationService.createReservation(request);
+        }
+        if (!isLocal(request.getRoomId())) {
+            return forwarder.create(membership.ownerOf(request.getRoomId()), request);
+        }
+        return availability.withRoom(request.getRoomId(), () -> {
+            ReservationResponse response = reservationService.createReservation(request, this::isFree);
+            track(response);
+            return response;
+        });
+    }
+
+    public ReservationResponse updateReservation(Long id, ReservationRequest request) {
+        if (!membership.isEnabled()) {
+            return reservationService.updateReservation(id, request);
+        }
+        if (!isLocal(request.getRoomId())) {
+            return forwarder.update(membership.ownerOf(request.getRoomId()), id, request);
+        }
+        Long previousRoomId = findRoomId(id);
+        ReservationResponse response = availability.withRoom(request.getRoomId(), () -> {
+            ReservationResponse updated = reservationService.updateReservation(id, request, this::isFree);
+            availability.remove(request.getRoomId(), id);
+            track(updated);
+            return updated;
+        });
+        // Outside the new room's lock, so two moves in opposite directions cannot deadlock
+        if (!previousRoomId.equals(request.getRoomId())) {
+            availability.remove(previousRoomId, id);
+        }
+        return response;
+    }
+
+    public ReservationResponse cancelReservation(Long id) {
+        if (!membership.isEnabled()) {
+            return reservationService.cancelReservation(id);
+        }
+        Long roomId = findRoomId(id);
+        if (!isLocal(roomId)) {
+            return forwarder.cancel(membership.ownerOf(roomId), id);
+        }
+        return availability.withRoom(roomId, () -> {
+            ReservationResponse response = reservationService.cancelReservation(id);
+            availability.remove(roomId, id);
+            return response;
+        });
+    }
+
+    public void deleteReservation(Long id) {
+        if (!membership.isEnabled()) {
+            reservationService.deleteReservation(id);
+            return;
+        }
+        Long roomId = findRoomId(id);
+        if (!isLocal(roomId)) {
+            forwarder.delete(membership.ownerOf(roomId), id);
+            return;
+        }
+        availability.withRoom(roomId, () -> {
+            reservationService.deleteReservation(id);
+            availability.remove(roomId, id);
+            return null;
+        });
+    }
+
+    private boolean isLocal(Long roomId) {
+        return membership.isLocal(roomId) || isForwarded();
+    }
+
+    /**
+     * Whether the current request was forwarded by a peer, which must be processed here. Only
+     * requests authenticated by the cluster's forward secret qualify: anyone else setting the
+     * header is routed like any other client.
+     */
+    private boolean isForwarded() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return forwarder.isForwardedByPeer(attributes.getRequest());
+        }
+        return false;
+    }
+
+    /**
+     * The owner's availability check, run in the booking transaction under the room's lock.
+     */
+    private boolean isFree(ReservationRequest request, Long excludeReservationId) {
+        Long bookingVersion = roomRepository.lockSharedById(request.getRoomId()).orElse(null);
+        if (bookingVersion == null) {
+            // Unknown room: the room lookup that follows rejects the request
+            return true;
+        }
+        return availability.isFree(request.getRoomId(), bookingVersion, request.getCheckInDate(),
+                request.getCheckOutDate(), excludeReservationId);
+    }
+
+    private void track(ReservationResponse response) {
+        if (response.getStatus() != ReservationStatus.CANCELLED) {
+            availability.add(response.getRoom().getId(), response.getId(),
+                    response.getCheckInDate(), response.getCheckOutDate());
+        }
+    }
+
+    private Long findRoomId(Long id) {
+        return reservationRepository.findRoomIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+    }
+}
@@ -0,0 +1,161 @@
+package com.hotel.reservation.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.exception.ClusterForwardingException;
+import com.hotel.reservation.exception.ReservationConflictException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Forwards booking calls to the node owning the room, over the owner's own REST API. Error
+ * responses of the owner are turned back into the exceptions the service would have thrown, so
+ * callers see the same status and message whichever node they hit.
+ *
+ * <p>A request that times out may still have been applied by the owner; it is reported as
+ * unavailable and the client must check before retrying a create.
+ */
+@Component
+@Slf4j
+public class OwnerForwarder {
+
+    /**
+     * Set on forwarded requests; the receiving node processes them locally whatever its own view of
+     * ownership, so a membership mismatch cannot make requests bounce between nodes.
+     */
+    public static final String FORWARDED_BY_HEADER = "X-Reservation-Forwarded-By";
+
+    /**
+     * Carries the cluster's forward secret, which authenticates {@link #FORWARDED_BY_HEADER}.
+     */
+    public static final String FORWARD_TOKEN_HEADER = "X-Reservation-Forward-Token";
+
+    private static final String FORWARDED = "reservation.cluster.forwarded";
+
+    private final RestClient restClient;
+    private final String selfId;
+    private final Set<String> nodeIds;
+    private final String forwardSecret;
+    private final Meter.MeterProvider<Counter> forwarded;
+
+    public OwnerForwarder(ClusterProperties properties, MeterRegistry registry) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getForwardTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getForwardTimeout());
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.selfId = properties.getNodeId();
+        this.nodeIds = properties.getNodes().stream().map(ClusterProperties.Node::getId).collect(Collectors.toSet());
+        this.forwardSecret = properties.getForwardSecret();
+        this.forwarded = Counter.builder(FORWARDED)
+                .description("Booking calls forwarded to the node owning the room")
+                .withRegistry(registry);
+    }
+
+    public ReservationResponse create(ClusterProperties.Node owner, ReservationRequest request) {
+        return forward("create", owner, () -> restClient.post()
+                .uri(owner.getUrl() + "/api/reservations")
+                .headers(this::forwardHeaders)
+                .body(request)
+                .retrieve()
+                .body(ReservationResponse.class));
+    }
+
+    public ReservationResponse update(ClusterProperties.Node owner, Long id, ReservationRequest request) {
+        return forward("update", owner, () -> restClient.put()
+                .uri(owner.getUrl() + "/api/reservations/{id}", id)
+                .headers(this::forwardHeaders)
+                .body(request)
+                .retrieve()
+                .body(ReservationResponse.class));
+    }
+
+    public ReservationResponse cancel(ClusterProperties.Node owner, Long id) {
+        return forward("cancel", owner, () -> restClient.patch()
+                .uri(owner.getUrl() + "/api/reservations/{id}/cancel", id)
+                .headers(this::forwardHeaders)
+                .retrieve()
+                .body(ReservationResponse.class));
+    }
+
+    public void delete(ClusterProperties.Node owner, Long id) {
+        forward("delete", owner, () -> restClient.delete()
+                .uri(owner.getUrl() + "/api/reservations/{id}", id)
+                .headers(this::forwardHeaders)
+                .retrieve()
+                .toBodilessEntity());
+    }
+
+    /**
+     * Whether the request comes from a cluster node: it names a configured node and carries the
+     * forward secret, compared in constant time.
+     */
+    public boolean isForwardedByPeer(HttpServletRequest request) {
+        String forwardedBy = request.getHeader(FORWARDED_BY_HEADER);
+        String token = request.getHeader(FORWARD_TOKEN_HEADER);
+        if (forwardedBy == null || token == null || forwardSecret == null || !nodeIds.contains(forwardedBy)) {
+            return false;
+        }
+        return MessageDigest.isEqual(forwardSecret.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void forwardHeaders(HttpHeaders headers) {
+        headers.set(FORWARDED_BY_HEADER, selfId);
+        headers.set(FORWARD_TOKEN_HEADER, forwardSecret);
+    }
+
+    private <T> T forward(String operation, ClusterProperties.Node owner, Supplier<T> call) {
+        forwarded.withTags("operation", operation, "target", owner.getId()).increment();
+        log.debug("Forwarding {} to owner node {}", operation, owner.getId());
+        try {
+            return call.get();
+        } catch (RestClientResponseException e) {
+            String message = errorMessage(e);
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                throw new ResourceNotFoundException(message);
+            }
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT)) {
+                throw new ReservationConflictException(message);
+            }
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)) {
+                throw new IllegalArgumentException(message);
+            }
+            throw new ClusterForwardingException("Owner node " + owner.getId() + " failed: " + message, e);
+        } catch (ResourceAccessException e) {
+            throw new ClusterForwardingException("Owner node " + owner.getId() + " is unreachable", e);
+        }
+    }
+
+    private static String errorMessage(RestClientResponseException e) {
+        try {
+            JsonNode body = e.getResponseBodyAs(JsonNode.class);
+            if (body != null && body.hasNonNull("message")) {
+                return body.get("message").asText();
+            }
+        } catch (RuntimeException ignored) {
+            // not a JSON error body
+        }
+        return e.getResponseBodyAsString();
+    }
+}
@@ -0,0 +1,196 @@
+package com.hotel.reservation.cluster;
+
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory booking calendar of the rooms owned by this node, authoritative for the bookings the
+ * owner makes. A room's calendar is loaded from the database on first use; all bookings of a room
+ * are serialized on its lock, so they are checked against memory and never race each other into
+ * the database.
+ *
+ * <p>Bookings made around the owner (queued requests, SOAP batches, waitlist offers, the gRPC
+ * backend) lock the room row exclusively and move its {@code booking_version}. The owner reads
+ * that version under a share lock before deciding ({@link #isFree}): a calendar loaded at another
+ * version missed a booking and is reloaded first. Changes made elsewhere also arrive as change
+ * notices and are applied to the loaded calendars; a resync drops them all.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex implements InvalidationSubscriber {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, RoomCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code action} while holding the room's lock, with the calendar loaded.
+     */
+    public <T> T withRoom(long roomId, Supplier<T> action) {
+        RoomCalendar calendar = calendars.computeIfAbsent(roomId, id -> new RoomCalendar());
+        calendar.lock.lock();
+        try {
+            if (!calendar.loaded) {
+                load(roomId, calendar);
+            }
+            return action.get();
+        } finally {
+            calendar.lock.unlock();
+        }
+    }
+
+    /**
+     * Whether [checkIn, checkOut] is free of bookings other than {@code excludeReservationId}, the
+     * room's booking version being {@code bookingVersion}. Call inside {@link #withRoom(long,
+     * Supplier)}, from the booking transaction holding the room row's share lock, so no booking
+     * can be made around the owner until it commits. An apparent conflict is checked again against
+     * a fresh calendar: the booking it hits may have been cancelled around the owner.
+     */
+    public boolean isFree(long roomId, long bookingVersion, LocalDate checkIn, LocalDate checkOut,
+                          Long excludeReservationId) {
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar.version == bookingVersion && !overlaps(roomId, checkIn, checkOut, excludeReservationId)) {
+            return true;
+        }
+        load(roomId, calendar);
+        return !overlaps(roomId, checkIn, checkOut, excludeReservationId);
+    }
+
+    /**
+     * Whether a non-cancelled booking other than {@code excludeReservationId} overlaps
+     * [checkIn, checkOut], bounds inclusive like the database conflict query. Call inside
+     * {@link #withRoom(long, Supplier)}.
+     */
+    public boolean overlaps(long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeReservationId) {
+        RoomCalendar calendar = calendars.get(roomId);
+        for (Map.Entry<LocalDate, Map<Long, LocalDate>> entry : calendar.bookings.headMap(checkOut, true).entrySet()) {
+            for (Map.Entry<Long, LocalDate> booking : entry.getValue().entrySet()) {
+                if (!booking.getValue().isBefore(checkIn) && !booking.getKey().equals(excludeReservationId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void add(long roomId, long reservationId, LocalDate checkIn, LocalDate checkOut) {
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar != null && calendar.loaded) {
+            calendar.bookings.computeIfAbsent(checkIn, d -> new TreeMap<>()).put(reservationId, checkOut);
+        }
+    }
+
+    public void remove(long roomId, long reservationId) {
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar == null) {
+            return;
+        }
+        calendar.lock.lock();
+        try {
+            calendar.bookings.values().removeIf(bookings -> bookings.remove(reservationId) != null && bookings.isEmpty());
+        } finally {
+            calendar.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a room's calendar so it is reloaded from the database on next use.
+     */
+    public void invalidate(long roomId) {
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar == null) {
+            return;
+        }
+        calendar.lock.lock();
+        try {
+            calendar.loaded = false;
+            calendar.bookings.clear();
+        } finally {
+            calendar.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        calendars.keySet().forEach(this::invalidate);
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        for (ChangeNotice notice : notices) {
+            if (notice.getTable() == ChangeNotice.Table.ROOMS) {
+                invalidate(notice.getId());
+            } else if (notice.getTable() == ChangeNotice.Table.RESERVATIONS) {
+                apply(notice);
+            }
+        }
+    }
+
+    @Override
+    public void onResync() {
+        invalidateAll();
+    }
+
+    private void apply(ChangeNotice notice) {
+        for (Long previousRoomId : notice.getPreviousRoomIds()) {
+            remove(previousRoomId, notice.getId());
+        }
+        RoomCalendar calendar = calendars.get(notice.getRoomId());
+        if (calendar == null) {
+            return;
+        }
+        calendar.lock.lock();
+        try {
+            calendar.bookings.values().removeIf(bookings -> bookings.remove(notice.getId()) != null && bookings.isEmpty());
+            boolean active = notice.getOperation() != ChangeNotice.Operation.DELETE
+                    && !"CANCELLED".equals(notice.getStatus());
+            if (active && calendar.loaded) {
+                calendar.bookings.computeIfAbsent(notice.getCheckInDate(), d -> new TreeMap<>())
+                        .put(notice.getId(), notice.getCheckOutDate());
+            }
+        } finally {
+            calendar.lock.unlock();
+        }
+    }
+
+    private void load(long roomId, RoomCalendar calendar) {
+        calendar.bookings.clear();
+        // Read before the bookings: a booking made in between only makes the calendar look stale
+        List<Long> version = jdbcTemplate.queryForList("SELECT booking_version FROM rooms WHERE id = ?", Long.class,
+                roomId);
+        calendar.version = version.isEmpty() ? 0 : version.get(0);
+        jdbcTemplate.query(
+                "SELECT id, check_in_date, check_out_date FROM reservations " +
+                "WHERE room_id = ? AND status <> 'CANCELLED' AND check_out_date >= ?",
+                rs -> {
+                    calendar.bookings.computeIfAbsent(rs.getObject("check_in_date", LocalDate.class), d -> new TreeMap<>())
+                            .put(rs.getLong("id"), rs.getObject("check_out_date", LocalDate.class));
+                },
+                roomId, LocalDate.now().minusDays(1));
+        calendar.loaded = true;
+    }
+
+    private static final class RoomCalendar {
+        private final ReentrantLock lock = new ReentrantLock();
+        /**
+         * check-in date -> (reservation id -> check-out date)
+         */
+        private final NavigableMap<LocalDate, Map<Long, LocalDate>> bookings = new TreeMap<>();
+        private boolean loaded;
+        /**
+         * The room's booking version when the calendar was loaded.
+         */
+        private long version;
+    }
+}
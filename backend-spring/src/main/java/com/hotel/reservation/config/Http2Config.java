@@ -0,0 +1,39 @@
+package com.hotel.reservation.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tunes the {@link Http2Protocol} that Spring Boot adds to the Tomcat connector when
+ * {@code server.http2.enabled} is set. Runs after Boot's own customization, so compression
+ * settings already applied to the protocol are kept.
+ */
+@Configuration
+@Slf4j
+public class Http2Config {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "server.http2", name = "enabled", havingValue = "true")
+    public TomcatConnectorCustomizer http2ConnectorCustomizer(ReservationProperties properties) {
+        ReservationProperties.Http2 http2 = properties.getHttp2();
+        return connector -> {
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol protocol) {
+                    protocol.setMaxConcurrentStreams(http2.getMaxConcurrentStreams());
+                    protocol.setMaxConcurrentStreamExecution(http2.getMaxConcurrentStreamExecution());
+                    protocol.setInitialWindowSize((int) http2.getInitialWindowSize().toBytes());
+                    protocol.setKeepAliveTimeout(http2.getKeepAliveTimeout().toMillis());
+                    protocol.setReadTimeout(http2.getReadTimeout().toMillis());
+                    protocol.setWriteTimeout(http2.getWriteTimeout().toMillis());
+                    log.info("HTTP/2 enabled on port {}: {} concurrent streams, {} byte initial window",
+                            connector.getPort(), http2.getMaxConcurrentStreams(), protocol.getInitialWindowSize());
+                }
+            }
+        };
+    }
+}
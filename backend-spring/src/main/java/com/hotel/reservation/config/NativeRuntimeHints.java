@@ -0,0 +1,92 @@
+package com.hotel.reservation.config;
+
+import com.hotel.reservation.endpoint.ReservationEndpoint;
+import com.hotel.reservation.model.Client;
+import com.hotel.reservation.model.Reservation;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.outbox.ReservationSnapshot;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints needed by the GraalVM native image (see the {@code native}
+ * Maven profile). Spring Boot's AOT engine covers the JPA entities and Spring MVC; these hints add
+ * what it cannot infer: the JAXB-generated SOAP classes, Spring-WS default strategies, the SAAJ
+ * implementation and the XSD published as WSDL.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String SOAP_PACKAGE = "com.hotel.reservation.soap";
+
+    private static final List<String> SPRING_WS_STRATEGIES = List.of(
+            "org.springframework.ws.soap.server.SoapMessageDispatcher",
+            "org.springframework.ws.soap.saaj.SaajSoapMessageFactory",
+            "org.springframework.ws.server.endpoint.adapter.MessageEndpointAdapter",
+            "org.springframework.ws.server.endpoint.adapter.PayloadEndpointAdapter",
+            "org.springframework.ws.server.endpoint.adapter.MessageMethodEndpointAdapter",
+            "org.springframework.ws.server.endpoint.adapter.PayloadMethodEndpointAdapter",
+            "org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter",
+            "org.springframework.ws.soap.server.endpoint.SimpleSoapExceptionResolver",
+            "org.springframework.ws.soap.server.endpoint.SoapFaultAnnotationExceptionResolver",
+            "org.springframework.ws.server.endpoint.mapping.PayloadRootAnnotationMethodEndpointMapping",
+            "org.springframework.ws.soap.server.endpoint.mapping.SoapActionAnnotationMethodEndpointMapping"
+    );
+
+    private static final List<String> SAAJ_IMPLEMENTATION = List.of(
+            "com.sun.xml.messaging.saaj.soap.SAAJMetaFactoryImpl",
+            "com.sun.xml.messaging.saaj.soap.ver1_1.SOAPMessageFactory1_1Impl",
+            "com.sun.xml.messaging.saaj.soap.ver1_1.SOAPFactory1_1Impl",
+            "com.sun.xml.messaging.saaj.soap.ver1_2.SOAPMessageFactory1_2Impl",
+            "com.sun.xml.messaging.saaj.soap.ver1_2.SOAPFactory1_2Impl"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern("wsdl/*.xsd")
+                .registerPattern("org/springframework/ws/transport/http/MessageDispatcherServlet.properties")
+                .registerPattern("org/springframework/ws/server/MessageDispatcher.properties")
+                .registerPattern("org/springframework/ws/soap/server/SoapMessageDispatcher.properties")
+                .registerPattern("com/sun/xml/messaging/saaj/soap/LocalStrings.properties");
+
+        // JAXB binds generated classes (and their package-info) through reflection
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        for (BeanDefinition candidate : scanner.findCandidateComponents(SOAP_PACKAGE)) {
+            hints.reflection().registerType(TypeReference.of(candidate.getBeanClassName()), MemberCategory.values());
+        }
+        try {
+            hints.reflection().registerType(Class.forName(SOAP_PACKAGE + ".package-info", false, classLoader),
+                    MemberCategory.values());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("JAXB classes were not generated for " + SOAP_PACKAGE, e);
+        }
+
+        for (String type : SPRING_WS_STRATEGIES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        // Spring-WS invokes the @PayloadRoot methods reflectively
+        hints.reflection().registerType(ReservationEndpoint.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        for (String type : SAAJ_IMPLEMENTATION) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        // Enum columns mapped with EnumType.STRING
+        for (Class<?> type : List.of(Client.class, Room.class, Room.RoomType.class, Reservation.class,
+                Reservation.ReservationStatus.class)) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+
+        // Outbox payloads are written and read back with Jackson
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ReservationSnapshot.class);
+    }
+}
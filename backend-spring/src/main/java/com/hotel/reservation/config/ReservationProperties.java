@@ -0,0 +1,198 @@
+package com.hotel.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+@Data
+@ConfigurationProperties(prefix = "reservation")
+public class ReservationProperties {
+
+    /**
+     * Longest stay accepted. Bounds the conflict query so it only touches the partitions that can
+     * hold an overlapping check-in date, which is only sound if no stored stay is longer: must
+     * equal the bound of the {@code chk_reservations_max_stay} constraint of init.sql.
+     */
+    private int maxStayNights = 90;
+
+    private Partitioning partitioning = new Partitioning();
+
+    private Async async = new Async();
+
+    private Outbox outbox = new Outbox();
+
+    private Waitlist waitlist = new Waitlist();
+
+    private Lifecycle lifecycle = new Lifecycle();
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    private Http2 http2 = new Http2();
+
+    private Soap soap = new Soap();
+
+    @Data
+    public static class Partitioning {
+        private boolean maintenanceEnabled = true;
+        private String maintenanceCron = "0 30 3 * * *";
+        /**
+         * Monthly partitions kept ahead of the current month.
+         */
+        private int monthsAhead = 18;
+        /**
+         * Partitions whose check-in month ended more than this many months ago are detached.
+         */
+        private int retentionMonths = 24;
+        /**
+         * Drop detached partitions instead of moving them to the reservations_archive schema.
+         */
+        private boolean dropDetached = false;
+    }
+
+    @Data
+    public static class Async {
+        /**
+         * Writer threads draining the reservation_requests queue on this node; 0 only accepts requests.
+         */
+        private int workers = 2;
+        private int batchSize = 50;
+        /**
+         * Upper bound on how long an idle writer waits before polling the queue again; requests
+         * accepted by this node wake a writer immediately.
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Run a relay on this node. Relays on several nodes are safe: an advisory lock lets only
+         * one deliver at a time.
+         */
+        private boolean relayEnabled = true;
+        private int batchSize = 100;
+        /**
+         * Upper bound on how long an idle relay waits before polling again; commits on this node
+         * wake it immediately.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+        /**
+         * Longest pause between two delivery attempts of a failing event, and between batches
+         * while nothing can be delivered.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+        private int maxAttempts = 20;
+        /**
+         * How long delivered events are kept before cleanup deletes them.
+         */
+        private Duration retention = Duration.ofDays(1);
+        private String cleanupCron = "0 */15 * * * *";
+    }
+
+    @Data
+    public static class Waitlist {
+        /**
+         * Offer freed slots to waiting entries. Matching runs on the node relaying the outbox.
+         */
+        private boolean matchingEnabled = true;
+        /**
+         * Waiting entries tried, oldest first, for each freed slot before giving up on it.
+         */
+        private int candidatesPerSlot = 20;
+        private String expiryCron = "0 5 0 * * *";
+    }
+
+    @Data
+    public static class Lifecycle {
+        /**
+         * Expire holds and complete stays automatically on this node.
+         */
+        private boolean enabled = true;
+        /**
+         * How long a PENDING reservation is held before it is cancelled.
+         */
+        private Duration holdTtl = Duration.ofHours(24);
+        /**
+         * Time of day after which a CONFIRMED stay is completed on its check-out date.
+         */
+        private LocalTime checkOutTime = LocalTime.NOON;
+        private Duration tick = Duration.ofSeconds(1);
+        /**
+         * Deadlines loaded from the database ahead of time; later ones are picked up by a later load.
+         */
+        private Duration horizon = Duration.ofHours(6);
+        private Duration reloadInterval = Duration.ofHours(1);
+        /**
+         * Upper bound on the deadlines loaded per transition kind, overdue ones first.
+         */
+        private int loadLimit = 50_000;
+        private int batchSize = 100;
+    }
+
+    @Data
+    public static class ResponseCache {
+        private boolean enabled = true;
+        /**
+         * Bound on the serialized bytes held, both variants counted; least recently used
+         * responses are evicted beyond it.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+        /**
+         * Larger responses are served but not cached.
+         */
+        private DataSize maxEntrySize = DataSize.ofMegabytes(4);
+        /**
+         * Smallest response stored with a gzip variant, in line with
+         * {@code server.compression.min-response-size}.
+         */
+        private DataSize gzipMinSize = DataSize.ofKilobytes(2);
+    }
+
+    /**
+     * Tomcat HTTP/2 limits, applied when {@code server.http2.enabled} is set (h2c on a cleartext
+     * connector, h2 over ALPN with the {@code tls} profile).
+     */
+    @Data
+    public static class Http2 {
+        /**
+         * Streams a client may open concurrently on one connection.
+         */
+        private long maxConcurrentStreams = 256;
+        /**
+         * Streams of one connection processed at the same time; the others wait for a slot
+         * rather than monopolising the request threads.
+         */
+        private int maxConcurrentStreamExecution = 64;
+        /**
+         * Flow-control window advertised per stream; larger than the 64 KiB protocol default so
+         * list and export responses are not throttled by window updates.
+         */
+        private DataSize initialWindowSize = DataSize.ofMegabytes(1);
+        private Duration keepAliveTimeout = Duration.ofSeconds(20);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Duration writeTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * JAXB binding of the SOAP payloads (see SoapPayloadProcessor).
+     */
+    @Data
+    public static class Soap {
+        /**
+         * Idle marshallers and unmarshallers kept for reuse, of each kind; more are created under
+         * load and dropped once returned to a full pool.
+         */
+        private int poolSize = 64;
+        /**
+         * Validate request payloads against {@code reservations.xsd}; invalid ones get a client fault.
+         */
+        private boolean validateRequests = false;
+        /**
+         * Validate response payloads too, to check the mapping rather than in production.
+         */
+        private boolean validateResponses = false;
+    }
+}
@@ -1,5 +1,10 @@
 package com.hotel.reservation.config;
 
+import com.hotel.reservation.endpoint.SoapPayloadProcessor;
+import com.hotel.reservation.exception.ReservationConflictException;
+import com.hotel.reservation.exception.ResourceConflictException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -7,15 +12,35 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.soap.server.endpoint.SoapFaultDefinition;
+import org.springframework.ws.soap.server.endpoint.SoapFaultMappingExceptionResolver;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 
+import java.util.List;
+import java.util.Properties;
+
 @EnableWs
 @Configuration
+@RequiredArgsConstructor
 public class WebServiceConfig extends WsConfigurerAdapter {
 
+    private final SoapPayloadProcessor payloadProcessor;
+
+    @Override
+    public void addArgumentResolvers(List<MethodArgumentResolver> argumentResolvers) {
+        argumentResolvers.add(payloadProcessor);
+    }
+
+    @Override
+    public void addReturnValueHandlers(List<MethodReturnValueHandler> returnValueHandlers) {
+        returnValueHandlers.add(payloadProcessor);
+    }
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext applicationContext) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
@@ -38,4 +63,25 @@ public class WebServiceConfig extends WsConfigurerAdapter {
     public XsdSchema reservationsSchema() {
         return new SimpleXsdSchema(new ClassPathResource("wsdl/reservations.xsd"));
     }
+
+    /**
+     * Faults mirroring the REST status codes: client faults for what the REST API answers with a
+     * 4xx, server faults for the rest, the exception message as fault string.
+     */
+    @Bean
+    public SoapFaultMappingExceptionResolver soapFaultMappingExceptionResolver() {
+        SoapFaultMappingExceptionResolver resolver = new SoapFaultMappingExceptionResolver();
+        SoapFaultDefinition serverFault = new SoapFaultDefinition();
+        serverFault.setFaultCode(SoapFaultDefinition.SERVER);
+        resolver.setDefaultFault(serverFault);
+        Properties mappings = new Properties();
+        for (Class<?> type : List.of(ResourceNotFoundException.class, ReservationConflictException.class,
+                ResourceConflictException.class, IllegalArgumentException.class)) {
+            mappings.setProperty(type.getName(), "CLIENT");
+        }
+        resolver.setExceptionMappings(mappings);
+        // Ahead of the catch-all SimpleSoapExceptionResolver
+        resolver.setOrder(1);
+        return resolver;
+    }
 }
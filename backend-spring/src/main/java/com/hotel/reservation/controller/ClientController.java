@@ -0,0 +1,73 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.dto.ClientRequest;
+import com.hotel.reservation.dto.ClientResponse;
+import com.hotel.reservation.dto.ClientSummary;
+import com.hotel.reservation.service.ClientService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Clients", description = "REST API for the hotel client directory")
+public class ClientController {
+
+    private final ClientService clientService;
+
+    @PostMapping
+    @Operation(summary = "Create a new client", description = "Registers a client; the email must not be in use")
+    public ResponseEntity<ClientResponse> createClient(@Valid @RequestBody ClientRequest request) {
+        log.info("REST: Received request to create client");
+        ClientResponse response = clientService.createClient(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search clients", description = "Type-ahead search on name, email or phone, served from memory")
+    public ResponseEntity<List<ClientSummary>> searchClients(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(clientService.searchClients(query, limit));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get client by ID", description = "Retrieves a client by its ID")
+    public ResponseEntity<ClientResponse> getClient(@PathVariable Long id) {
+        log.info("REST: Received request to get client with ID: {}", id);
+        return ResponseEntity.ok(clientService.getClientById(id));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all clients", description = "Retrieves all clients")
+    public ResponseEntity<List<ClientResponse>> getAllClients() {
+        log.info("REST: Received request to get all clients");
+        return ResponseEntity.ok(clientService.getAllClients());
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a client", description = "Updates an existing client")
+    public ResponseEntity<ClientResponse> updateClient(
+            @PathVariable Long id,
+            @Valid @RequestBody ClientRequest request) {
+        log.info("REST: Received request to update client with ID: {}", id);
+        return ResponseEntity.ok(clientService.updateClient(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a client", description = "Deletes a client without reservations")
+    public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
+        log.info("REST: Received request to delete client with ID: {}", id);
+        clientService.deleteClient(id);
+        return ResponseEntity.noContent().build();
+    }
+}
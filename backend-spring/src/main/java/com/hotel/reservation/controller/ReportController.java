@@ -0,0 +1,36 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.dto.OccupancyReport;
+import com.hotel.reservation.report.OccupancyReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reports", description = "Revenue management reports")
+public class ReportController {
+
+    private final OccupancyReportService occupancyReportService;
+
+    @GetMapping("/occupancy")
+    @Operation(summary = "Occupancy report", description = "Occupancy by night, ADR and RevPAR per room type over the nights [from, to)")
+    public ResponseEntity<OccupancyReport> occupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includePending) {
+        log.info("REST: Received request for occupancy report from {} to {}", from, to);
+        return ResponseEntity.ok(occupancyReportService.occupancy(from, to, includePending));
+    }
+}
@@ -1,18 +1,41 @@
 package com.hotel.reservation.controller;
 
+import com.hotel.reservation.cache.ResponseCache;
+import com.hotel.reservation.cluster.ClusteredReservationService;
+import com.hotel.reservation.dto.ReservationBatchGetRequest;
+import com.hotel.reservation.dto.ReservationBatchResult;
 import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationRequestStatusResponse;
 import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.service.AsyncReservationService;
+import com.hotel.reservation.service.ReservationExportService;
 import com.hotel.reservation.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -22,29 +45,82 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ClusteredReservationService clusteredReservationService;
+    private final AsyncReservationService asyncReservationService;
+    private final ReservationExportService exportService;
+    private final ResponseCache responseCache;
 
     @PostMapping
     @Operation(summary = "Create a new reservation", description = "Creates a new hotel reservation")
     public ResponseEntity<ReservationResponse> createReservation(@Valid @RequestBody ReservationRequest request) {
         log.info("REST: Received request to create reservation");
-        ReservationResponse response = reservationService.createReservation(request);
+        ReservationResponse response = clusteredReservationService.createReservation(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(params = "async=true")
+    @Operation(summary = "Queue a reservation", description = "Validates and queues a reservation for asynchronous creation, returning a handle to poll")
+    public ResponseEntity<ReservationRequestStatusResponse> createReservationAsync(@Valid @RequestBody ReservationRequest request) {
+        log.info("REST: Received request to queue reservation");
+        ReservationRequestStatusResponse response = asyncReservationService.enqueue(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/reservations/requests/{handle}")
+                .buildAndExpand(response.getHandle())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @GetMapping("/requests/{handle}")
+    @Operation(summary = "Get queued reservation status", description = "Reports the status of a reservation queued in asynchronous mode")
+    public ResponseEntity<ReservationRequestStatusResponse> getReservationRequest(@PathVariable UUID handle) {
+        log.info("REST: Received request to get reservation request with handle: {}", handle);
+        return ResponseEntity.ok(asyncReservationService.getStatus(handle));
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get reservations by IDs", description = "Retrieves up to 500 reservations in one call; results follow the request order, with NOT_FOUND entries for unknown IDs")
+    public ResponseEntity<List<ReservationBatchResult>> getReservations(@Valid @RequestBody ReservationBatchGetRequest request) {
+        log.info("REST: Received request to get {} reservations", request.getIds().size());
+        return ResponseEntity.ok(reservationService.getReservations(request.getIds()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export reservations", description = "Streams reservations as NDJSON or CSV (optionally gzipped), filtered by check-in date range [from, to) and status. Stays whose partition was archived (check-in month ended more than reservation.partitioning.retention-months ago) are left out unless includeArchived is set; dropped partitions are gone")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(defaultValue = "NDJSON") ReservationExportService.ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<ReservationStatus> status,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("REST: Received request to export reservations as {} (from: {}, to: {}, status: {}, archived: {})",
+                format, from, to, status, includeArchived);
+        String filename = "reservations." + format.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : format == ReservationExportService.ExportFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(exportService.export(format, from, to, status, includeArchived, gzip));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get reservation by ID", description = "Retrieves a reservation by its ID")
-    public ResponseEntity<ReservationResponse> getReservation(@PathVariable Long id) {
+    @Operation(summary = "Get reservation by ID", description = "Retrieves a reservation by its ID; served from the response cache, with ETag and precompressed gzip")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ReservationResponse.class)))
+    public ResponseEntity<byte[]> getReservation(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         log.info("REST: Received request to get reservation with ID: {}", id);
-        ReservationResponse response = reservationService.getReservationById(id);
-        return ResponseEntity.ok(response);
+        return responseCache.respond(ResponseCache.reservationKey(id), headers,
+                () -> reservationService.getReservationById(id));
     }
 
     @GetMapping
-    @Operation(summary = "Get all reservations", description = "Retrieves all reservations")
-    public ResponseEntity<List<ReservationResponse>> getAllReservations() {
+    @Operation(summary = "Get all reservations", description = "Retrieves all reservations; served from the response cache, with ETag and precompressed gzip")
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ReservationResponse.class))))
+    public ResponseEntity<byte[]> getAllReservations(@RequestHeader HttpHeaders headers) {
         log.info("REST: Received request to get all reservations");
-        List<ReservationResponse> responses = reservationService.getAllReservations();
-        return ResponseEntity.ok(responses);
+        return responseCache.respond(ResponseCache.reservationListKey(), headers,
+                reservationService::getAllReservations);
     }
 
     @PutMapping("/{id}")
@@ -53,7 +129,7 @@ public class ReservationController {
             @PathVariable Long id,
             @Valid @RequestBody ReservationRequest request) {
         log.info("REST: Received request to update reservation with ID: {}", id);
-        ReservationResponse response = reservationService.updateReservation(id, request);
+        ReservationResponse response = clusteredReservationService.updateReservation(id, request);
         return ResponseEntity.ok(response);
     }
 
@@ -61,7 +137,7 @@ public class ReservationController {
     @Operation(summary = "Delete a reservation", description = "Deletes a reservation by its ID")
     public ResponseEntity<Void> deleteReservation(@PathVariable Long id) {
         log.info("REST: Received request to delete reservation with ID: {}", id);
-        reservationService.deleteReservation(id);
+        clusteredReservationService.deleteReservation(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -69,7 +145,7 @@ public class ReservationController {
     @Operation(summary = "Cancel a reservation", description = "Cancels a reservation by setting its status to CANCELLED")
     public ResponseEntity<ReservationResponse> cancelReservation(@PathVariable Long id) {
         log.info("REST: Received request to cancel reservation with ID: {}", id);
-        ReservationResponse response = reservationService.cancelReservation(id);
+        ReservationResponse response = clusteredReservationService.cancelReservation(id);
         return ResponseEntity.ok(response);
     }
 
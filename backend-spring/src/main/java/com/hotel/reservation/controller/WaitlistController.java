@@ -0,0 +1,45 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.dto.WaitlistEntryResponse;
+import com.hotel.reservation.dto.WaitlistRequest;
+import com.hotel.reservation.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Waitlist", description = "REST API for stays waiting on a cancellation")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @Operation(summary = "Join the waitlist",
+               description = "Queues a stay that could not be booked (409), on a room or any room of a type; "
+                       + "it is booked or held automatically when a matching slot is freed")
+    public ResponseEntity<WaitlistEntryResponse> enqueue(@Valid @RequestBody WaitlistRequest request) {
+        log.info("REST: Received request to join the waitlist");
+        return new ResponseEntity<>(waitlistService.enqueue(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get waitlist entry", description = "Status of a waitlist entry and the reservation it led to")
+    public ResponseEntity<WaitlistEntryResponse> getEntry(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.getEntry(id));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Leave the waitlist", description = "Cancels an entry that is still waiting")
+    public ResponseEntity<WaitlistEntryResponse> cancel(@PathVariable Long id) {
+        log.info("REST: Received request to cancel waitlist entry with ID: {}", id);
+        return ResponseEntity.ok(waitlistService.cancel(id));
+    }
+}
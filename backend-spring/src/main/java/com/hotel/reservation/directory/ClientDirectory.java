@@ -0,0 +1,258 @@
+package com.hotel.reservation.directory;
+
+import com.hotel.reservation.dto.ClientSummary;
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import com.hotel.reservation.model.Client;
+import com.hotel.reservation.repository.ClientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory client directory: the type-ahead {@link ClientSearchIndex} and a {@link BloomFilter}
+ * of known emails, checked before {@code existsByEmail} on sign-up.
+ *
+ * <p>Loaded once at startup and after every invalidation resync, then kept current incrementally:
+ * writes on this node are applied after commit, changes from other nodes through the client
+ * change notices. A resync rebuilds the directory off the invalidation bus thread, replaying the
+ * writes applied while the clients were loading onto the new index before it is published.
+ */
+@Component
+@Slf4j
+public class ClientDirectory implements InvalidationSubscriber {
+
+    private static final int MIN_EMAIL_CAPACITY = 10_000;
+    private static final double EMAIL_FALSE_POSITIVE_RATE = 0.01;
+
+    private final ClientRepository clientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "client-directory-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Set while a resync rebuild is queued but not started; further resyncs are folded into it.
+     */
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private ClientSearchIndex index = new ClientSearchIndex();
+    /**
+     * Latest write per client id (null for a removal) applied while a rebuild is loading, replayed
+     * onto the new index before it is published; null when no rebuild is running.
+     */
+    private Map<Long, ClientSummary> pendingReplay;
+    /**
+     * Null until the directory is loaded; callers then fall back to the database.
+     */
+    private volatile BloomFilter emailFilter;
+    private volatile boolean loaded;
+
+    public ClientDirectory(ClientRepository clientRepository, JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.clientRepository = clientRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("client.directory.size", this, ClientDirectory::size)
+                .description("Clients held in the in-memory directory")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Client directory not loaded at startup, loading on first use: {}", e.getMessage());
+        }
+    }
+
+    public List<ClientSummary> search(String query, int limit) {
+        if (!loaded) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * False only if no client has this email; true may be a false positive.
+     */
+    public boolean mightContainEmail(String email) {
+        BloomFilter filter = emailFilter;
+        return filter == null || filter.mightContain(email);
+    }
+
+    public void upsert(ClientSummary client) {
+        lock.writeLock().lock();
+        try {
+            if (pendingReplay != null) {
+                pendingReplay.put(client.getId(), client);
+            }
+            index.upsert(client);
+            BloomFilter filter = emailFilter;
+            if (filter != null) {
+                if (index.size() > filter.getExpectedInsertions()) {
+                    emailFilter = buildEmailFilter(index.emails());
+                } else {
+                    filter.add(client.getEmail());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        // Removed emails stay in the Bloom filter until the next rebuild, which only costs a query
+        lock.writeLock().lock();
+        try {
+            if (pendingReplay != null) {
+                pendingReplay.put(id, null);
+            }
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ClientSearchIndex rebuilt = new ClientSearchIndex();
+        BloomFilter filter;
+        try {
+            jdbcTemplate.query("SELECT id, first_name, last_name, email, phone FROM clients", rs -> {
+                rebuilt.upsert(ClientSummary.builder()
+                        .id(rs.getLong("id"))
+                        .firstName(rs.getString("first_name"))
+                        .lastName(rs.getString("last_name"))
+                        .email(rs.getString("email"))
+                        .phone(rs.getString("phone"))
+                        .build());
+            });
+            filter = buildEmailFilter(rebuilt.emails());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingReplay.forEach((id, client) -> {
+                if (client == null) {
+                    rebuilt.remove(id);
+                } else {
+                    rebuilt.upsert(client);
+                    filter.add(client.getEmail());
+                }
+            });
+            pendingReplay = null;
+            index = rebuilt;
+            emailFilter = filter;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Client directory loaded: {} clients in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        Set<Long> ids = new HashSet<>();
+        for (ChangeNotice notice : notices) {
+            if (notice.getTable() == ChangeNotice.Table.CLIENTS) {
+                ids.add(notice.getId());
+            }
+        }
+        if (ids.isEmpty() || !loaded && !rebuilding()) {
+            return;
+        }
+        for (Client client : clientRepository.findAllById(ids)) {
+            upsert(toSummary(client));
+            ids.remove(client.getId());
+        }
+        ids.forEach(this::remove);
+    }
+
+    @Override
+    public void onResync() {
+        if (loaded && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (DataAccessException e) {
+                    log.warn("Client directory rebuild after resync failed, keeping the previous one: {}",
+                            e.getMessage());
+                }
+            });
+        }
+    }
+
+    public static ClientSummary toSummary(Client client) {
+        return ClientSummary.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .phone(client.getPhone())
+                .build();
+    }
+
+    private boolean rebuilding() {
+        lock.readLock().lock();
+        try {
+            return pendingReplay != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static BloomFilter buildEmailFilter(Collection<String> emails) {
+        BloomFilter filter = new BloomFilter(Math.max(MIN_EMAIL_CAPACITY, 2L * emails.size()), EMAIL_FALSE_POSITIVE_RATE);
+        emails.forEach(filter::add);
+        return filter;
+    }
+}
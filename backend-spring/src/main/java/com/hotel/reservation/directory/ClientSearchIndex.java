@@ -0,0 +1,201 @@
+package com.hotel.reservation.directory;
+
+import com.hotel.reservation.dto.ClientSummary;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over client names, emails and phone numbers.
+ *
+ * <p>Queries of three characters or more are answered from a trigram index (any substring
+ * matches); shorter ones from a sorted token map (word prefixes only). Text is matched
+ * case- and accent-insensitively, phone numbers on their digits. Not thread-safe: the
+ * {@link ClientDirectory} guards it with a read/write lock.
+ */
+class ClientSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s@._+-]+");
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> tokens = new TreeMap<>();
+
+    int size() {
+        return entries.size();
+    }
+
+    Collection<String> emails() {
+        return entries.values().stream().map(entry -> entry.summary.getEmail()).toList();
+    }
+
+    void upsert(ClientSummary client) {
+        remove(client.getId());
+        Entry entry = new Entry(client);
+        entries.put(client.getId(), entry);
+        for (String trigram : entry.trigrams()) {
+            trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(client.getId());
+        }
+        for (String token : entry.tokens()) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(client.getId());
+        }
+    }
+
+    void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : entry.trigrams()) {
+            detach(trigrams, trigram, id);
+        }
+        for (String token : entry.tokens()) {
+            detach(tokens, token, id);
+        }
+    }
+
+    List<ClientSummary> search(String query, int limit) {
+        boolean phoneQuery = !query.isBlank() && query.chars().noneMatch(Character::isLetter);
+        String term = phoneQuery ? NON_DIGITS.matcher(query).replaceAll("") : normalize(query);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+
+        Collection<Long> candidates = term.length() >= 3 ? trigramCandidates(term) : prefixCandidates(term);
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = entries.get(id);
+            int rank = entry.rank(term, phoneQuery);
+            if (rank >= 0) {
+                matches.add(new Match(entry, rank));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::rank)
+                        .thenComparing(match -> match.entry.lastName)
+                        .thenComparing(match -> match.entry.firstName))
+                .limit(limit)
+                .map(match -> match.entry.summary)
+                .toList();
+    }
+
+    private Collection<Long> trigramCandidates(String term) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            Set<Long> posting = trigrams.get(term.substring(i, i + 3));
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private Collection<Long> prefixCandidates(String term) {
+        Set<Long> result = new HashSet<>();
+        for (Set<Long> ids : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    private static void detach(Map<String, Set<Long>> index, String key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(Entry entry, int rank) {
+    }
+
+    private static final class Entry {
+
+        private final ClientSummary summary;
+        private final String firstName;
+        private final String lastName;
+        private final String fullName;
+        private final String email;
+        private final String phoneDigits;
+
+        private Entry(ClientSummary summary) {
+            this.summary = summary;
+            this.firstName = normalize(summary.getFirstName());
+            this.lastName = normalize(summary.getLastName());
+            this.fullName = firstName + " " + lastName;
+            this.email = normalize(summary.getEmail());
+            this.phoneDigits = summary.getPhone() == null ? "" : NON_DIGITS.matcher(summary.getPhone()).replaceAll("");
+        }
+
+        Set<String> trigrams() {
+            Set<String> result = new HashSet<>();
+            for (String field : List.of(fullName, email, phoneDigits)) {
+                for (int i = 0; i + 3 <= field.length(); i++) {
+                    result.add(field.substring(i, i + 3));
+                }
+            }
+            return result;
+        }
+
+        Set<String> tokens() {
+            Set<String> result = new HashSet<>();
+            for (String field : List.of(fullName, email)) {
+                for (String word : WORD_SEPARATORS.split(field)) {
+                    if (!word.isEmpty()) {
+                        result.add(word);
+                    }
+                }
+            }
+            result.add(email);
+            if (!phoneDigits.isEmpty()) {
+                result.add(phoneDigits);
+            }
+            return result;
+        }
+
+        /**
+         * 0 when a word starts with the term, 1 for any other substring match, -1 for no match.
+         */
+        int rank(String term, boolean phoneQuery) {
+            if (phoneQuery) {
+                return phoneDigits.startsWith(term) ? 0 : phoneDigits.contains(term) ? 1 : -1;
+            }
+            if (firstName.startsWith(term) || lastName.startsWith(term) || fullName.startsWith(term)
+                    || email.startsWith(term)) {
+                return 0;
+            }
+            for (String word : WORD_SEPARATORS.split(fullName + " " + email)) {
+                if (word.startsWith(term)) {
+                    return 0;
+                }
+            }
+            return fullName.contains(term) || email.contains(term) ? 1 : -1;
+        }
+    }
+}
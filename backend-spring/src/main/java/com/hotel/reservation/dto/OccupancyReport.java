@@ -0,0 +1,52 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.model.Room.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy, ADR and RevPAR per room type over the nights [from, to). Future nights reflect the
+ * reservations on the books.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReport {
+
+    private LocalDate from;
+    private LocalDate to;
+    private boolean includePending;
+    private List<RoomTypeOccupancy> roomTypes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomTypeOccupancy {
+        private RoomType roomType;
+        private int rooms;
+        private long availableRoomNights;
+        private long soldRoomNights;
+        private double occupancy;
+        private BigDecimal roomRevenue;
+        /**
+         * Average daily rate: room revenue per sold room night.
+         */
+        private BigDecimal adr;
+        /**
+         * Revenue per available room night.
+         */
+        private BigDecimal revpar;
+        /**
+         * Rooms sold on each night of the window, starting at {@code from}.
+         */
+        private int[] soldByNight;
+    }
+}
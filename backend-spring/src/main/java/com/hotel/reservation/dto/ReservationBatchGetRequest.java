@@ -0,0 +1,22 @@
+package com.hotel.reservation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBatchGetRequest {
+
+    @NotEmpty(message = "At least one reservation ID is required")
+    @Size(max = 500, message = "At most 500 reservation IDs per request")
+    private List<@NotNull(message = "Reservation IDs must not be null") Long> ids;
+}
@@ -0,0 +1,43 @@
+package com.hotel.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch operation, reported at the item's position in the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBatchResult {
+
+    private int index;
+    private boolean success;
+    private ReservationResponse reservation;
+    private ErrorCode errorCode;
+    private String errorMessage;
+
+    public enum ErrorCode {
+        NOT_FOUND, CONFLICT, INVALID
+    }
+
+    public static ReservationBatchResult success(int index, ReservationResponse reservation) {
+        return ReservationBatchResult.builder()
+                .index(index)
+                .success(true)
+                .reservation(reservation)
+                .build();
+    }
+
+    public static ReservationBatchResult failure(int index, ErrorCode errorCode, String errorMessage) {
+        return ReservationBatchResult.builder()
+                .index(index)
+                .success(false)
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
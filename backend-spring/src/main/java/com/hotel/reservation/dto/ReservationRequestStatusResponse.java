@@ -0,0 +1,25 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.model.QueuedReservationRequest.QueueStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequestStatusResponse {
+
+    private UUID handle;
+    private QueueStatus status;
+    private Long reservationId;
+    private String errorCode;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,32 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.model.Room.RoomType;
+import com.hotel.reservation.model.WaitlistEntry.Mode;
+import com.hotel.reservation.model.WaitlistEntry.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryResponse {
+
+    private Long id;
+    private Long clientId;
+    private Long roomId;
+    private RoomType roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer numberOfGuests;
+    private Mode mode;
+    private WaitlistStatus status;
+    private Long reservationId;
+    private LocalDateTime createdAt;
+    private LocalDateTime matchedAt;
+}
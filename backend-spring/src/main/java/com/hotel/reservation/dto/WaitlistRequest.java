@@ -0,0 +1,45 @@
+package com.hotel.reservation.dto;
+
+import com.hotel.reservation.model.Room.RoomType;
+import com.hotel.reservation.model.WaitlistEntry.Mode;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Stay to wait for, on a given room or on any room of a type.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequest {
+
+    @NotNull(message = "Client ID is required")
+    private Long clientId;
+
+    private Long roomId;
+
+    private RoomType roomType;
+
+    @NotNull(message = "Check-in date is required")
+    @Future(message = "Check-in date must be in the future")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    @Future(message = "Check-out date must be in the future")
+    private LocalDate checkOutDate;
+
+    @NotNull(message = "Number of guests is required")
+    @Min(value = 1, message = "At least one guest is required")
+    @Max(value = 10, message = "Maximum 10 guests allowed")
+    private Integer numberOfGuests;
+
+    private String specialRequests;
+
+    private Mode mode;
+}
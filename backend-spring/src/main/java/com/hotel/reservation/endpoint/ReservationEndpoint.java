@@ -0,0 +1,324 @@
+package com.hotel.reservation.endpoint;
+
+import com.hotel.reservation.cluster.ClusteredReservationService;
+import com.hotel.reservation.dto.ReservationBatchResult;
+import com.hotel.reservation.dto.ReservationPage;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.service.ReservationService;
+import com.hotel.reservation.soap.BatchCancelReservationsRequest;
+import com.hotel.reservation.soap.BatchCreateReservationsRequest;
+import com.hotel.reservation.soap.BatchGetReservationsRequest;
+import com.hotel.reservation.soap.CreateReservationRequest;
+import com.hotel.reservation.soap.CreateReservationResponse;
+import com.hotel.reservation.soap.DeleteReservationRequest;
+import com.hotel.reservation.soap.DeleteReservationResponse;
+import com.hotel.reservation.soap.GetReservationRequest;
+import com.hotel.reservation.soap.GetReservationResponse;
+import com.hotel.reservation.soap.ListReservationsRequest;
+import com.hotel.reservation.soap.ReservationBatchItem;
+import com.hotel.reservation.soap.ReservationDetails;
+import com.hotel.reservation.soap.ReservationInfo;
+import com.hotel.reservation.soap.UpdateReservationRequest;
+import com.hotel.reservation.soap.UpdateReservationResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.xml.bind.JAXBElement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * SOAP counterpart of the reservation REST API, published at {@code /soap} with the WSDL of
+ * {@code reservations.xsd}. Payloads are bound by the {@link SoapPayloadProcessor}; writes go
+ * through the {@link ClusteredReservationService} like the REST ones, and failures become SOAP
+ * faults (see {@code WebServiceConfig}).
+ *
+ * <p>The batch operations serve integrations syncing many reservations at once: each batch runs in
+ * one transaction and reports a result per item, in request order. Like queued requests, batch
+ * writes go straight to {@link ReservationService} rather than through each room's owner: batch
+ * creates lock their room rows, in id order, and move their booking version before the conflict
+ * check, and batch cancels lock their reservation rows. The owner reads the version under a share
+ * lock and reloads a room whose version moved, and checks an apparent conflict against the
+ * database before rejecting it, so it neither accepts a conflicting request nor rejects one against
+ * a slot a batch cancel just freed. Batch results and listing pages are
+ * computed in full, then written item by item as a {@link StreamingPayload}.
+ */
+@Endpoint
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationEndpoint {
+
+    public static final String NAMESPACE_URI = "http://reservation.hotel.com/soap";
+
+    private static final DatatypeFactory DATATYPES = DatatypeFactory.newDefaultInstance();
+    private static final QName RESULT = new QName(NAMESPACE_URI, "result");
+    private static final QName RESERVATION = new QName(NAMESPACE_URI, "reservation");
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReservationService reservationService;
+    private final ClusteredReservationService clusteredReservationService;
+    private final Validator validator;
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "CreateReservationRequest")
+    public CreateReservationResponse createReservation(CreateReservationRequest request) {
+        log.info("SOAP: Received request to create reservation");
+        ReservationRequest reservation = validate(ReservationRequest.builder()
+                .clientId(request.getClientId())
+                .roomId(request.getRoomId())
+                .checkInDate(toLocalDate(request.getCheckInDate()))
+                .checkOutDate(toLocalDate(request.getCheckOutDate()))
+                .numberOfGuests(request.getNumberOfGuests())
+                .specialRequests(request.getSpecialRequests())
+                .status(toStatus(request.getStatus()))
+                .build());
+        CreateReservationResponse response = new CreateReservationResponse();
+        response.setReservation(toInfo(clusteredReservationService.createReservation(reservation)));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "GetReservationRequest")
+    public GetReservationResponse getReservation(GetReservationRequest request) {
+        log.info("SOAP: Received request to get reservation with ID: {}", request.getId());
+        GetReservationResponse response = new GetReservationResponse();
+        response.setReservation(toInfo(reservationService.getReservationById(request.getId())));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "UpdateReservationRequest")
+    public UpdateReservationResponse updateReservation(UpdateReservationRequest request) {
+        log.info("SOAP: Received request to update reservation with ID: {}", request.getId());
+        ReservationRequest reservation = validate(ReservationRequest.builder()
+                .clientId(request.getClientId())
+                .roomId(request.getRoomId())
+                .checkInDate(toLocalDate(request.getCheckInDate()))
+                .checkOutDate(toLocalDate(request.getCheckOutDate()))
+                .numberOfGuests(request.getNumberOfGuests())
+                .specialRequests(request.getSpecialRequests())
+                .status(toStatus(request.getStatus()))
+                .build());
+        UpdateReservationResponse response = new UpdateReservationResponse();
+        response.setReservation(toInfo(clusteredReservationService.updateReservation(request.getId(), reservation)));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "DeleteReservationRequest")
+    public DeleteReservationResponse deleteReservation(DeleteReservationRequest request) {
+        log.info("SOAP: Received request to delete reservation with ID: {}", request.getId());
+        clusteredReservationService.deleteReservation(request.getId());
+        DeleteReservationResponse response = new DeleteReservationResponse();
+        response.setSuccess(true);
+        response.setMessage("Reservation " + request.getId() + " deleted");
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "BatchCreateReservationsRequest")
+    public StreamingPayload createReservations(BatchCreateReservationsRequest request) {
+        List<ReservationDetails> items = request.getReservation();
+        log.info("SOAP: Received request to create {} reservations", items.size());
+        checkBatchSize(items.size());
+        List<ReservationBatchResult> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        List<ReservationRequest> valid = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                valid.add(validate(toRequest(items.get(i))));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results.set(i, ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.INVALID, e.getMessage()));
+            }
+        }
+        if (!valid.isEmpty()) {
+            for (ReservationBatchResult result : reservationService.createReservations(valid)) {
+                int position = positions.get(result.getIndex());
+                result.setIndex(position);
+                results.set(position, result);
+            }
+        }
+        return batchResponse("BatchCreateReservationsResponse", results);
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "BatchGetReservationsRequest")
+    public StreamingPayload getReservations(BatchGetReservationsRequest request) {
+        log.info("SOAP: Received request to get {} reservations", request.getId().size());
+        checkBatchSize(request.getId().size());
+        return batchResponse("BatchGetReservationsResponse", reservationService.getReservations(request.getId()));
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "BatchCancelReservationsRequest")
+    public StreamingPayload cancelReservations(BatchCancelReservationsRequest request) {
+        log.info("SOAP: Received request to cancel {} reservations", request.getId().size());
+        checkBatchSize(request.getId().size());
+        return batchResponse("BatchCancelReservationsResponse", reservationService.cancelReservations(request.getId()));
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "ListReservationsRequest")
+    public StreamingPayload listReservations(ListReservationsRequest request) {
+        int pageSize = request.getPageSize() != null ? request.getPageSize() : DEFAULT_PAGE_SIZE;
+        log.info("SOAP: Received request to list {} reservations (status: {})", pageSize, request.getStatus());
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ReservationPage page = reservationService.listReservations(decodeCursor(request.getCursor()), pageSize,
+                toStatus(request.getStatus()));
+        return (writer, marshaller) -> {
+            startPayload(writer, "ListReservationsResponse");
+            for (ReservationResponse reservation : page.getReservations()) {
+                marshaller.marshal(new JAXBElement<>(RESERVATION, ReservationInfo.class, toInfo(reservation)), writer);
+            }
+            if (page.getLastId() != null) {
+                writer.writeStartElement("", "nextCursor", NAMESPACE_URI);
+                writer.writeCharacters(encodeCursor(page.getLastId()));
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        };
+    }
+
+    private static StreamingPayload batchResponse(String localPart, List<ReservationBatchResult> results) {
+        return (writer, marshaller) -> {
+            startPayload(writer, localPart);
+            for (ReservationBatchResult result : results) {
+                marshaller.marshal(new JAXBElement<>(RESULT, ReservationBatchItem.class, toItem(result)), writer);
+            }
+            writer.writeEndElement();
+        };
+    }
+
+    private static void startPayload(XMLStreamWriter writer, String localPart) throws XMLStreamException {
+        writer.writeStartElement("", localPart, NAMESPACE_URI);
+        writer.writeDefaultNamespace(NAMESPACE_URI);
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size == 0 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch holds between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    /**
+     * Cursors are opaque to clients: the last ID of the previous page, encoded.
+     */
+    private static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static ReservationRequest toRequest(ReservationDetails details) {
+        return ReservationRequest.builder()
+                .clientId(details.getClientId())
+                .roomId(details.getRoomId())
+                .checkInDate(toLocalDate(details.getCheckInDate()))
+                .checkOutDate(toLocalDate(details.getCheckOutDate()))
+                .numberOfGuests(details.getNumberOfGuests())
+                .specialRequests(details.getSpecialRequests())
+                .status(toStatus(details.getStatus()))
+                .build();
+    }
+
+    /**
+     * Applies the constraints the REST API checks with {@code @Valid}.
+     */
+    private ReservationRequest validate(ReservationRequest request) {
+        Set<ConstraintViolation<ReservationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return request;
+    }
+
+    private static ReservationStatus toStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return ReservationStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown reservation status: " + status);
+        }
+    }
+
+    static ReservationInfo toInfo(ReservationResponse reservation) {
+        ReservationInfo info = new ReservationInfo();
+        info.setId(reservation.getId());
+        info.setClientId(reservation.getClient().getId());
+        info.setClientFirstName(reservation.getClient().getFirstName());
+        info.setClientLastName(reservation.getClient().getLastName());
+        info.setClientEmail(reservation.getClient().getEmail());
+        info.setRoomId(reservation.getRoom().getId());
+        info.setRoomNumber(reservation.getRoom().getRoomNumber());
+        info.setRoomType(reservation.getRoom().getRoomType());
+        info.setCheckInDate(toXml(reservation.getCheckInDate()));
+        info.setCheckOutDate(toXml(reservation.getCheckOutDate()));
+        info.setNumberOfGuests(reservation.getNumberOfGuests());
+        info.setTotalPrice(reservation.getTotalPrice());
+        info.setStatus(reservation.getStatus().name());
+        info.setSpecialRequests(reservation.getSpecialRequests());
+        info.setCreatedAt(toXml(reservation.getCreatedAt()));
+        info.setUpdatedAt(toXml(reservation.getUpdatedAt()));
+        return info;
+    }
+
+    static ReservationBatchItem toItem(ReservationBatchResult result) {
+        ReservationBatchItem item = new ReservationBatchItem();
+        item.setIndex(result.getIndex());
+        item.setSuccess(result.isSuccess());
+        if (result.getReservation() != null) {
+            item.setReservation(toInfo(result.getReservation()));
+        }
+        if (result.getErrorCode() != null) {
+            item.setErrorCode(result.getErrorCode().name());
+        }
+        item.setErrorMessage(result.getErrorMessage());
+        return item;
+    }
+
+    static LocalDate toLocalDate(XMLGregorianCalendar date) {
+        return date != null ? LocalDate.of(date.getYear(), date.getMonth(), date.getDay()) : null;
+    }
+
+    static XMLGregorianCalendar toXml(LocalDate date) {
+        return date != null ? DATATYPES.newXMLGregorianCalendarDate(date.getYear(), date.getMonthValue(),
+                date.getDayOfMonth(), DatatypeConstants.FIELD_UNDEFINED) : null;
+    }
+
+    static XMLGregorianCalendar toXml(LocalDateTime time) {
+        return time != null ? DATATYPES.newXMLGregorianCalendar(time.getYear(), time.getMonthValue(),
+                time.getDayOfMonth(), time.getHour(), time.getMinute(), time.getSecond(),
+                time.getNano() / 1_000_000, DatatypeConstants.FIELD_UNDEFINED) : null;
+    }
+}
@@ -0,0 +1,190 @@
+package com.hotel.reservation.endpoint;
+
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.soap.ObjectFactory;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Binds the SOAP payloads of the {@code @Endpoint} methods: a parameter or return type generated
+ * from {@code reservations.xsd} is read from the request payload and written to the response
+ * payload. Parameters and return values are left unannotated, as Spring-WS hands
+ * {@code @RequestPayload} and {@code @ResponsePayload} ones to its own JAXB processors, which are
+ * consulted first and create a marshaller per message.
+ *
+ * <p>The {@link JAXBContext} is built once and its marshallers and unmarshallers are pooled, each
+ * being configured once, including the XSD {@link Schema} when validation is enabled; the schema
+ * is compiled once at startup. Payloads are read and written through StAX, so a message is never
+ * rendered to a string or re-parsed on the way; a {@link StreamingPayload} return value writes its
+ * items one at a time to the same writer, which still fills the SAAJ response in memory.
+ */
+@Component
+public class SoapPayloadProcessor implements MethodArgumentResolver, MethodReturnValueHandler {
+
+    static final String SCHEMA_LOCATION = "wsdl/reservations.xsd";
+
+    private final JAXBContext context;
+    private final Schema schema;
+    private final ReservationProperties.Soap properties;
+    private final BlockingQueue<Marshaller> marshallers;
+    private final BlockingQueue<Unmarshaller> unmarshallers;
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory;
+
+    public SoapPayloadProcessor(ReservationProperties properties) {
+        this.properties = properties.getSoap();
+        try {
+            this.context = JAXBContext.newInstance(ObjectFactory.class);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("JAXB context could not be created for the SOAP payloads", e);
+        }
+        this.schema = this.properties.isValidateRequests() || this.properties.isValidateResponses()
+                ? compileSchema() : null;
+        this.marshallers = new ArrayBlockingQueue<>(this.properties.getPoolSize());
+        this.unmarshallers = new ArrayBlockingQueue<>(this.properties.getPoolSize());
+        this.inputFactory = XMLInputFactory.newFactory();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.outputFactory = XMLOutputFactory.newFactory();
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return isBound(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MessageContext messageContext, MethodParameter parameter) throws Exception {
+        Source payload = messageContext.getRequest().getPayloadSource();
+        if (payload == null) {
+            throw new IllegalArgumentException("Request has no payload");
+        }
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = createUnmarshaller();
+        }
+        Object value;
+        try {
+            value = JAXBIntrospector.getValue(unmarshal(unmarshaller, payload));
+        } catch (UnmarshalException e) {
+            Throwable cause = e.getLinkedException() != null ? e.getLinkedException() : e;
+            throw new IllegalArgumentException("Invalid request payload: " + cause.getMessage(), e);
+        }
+        unmarshallers.offer(unmarshaller);
+        if (!parameter.getParameterType().isInstance(value)) {
+            throw new IllegalArgumentException("Unexpected request payload " + value.getClass().getSimpleName());
+        }
+        return value;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return isBound(returnType.getParameterType())
+                || StreamingPayload.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(MessageContext messageContext, MethodParameter returnType, Object returnValue)
+            throws Exception {
+        if (returnValue == null) {
+            return;
+        }
+        Result result = messageContext.getResponse().getPayloadResult();
+        Marshaller marshaller = marshallers.poll();
+        if (marshaller == null) {
+            marshaller = createMarshaller();
+        }
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(result);
+        try {
+            if (returnValue instanceof StreamingPayload payload) {
+                marshaller.setSchema(null);
+                payload.writeTo(writer, marshaller);
+                marshaller.setSchema(properties.isValidateResponses() ? schema : null);
+            } else {
+                marshaller.marshal(returnValue, writer);
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        marshallers.offer(marshaller);
+    }
+
+    private Object unmarshal(Unmarshaller unmarshaller, Source payload) throws JAXBException, XMLStreamException {
+        // SAAJ hands out the body element: bind it in place rather than serializing it back
+        if (payload instanceof DOMSource domSource) {
+            return unmarshaller.unmarshal(domSource.getNode());
+        }
+        if (!(payload instanceof StreamSource)) {
+            return unmarshaller.unmarshal(payload);
+        }
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(payload);
+        try {
+            return unmarshaller.unmarshal(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Marshaller createMarshaller() throws JAXBException {
+        Marshaller marshaller = context.createMarshaller();
+        // The payload goes inside the SOAP body: no XML declaration
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        if (properties.isValidateResponses()) {
+            marshaller.setSchema(schema);
+        }
+        return marshaller;
+    }
+
+    private Unmarshaller createUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = context.createUnmarshaller();
+        if (properties.isValidateRequests()) {
+            unmarshaller.setSchema(schema);
+        }
+        return unmarshaller;
+    }
+
+    private static boolean isBound(Class<?> type) {
+        return type.isAnnotationPresent(XmlRootElement.class)
+                && type.getPackageName().equals(ObjectFactory.class.getPackageName());
+    }
+
+    private static Schema compileSchema() {
+        ClassPathResource resource = new ClassPathResource(SCHEMA_LOCATION);
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        try (InputStream in = resource.getInputStream()) {
+            return factory.newSchema(new StreamSource(in, resource.getURL().toExternalForm()));
+        } catch (IOException | SAXException e) {
+            throw new IllegalStateException("Schema " + SCHEMA_LOCATION + " could not be compiled", e);
+        }
+    }
+}
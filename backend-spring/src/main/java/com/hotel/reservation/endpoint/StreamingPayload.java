@@ -0,0 +1,23 @@
+package com.hotel.reservation.endpoint;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Response payload written element by element by the {@link SoapPayloadProcessor}, for responses
+ * with many items: each item is marshalled as its own fragment, from the results the endpoint has
+ * already computed, rather than the whole response being built as one JAXB object graph first.
+ * This saves the wrapper graph, not the results: the writer targets the SAAJ message, which holds
+ * the whole response as a DOM until it is sent, so nothing reaches the client before the last item.
+ *
+ * <p>The marshaller writes fragments and never validates, whatever
+ * {@code reservation.soap.validate-responses} says: items are not global elements of the schema.
+ */
+@FunctionalInterface
+public interface StreamingPayload {
+
+    void writeTo(XMLStreamWriter writer, Marshaller marshaller) throws JAXBException, XMLStreamException;
+}
@@ -0,0 +1,59 @@
+package com.hotel.reservation.invalidation;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A row change published by the {@code notify_hotel_change} trigger. Reservation notices also
+ * carry the room, dates, status and price; the other tables only carry the id.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ChangeNotice {
+
+    public enum Table { RESERVATIONS, ROOMS, CLIENTS, WAITLIST_ENTRIES }
+
+    public enum Operation { INSERT, UPDATE, DELETE }
+
+    Table table;
+    Operation operation;
+    long id;
+    Long roomId;
+    /**
+     * Rooms the reservation was moved away from, when updates changed it: every room it left
+     * since the previous batch, so a row moved A to B to C within one batch names both A and B.
+     */
+    @Builder.Default
+    Set<Long> previousRoomIds = Set.of();
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    String status;
+    BigDecimal totalPrice;
+
+    Key key() {
+        return new Key(table, id);
+    }
+
+    /**
+     * This later change of the same row, also naming the rooms the row left since {@code earlier}.
+     */
+    ChangeNotice after(ChangeNotice earlier) {
+        Set<Long> left = new LinkedHashSet<>(earlier.previousRoomIds);
+        if (earlier.roomId != null) {
+            left.add(earlier.roomId);
+        }
+        left.addAll(previousRoomIds);
+        if (roomId != null) {
+            left.remove(roomId);
+        }
+        return left.equals(previousRoomIds) ? this : toBuilder().previousRoomIds(Set.copyOf(left)).build();
+    }
+
+    record Key(Table table, long id) {
+    }
+}
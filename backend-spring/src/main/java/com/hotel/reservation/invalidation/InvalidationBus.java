@@ -0,0 +1,249 @@
+package com.hotel.reservation.invalidation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Cross-node invalidation bus on PostgreSQL {@code LISTEN/NOTIFY}. Row triggers publish a notice
+ * for every change to {@code reservations}, {@code rooms}, {@code clients} and
+ * {@code waitlist_entries}; this bus listens on a dedicated connection, coalesces bursts and hands
+ * the batches to every {@link InvalidationSubscriber} bean.
+ *
+ * <p>Notifications sent while a node is not listening are lost, so subscribers are asked to resync
+ * each time the connection is (re)established, and whenever a burst overflows the pending buffer.
+ */
+@Component
+@Slf4j
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final String NOTICES = "reservation.invalidation.notices";
+    private static final String RESYNCS = "reservation.invalidation.resyncs";
+    private static final int IDLE_POLL_MILLIS = 500;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final InvalidationProperties properties;
+    private final ObjectProvider<InvalidationSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final Meter.MeterProvider<Counter> notices;
+    private final Meter.MeterProvider<Counter> resyncs;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public InvalidationBus(DataSourceProperties dataSourceProperties, InvalidationProperties properties,
+                           ObjectProvider<InvalidationSubscriber> subscribers, ObjectMapper objectMapper,
+                           MeterRegistry registry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.subscribers = subscribers;
+        this.objectMapper = objectMapper;
+        this.notices = Counter.builder(NOTICES)
+                .description("Change notices received from the database")
+                .withRegistry(registry);
+        this.resyncs = Counter.builder(RESYNCS)
+                .description("Full resyncs requested from local caches")
+                .withRegistry(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Invalidation bus disabled");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::run, "invalidation-bus");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long backoff = properties.getReconnectBackoff().toMillis();
+        while (running) {
+            try (Connection conn = connect()) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                log.info("Listening for change notices on channel {}", properties.getChannel());
+                // Anything committed while we were not listening is unknown
+                resync("connected");
+                backoff = properties.getReconnectBackoff().toMillis();
+                listen(conn.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation bus connection lost, reconnecting in {} ms: {}", backoff, e.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, properties.getMaxReconnectBackoff().toMillis());
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void listen(PGConnection pgConnection) throws SQLException {
+        Map<ChangeNotice.Key, ChangeNotice> pending = new LinkedHashMap<>();
+        long windowNanos = properties.getCoalesceWindow().toNanos();
+        long deadline = 0;
+
+        while (running) {
+            int timeout = pending.isEmpty()
+                    ? IDLE_POLL_MILLIS
+                    : (int) Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+            PGNotification[] notifications = pgConnection.getNotifications(timeout);
+
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    ChangeNotice notice = parse(notification.getParameter());
+                    if (notice == null) {
+                        continue;
+                    }
+                    notices.withTags("table", notice.getTable().name().toLowerCase(Locale.ROOT)).increment();
+                    if (pending.isEmpty()) {
+                        deadline = System.nanoTime() + windowNanos;
+                    }
+                    // Re-insert so iteration order follows the latest change of each row; the merged
+                    // notice keeps every room the row left, whose caches still hold it
+                    ChangeNotice earlier = pending.remove(notice.key());
+                    pending.put(notice.key(), earlier != null ? notice.after(earlier) : notice);
+                }
+            }
+
+            if (pending.size() > properties.getMaxPending()) {
+                pending.clear();
+                resync("overflow");
+            } else if (!pending.isEmpty() && System.nanoTime() - deadline >= 0) {
+                dispatch(new ArrayList<>(pending.values()));
+                pending.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<ChangeNotice> batch) {
+        subscribers.orderedStream().forEach(subscriber -> {
+            try {
+                subscriber.onChanges(batch);
+            } catch (RuntimeException e) {
+                log.error("Invalidation subscriber {} failed on {} notices", subscriber.getClass().getSimpleName(),
+                        batch.size(), e);
+            }
+        });
+    }
+
+    private void resync(String reason) {
+        resyncs.withTags("reason", reason).increment();
+        log.info("Requesting full resync of local caches ({})", reason);
+        subscribers.orderedStream().forEach(subscriber -> {
+            try {
+                subscriber.onResync();
+            } catch (RuntimeException e) {
+                log.error("Invalidation subscriber {} failed to resync", subscriber.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private ChangeNotice parse(String payload) {
+        try {
+            JsonNode json = objectMapper.readTree(payload);
+            return ChangeNotice.builder()
+                    .table(ChangeNotice.Table.valueOf(json.get("t").asText().toUpperCase(Locale.ROOT)))
+                    .operation(switch (json.get("op").asText()) {
+                        case "I" -> ChangeNotice.Operation.INSERT;
+                        case "D" -> ChangeNotice.Operation.DELETE;
+                        default -> ChangeNotice.Operation.UPDATE;
+                    })
+                    .id(json.get("id").asLong())
+                    .roomId(longOrNull(json, "room"))
+                    .previousRoomIds(json.hasNonNull("prevRoom") ? Set.of(json.get("prevRoom").asLong()) : Set.of())
+                    .checkInDate(dateOrNull(json, "in"))
+                    .checkOutDate(dateOrNull(json, "out"))
+                    .status(json.hasNonNull("status") ? json.get("status").asText() : null)
+                    .totalPrice(json.hasNonNull("price") ? json.get("price").decimalValue() : null)
+                    .build();
+        } catch (Exception e) {
+            log.warn("Ignoring malformed change notice: {}", payload);
+            return null;
+        }
+    }
+
+    private static Long longOrNull(JsonNode json, String field) {
+        return json.hasNonNull(field) ? json.get(field).asLong() : null;
+    }
+
+    private static LocalDate dateOrNull(JsonNode json, String field) {
+        return json.hasNonNull(field) ? LocalDate.parse(json.get(field).asText()) : null;
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", dataSourceProperties.determineUsername());
+        info.setProperty("password", dataSourceProperties.determinePassword());
+        info.setProperty("ApplicationName", "hotel-reservation-invalidation");
+        // Detect half-open connections, which would otherwise look like a quiet channel
+        info.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // already broken
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hotel.reservation.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "reservation.invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled = true;
+    /**
+     * Channel the {@code notify_hotel_change} triggers publish on.
+     */
+    private String channel = "hotel_changes";
+    /**
+     * Notices received within this window are merged, keeping the latest per row, and delivered
+     * to subscribers as one batch.
+     */
+    private Duration coalesceWindow = Duration.ofMillis(100);
+    /**
+     * Pending notices above which the burst is dropped and subscribers resync instead.
+     */
+    private int maxPending = 10_000;
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+    private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+}
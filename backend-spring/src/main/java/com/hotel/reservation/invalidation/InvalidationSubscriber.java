@@ -0,0 +1,23 @@
+package com.hotel.reservation.invalidation;
+
+import java.util.Collection;
+
+/**
+ * Local cache kept consistent with changes made by any node. Beans implementing this interface
+ * are registered with the {@link InvalidationBus} automatically.
+ */
+public interface InvalidationSubscriber {
+
+    /**
+     * A coalesced batch of changes, at most one notice per row, in commit order of their latest
+     * change; a reservation's notice names every room it left during the batch. Called from the
+     * bus thread: keep it short (a keyed reload at most), as later batches wait for it.
+     */
+    void onChanges(Collection<ChangeNotice> notices);
+
+    /**
+     * Notices may have been lost (connection dropped or burst too large); drop or reload all
+     * cached state. Also called from the bus thread: run a full reload on another thread.
+     */
+    void onResync();
+}
@@ -0,0 +1,247 @@
+package com.hotel.reservation.lifecycle;
+
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import com.hotel.reservation.service.ReservationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Moves reservations through their time-driven transitions: a PENDING hold is cancelled once
+ * {@code hold-ttl} has elapsed, a CONFIRMED stay becomes COMPLETED after its check-out date.
+ *
+ * <p>Deadlines falling within {@code horizon} are loaded from the database every
+ * {@code reload-interval} into a {@link TimingWheel}, and kept current between loads by the
+ * reservation change notices. Each tick fires the timers that fell due, in batches of
+ * {@code batch-size} through {@link ReservationService}, so the cost follows the number of due
+ * transitions rather than the size of the table. The service re-checks each deadline under a row
+ * lock: a stale timer, or the same timer firing on several nodes, changes nothing.
+ */
+@Component
+@Slf4j
+public class ReservationLifecycleScheduler implements SmartLifecycle, InvalidationSubscriber {
+
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    enum Transition { EXPIRE_HOLD, COMPLETE_STAY }
+
+    private final ReservationService reservationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationProperties.Lifecycle properties;
+    private final Meter.MeterProvider<Counter> transitions;
+    /**
+     * Guarded by {@code this}: advanced by the scheduler thread, updated from the invalidation bus.
+     */
+    private final TimingWheel<Transition> wheel;
+
+    private volatile boolean running;
+    private volatile boolean reloadRequested = true;
+    private long nextReloadMillis;
+    private Thread schedulerThread;
+
+    public ReservationLifecycleScheduler(ReservationService reservationService, JdbcTemplate jdbcTemplate,
+                                         ReservationProperties properties, MeterRegistry registry) {
+        this.reservationService = reservationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getLifecycle();
+        this.wheel = new TimingWheel<>(this.properties.getTick().toMillis(), System.currentTimeMillis());
+        this.transitions = Counter.builder("reservation.lifecycle.transitions")
+                .description("Reservations moved by the lifecycle scheduler, by transition")
+                .withRegistry(registry);
+        Gauge.builder("reservation.lifecycle.scheduled", this, ReservationLifecycleScheduler::scheduled)
+                .description("Lifecycle deadlines held in the timing wheel")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Reservation lifecycle scheduler disabled on this node");
+            return;
+        }
+        running = true;
+        schedulerThread = new Thread(this::run, "reservation-lifecycle");
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (schedulerThread == null) {
+            return;
+        }
+        schedulerThread.interrupt();
+        try {
+            schedulerThread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        long now = System.currentTimeMillis();
+        long horizonEnd = now + properties.getHorizon().toMillis();
+        synchronized (this) {
+            for (ChangeNotice notice : notices) {
+                if (notice.getTable() != ChangeNotice.Table.RESERVATIONS) {
+                    continue;
+                }
+                if (notice.getOperation() == ChangeNotice.Operation.DELETE) {
+                    wheel.cancel(notice.getId());
+                } else if ("CONFIRMED".equals(notice.getStatus())) {
+                    long deadline = completionDeadline(notice.getCheckOutDate());
+                    if (deadline <= horizonEnd) {
+                        wheel.schedule(notice.getId(), Transition.COMPLETE_STAY, deadline);
+                    } else {
+                        wheel.cancel(notice.getId());
+                    }
+                } else if ("PENDING".equals(notice.getStatus())) {
+                    // The hold runs from the row creation, which the notice does not carry; a new
+                    // row was created just now, an older one is already scheduled or will be loaded
+                    long deadline = now + properties.getHoldTtl().toMillis();
+                    if (!wheel.contains(notice.getId()) && deadline <= horizonEnd) {
+                        wheel.schedule(notice.getId(), Transition.EXPIRE_HOLD, deadline);
+                    }
+                } else {
+                    wheel.cancel(notice.getId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onResync() {
+        reloadRequested = true;
+    }
+
+    private void run() {
+        long tickMillis = properties.getTick().toMillis();
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (reloadRequested || now >= nextReloadMillis) {
+                    reload(now);
+                }
+                Map<Long, Transition> due = new HashMap<>();
+                synchronized (this) {
+                    wheel.advance(now, due);
+                }
+                if (!due.isEmpty()) {
+                    fire(due);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Reservation lifecycle pass failed: {}", e.getMessage());
+                reloadRequested = true;
+            }
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void reload(long now) {
+        reloadRequested = false;
+        LocalDateTime horizonEnd = LocalDateTime.now().plus(properties.getHorizon());
+        LocalDate lastCheckOut = lastCompletedCheckOut(horizonEnd);
+        int limit = properties.getLoadLimit();
+
+        List<long[]> holds = jdbcTemplate.query(
+                "SELECT id, created_at FROM reservations WHERE status = 'PENDING' AND created_at <= ? " +
+                "ORDER BY created_at LIMIT ?",
+                (rs, i) -> new long[]{rs.getLong(1), toMillis(rs.getTimestamp(2).toLocalDateTime().plus(properties.getHoldTtl()))},
+                Timestamp.valueOf(horizonEnd.minus(properties.getHoldTtl())), limit);
+        // The check-in bound is implied by the check-out one; it lets PostgreSQL prune partitions
+        List<long[]> stays = jdbcTemplate.query(
+                "SELECT id, check_out_date FROM reservations WHERE status = 'CONFIRMED' AND check_out_date <= ? " +
+                "AND check_in_date <= ? ORDER BY check_out_date LIMIT ?",
+                (rs, i) -> new long[]{rs.getLong(1), completionDeadline(rs.getDate(2).toLocalDate())},
+                Date.valueOf(lastCheckOut), Date.valueOf(lastCheckOut), limit);
+
+        synchronized (this) {
+            holds.forEach(row -> wheel.schedule(row[0], Transition.EXPIRE_HOLD, row[1]));
+            stays.forEach(row -> wheel.schedule(row[0], Transition.COMPLETE_STAY, row[1]));
+        }
+        boolean truncated = holds.size() == limit || stays.size() == limit;
+        // A truncated load means an overdue backlog: load the rest as soon as this part has fired
+        nextReloadMillis = now + (truncated ? RETRY_DELAY_MILLIS : properties.getReloadInterval().toMillis());
+        log.debug("Lifecycle deadlines loaded: {} hold(s), {} stay(s)", holds.size(), stays.size());
+    }
+
+    private void fire(Map<Long, Transition> due) {
+        Map<Transition, List<Long>> byTransition = new EnumMap<>(Transition.class);
+        due.forEach((id, transition) -> byTransition.computeIfAbsent(transition, t -> new ArrayList<>()).add(id));
+
+        int batchSize = properties.getBatchSize();
+        byTransition.forEach((transition, ids) -> {
+            for (int from = 0; from < ids.size() && running; from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    int moved = switch (transition) {
+                        case EXPIRE_HOLD -> reservationService.expireHolds(batch,
+                                LocalDateTime.now().minus(properties.getHoldTtl()));
+                        case COMPLETE_STAY -> reservationService.completeStays(batch,
+                                lastCompletedCheckOut(LocalDateTime.now()));
+                    };
+                    transitions.withTags("transition", transition.name().toLowerCase(Locale.ROOT)).increment(moved);
+                } catch (RuntimeException e) {
+                    log.warn("Lifecycle {} batch of {} failed, retrying: {}", transition, batch.size(), e.getMessage());
+                    long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                    synchronized (this) {
+                        batch.forEach(id -> wheel.schedule(id, transition, retryAt));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Latest check-out date whose stays are complete at {@code time}.
+     */
+    private LocalDate lastCompletedCheckOut(LocalDateTime time) {
+        return time.toLocalTime().isBefore(properties.getCheckOutTime())
+                ? time.toLocalDate().minusDays(1)
+                : time.toLocalDate();
+    }
+
+    private long completionDeadline(LocalDate checkOutDate) {
+        return toMillis(checkOutDate.atTime(properties.getCheckOutTime()));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private synchronized int scheduled() {
+        return wheel.size();
+    }
+}
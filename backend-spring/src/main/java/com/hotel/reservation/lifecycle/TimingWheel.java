@@ -0,0 +1,151 @@
+package com.hotel.reservation.lifecycle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, level {@code n} slots spanning
+ * {@code 64^n} ticks, so one second ticks cover about 194 days. Scheduling and cancelling are
+ * O(1); advancing costs one slot per tick plus the timers that fall due, each timer being moved
+ * down at most once per level as its deadline approaches.
+ *
+ * <p>Timers are keyed by id, one per id: scheduling an id again replaces its timer. Not thread
+ * safe.
+ */
+final class TimingWheel<V> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private static final class Timer<V> {
+        final long id;
+        final V value;
+        final long tick;
+        Set<Timer<V>> bucket;
+
+        Timer(long id, V value, long tick) {
+            this.id = id;
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+
+    private final long tickMillis;
+    private final List<List<Set<Timer<V>>>> levels = new ArrayList<>(LEVELS);
+    private final Map<Long, Timer<V>> timers = new HashMap<>();
+    /**
+     * Next tick to process; every timer due before it has fired.
+     */
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            List<Set<Timer<V>>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new HashSet<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Latest deadline the wheel can hold, relative to its current time.
+     */
+    long spanMillis() {
+        return ((1L << (SLOT_BITS * LEVELS)) - 1) * tickMillis;
+    }
+
+    /**
+     * Schedules {@code id} at {@code deadlineMillis}, replacing its previous timer. A deadline in
+     * the past fires at the next tick; one beyond {@link #spanMillis()} is rejected.
+     */
+    boolean schedule(long id, V value, long deadlineMillis) {
+        cancel(id);
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+        if (tick - currentTick >= 1L << (SLOT_BITS * LEVELS)) {
+            return false;
+        }
+        Timer<V> timer = new Timer<>(id, value, tick);
+        timers.put(id, timer);
+        place(timer);
+        return true;
+    }
+
+    boolean cancel(long id) {
+        Timer<V> timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        return true;
+    }
+
+    boolean contains(long id) {
+        return timers.containsKey(id);
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis}, collecting the fired timers in {@code due}
+     * (keyed by id) and removing them from the wheel.
+     */
+    void advance(long nowMillis, Map<Long, V> due) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick <= nowTick) {
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            Set<Timer<V>> bucket = levels.get(0).get((int) (currentTick & SLOT_MASK));
+            if (!bucket.isEmpty()) {
+                for (Timer<V> timer : bucket) {
+                    timers.remove(timer.id);
+                    due.put(timer.id, timer.value);
+                }
+                bucket.clear();
+            }
+            currentTick++;
+            if (timers.isEmpty() && currentTick <= nowTick) {
+                // Nothing left to fire or cascade: jump ahead instead of walking empty slots
+                currentTick = nowTick + 1;
+            }
+        }
+    }
+
+    private void cascade(int level) {
+        List<Set<Timer<V>>> slots = levels.get(level);
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Set<Timer<V>> bucket = slots.get(index);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        slots.set(index, new HashSet<>());
+        for (Timer<V> timer : bucket) {
+            place(timer);
+        }
+    }
+
+    private void place(Timer<V> timer) {
+        long delta = timer.tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((timer.tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Set<Timer<V>> bucket = levels.get(level).get(index);
+        bucket.add(timer);
+        timer.bucket = bucket;
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.reservation.maintenance;
+
+import com.hotel.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of the {@code reservations} table in shape: pre-creates the
+ * upcoming months and detaches (archives or drops) months whose stays are long completed.
+ * The heavy lifting is done by the SQL functions defined in {@code database/init.sql}.
+ *
+ * <p>{@code reservation.partitioning.maintenance-enabled} is checked on every run rather than as a
+ * bean condition, which a native image would evaluate once, at build time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!properties.getPartitioning().isMaintenanceEnabled()) {
+            log.info("Reservation partition maintenance disabled on this node");
+            return;
+        }
+        maintain();
+    }
+
+    @Scheduled(cron = "${reservation.partitioning.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        ReservationProperties.Partitioning config = properties.getPartitioning();
+        if (!config.isMaintenanceEnabled()) {
+            return;
+        }
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT create_reservation_partitions(?, ?)", Integer.class,
+                    currentMonth, config.getMonthsAhead() + 1);
+            Integer detached = jdbcTemplate.queryForObject(
+                    "SELECT detach_reservation_partitions(?, ?)", Integer.class,
+                    currentMonth.minusMonths(config.getRetentionMonths()), config.isDropDetached());
+            log.info("Reservation partition maintenance: {} partition(s) created, {} detached", created, detached);
+        } catch (DataAccessException e) {
+            // Typically a lock timeout while detaching; the next run retries
+            log.warn("Reservation partition maintenance failed: {}", e.getMessage());
+        }
+    }
+}
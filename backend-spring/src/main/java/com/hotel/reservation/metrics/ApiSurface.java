@@ -0,0 +1,34 @@
+package com.hotel.reservation.metrics;
+
+/**
+ * API surface through which a call entered the service, used as the {@code api} metric tag.
+ */
+public enum ApiSurface {
+    REST("rest"),
+    SOAP("soap"),
+    INTERNAL("internal");
+
+    private static final ThreadLocal<ApiSurface> CURRENT = ThreadLocal.withInitial(() -> INTERNAL);
+
+    private final String tagValue;
+
+    ApiSurface(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+
+    public static ApiSurface current() {
+        return CURRENT.get();
+    }
+
+    public static void set(ApiSurface surface) {
+        CURRENT.set(surface);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
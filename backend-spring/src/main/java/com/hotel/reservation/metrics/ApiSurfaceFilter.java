@@ -0,0 +1,32 @@
+package com.hotel.reservation.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags the request thread with the API surface (REST or SOAP) so service and repository
+ * metrics can be broken down per surface.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApiSurfaceFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ApiSurface.set(request.getRequestURI().startsWith("/soap") ? ApiSurface.SOAP : ApiSurface.REST);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ApiSurface.clear();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.reservation.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the {@code api} tag to the {@code spring.data.repository.invocations} timer so every
+ * repository query can be broken down by API surface alongside the service stage timers.
+ */
+@Component
+public class ApiSurfaceRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        List<Tag> tags = new ArrayList<>();
+        super.repositoryTags(invocation).forEach(tags::add);
+        tags.add(Tag.of("api", ApiSurface.current().getTagValue()));
+        return tags;
+    }
+}
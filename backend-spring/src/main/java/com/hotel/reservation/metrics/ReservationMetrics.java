@@ -0,0 +1,78 @@
+package com.hotel.reservation.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fine-grained metrics for the reservation hot path.
+ *
+ * <p>Meters are resolved through pre-built {@link Meter.MeterProvider}s so recording only costs a
+ * registry lookup. No percentile histograms are published by default; enable them per meter with
+ * {@code management.metrics.distribution.percentiles-histogram.<name>} when needed.
+ */
+@Component
+public class ReservationMetrics {
+
+    public static final String STAGE_TIMER = "reservation.service.stage";
+    public static final String CONFLICTS = "reservation.conflicts";
+    public static final String LIST_ROWS = "reservation.list.rows";
+
+    private final Meter.MeterProvider<Timer> stageTimers;
+    private final Meter.MeterProvider<Counter> conflicts;
+    private final Meter.MeterProvider<DistributionSummary> listRows;
+
+    public ReservationMetrics(MeterRegistry registry) {
+        this.stageTimers = Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of a ReservationService operation")
+                .withRegistry(registry);
+        this.conflicts = Counter.builder(CONFLICTS)
+                .description("Reservation requests rejected because of overlapping bookings")
+                .withRegistry(registry);
+        this.listRows = DistributionSummary.builder(LIST_ROWS)
+                .description("Rows returned by reservation list calls")
+                .baseUnit("rows")
+                .withRegistry(registry);
+    }
+
+    /**
+     * Starts a stage timer for the given operation; each call to {@link OperationTimer#stage(String)}
+     * records the time elapsed since the previous stage.
+     */
+    public OperationTimer operation(String operation) {
+        return new OperationTimer(operation, ApiSurface.current().getTagValue());
+    }
+
+    public void conflictDetected(String operation) {
+        conflicts.withTags("operation", operation, "api", ApiSurface.current().getTagValue()).increment();
+    }
+
+    public void rowsReturned(String operation, int rows) {
+        listRows.withTags("operation", operation, "api", ApiSurface.current().getTagValue()).record(rows);
+    }
+
+    public final class OperationTimer {
+
+        private final String operation;
+        private final String api;
+        private long mark;
+
+        private OperationTimer(String operation, String api) {
+            this.operation = operation;
+            this.api = api;
+            this.mark = System.nanoTime();
+        }
+
+        public void stage(String stage) {
+            long now = System.nanoTime();
+            stageTimers.withTags("operation", operation, "stage", stage, "api", api)
+                    .record(now - mark, TimeUnit.NANOSECONDS);
+            mark = now;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotel.reservation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Stay requested for a room, or any room of a type, that was fully booked. Waits in
+ * {@code waitlist_entries} until a cancellation or a shortened stay frees a matching slot.
+ */
+@Entity
+@Table(name = "waitlist_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    /**
+     * Requested room; null when any room of {@link #roomType} will do.
+     */
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "room_type", length = 50)
+    @Enumerated(EnumType.STRING)
+    private Room.RoomType roomType;
+
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(name = "number_of_guests", nullable = false)
+    private Integer numberOfGuests;
+
+    @Column(name = "special_requests", columnDefinition = "TEXT")
+    private String specialRequests;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Mode mode = Mode.AUTO_BOOK;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "matched_at")
+    private LocalDateTime matchedAt;
+
+    public enum Mode {
+        /**
+         * Book the freed slot as a CONFIRMED reservation.
+         */
+        AUTO_BOOK,
+        /**
+         * Hold the freed slot as a PENDING reservation for the guest to confirm.
+         */
+        HOLD
+    }
+
+    public enum WaitlistStatus {
+        WAITING, BOOKED, HELD, EXPIRED, CANCELLED
+    }
+}
@@ -0,0 +1,23 @@
+package com.hotel.reservation.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes relayed events as Spring application events, for in-process
+ * {@code @EventListener(ReservationEvent.class)} consumers. Listeners run on the relay thread,
+ * inside the relay transaction; one that writes to the database should use its own
+ * ({@code REQUIRES_NEW}) transaction so its failure does not roll back the batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void deliver(ReservationEvent event) {
+        publisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,271 @@
+package com.hotel.reservation.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.model.OutboxEvent;
+import com.hotel.reservation.model.OutboxEvent.OutboxStatus;
+import com.hotel.reservation.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Relays outbox rows to every {@link OutboxSink}, in outbox id order.
+ *
+ * <p>Each batch runs in one transaction holding a cluster-wide advisory lock, so a single relay
+ * delivers at a time. An event is marked delivered only after all sinks accepted it (at least once
+ * delivery); when a sink fails, later events of the same reservation are held back until it
+ * succeeds, which keeps per-reservation ordering while other reservations keep flowing. A failed
+ * event is retried after an exponential backoff of its own, from {@code poll-interval} up to
+ * {@code max-backoff}, and is marked DEAD after {@code max-attempts} failures.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final String DELIVERED = "reservation.outbox.delivered";
+    private static final String FAILURES = "reservation.outbox.failures";
+    private static final String LAG = "reservation.outbox.lag";
+    private static final int CLEANUP_CHUNK = 10_000;
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectProvider<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReservationProperties.Outbox properties;
+    private final Meter.MeterProvider<Counter> delivered;
+    private final Meter.MeterProvider<Counter> failures;
+    private final Timer lag;
+
+    private final Object workSignal = new Object();
+    private boolean workAvailable;
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository, ObjectProvider<OutboxSink> sinks,
+                       TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                       ReservationProperties properties, MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getOutbox();
+        this.delivered = Counter.builder(DELIVERED)
+                .description("Outbox events delivered to all sinks")
+                .withRegistry(registry);
+        this.failures = Counter.builder(FAILURES)
+                .description("Failed outbox delivery attempts")
+                .withRegistry(registry);
+        this.lag = Timer.builder(LAG)
+                .description("Time between an outbox event commit and its delivery")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isRelayEnabled()) {
+            log.info("Outbox relay disabled on this node");
+            return;
+        }
+        running = true;
+        relayThread = new Thread(this::run, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relayThread == null) {
+            return;
+        }
+        signalWork();
+        try {
+            relayThread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Wakes the relay; called after a transaction that wrote outbox rows commits.
+     */
+    void signalWork() {
+        synchronized (workSignal) {
+            workAvailable = true;
+            workSignal.notifyAll();
+        }
+    }
+
+    @Scheduled(cron = "${reservation.outbox.cleanup-cron:0 */15 * * * *}")
+    public void cleanupDelivered() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        int deleted = 0;
+        try {
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> outboxRepository.deleteDeliveredBefore(before, CLEANUP_CHUNK));
+                deleted += chunk;
+            } while (chunk == CLEANUP_CHUNK);
+        } catch (DataAccessException e) {
+            log.warn("Outbox cleanup failed: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Outbox cleanup removed {} delivered event(s)", deleted);
+        }
+    }
+
+    private void run() {
+        long backoff = properties.getPollInterval().toMillis();
+        while (running) {
+            BatchOutcome outcome;
+            try {
+                outcome = relayBatch();
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay batch failed: {}", e.getMessage());
+                outcome = BatchOutcome.STALLED;
+            }
+
+            if (outcome == BatchOutcome.FULL) {
+                backoff = properties.getPollInterval().toMillis();
+                continue;
+            }
+            if (outcome == BatchOutcome.STALLED) {
+                // Sinks are failing or the database is unreachable: back off instead of spinning
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, properties.getMaxBackoff().toMillis());
+                continue;
+            }
+            backoff = properties.getPollInterval().toMillis();
+            awaitWork();
+        }
+    }
+
+    private BatchOutcome relayBatch() {
+        return transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                return BatchOutcome.IDLE;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> batch = outboxRepository.lockNextBatch(now, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return BatchOutcome.IDLE;
+            }
+
+            Set<Long> heldBack = new HashSet<>();
+            int deliveredCount = 0;
+            for (OutboxEvent event : batch) {
+                if (heldBack.contains(event.getAggregateId())) {
+                    continue;
+                }
+                try {
+                    ReservationEvent reservationEvent = toReservationEvent(event);
+                    for (OutboxSink sink : sinks.orderedStream().toList()) {
+                        sink.deliver(reservationEvent);
+                    }
+                    event.setStatus(OutboxStatus.DELIVERED);
+                    event.setDeliveredAt(now);
+                    event.setLastError(null);
+                    event.setNextAttemptAt(null);
+                    delivered.withTags("event", event.getEventType()).increment();
+                    lag.record(Duration.between(event.getCreatedAt(), now));
+                    deliveredCount++;
+                } catch (Exception e) {
+                    heldBack.add(event.getAggregateId());
+                    recordFailure(event, e, now);
+                }
+            }
+            outboxRepository.saveAll(batch);
+
+            if (deliveredCount == 0) {
+                return BatchOutcome.STALLED;
+            }
+            return batch.size() == properties.getBatchSize() ? BatchOutcome.FULL : BatchOutcome.PARTIAL;
+        });
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(e.getMessage());
+        failures.withTags("event", event.getEventType()).increment();
+        if (event.getAttempts() >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxStatus.DEAD);
+            log.error("Outbox event {} ({} of reservation {}) given up after {} attempts", event.getId(),
+                    event.getEventType(), event.getAggregateId(), event.getAttempts(), e);
+        } else {
+            Duration delay = retryDelay(event.getAttempts());
+            event.setNextAttemptAt(now.plus(delay));
+            log.warn("Outbox event {} delivery failed (attempt {}), retrying in {}: {}", event.getId(),
+                    event.getAttempts(), delay, e.getMessage());
+        }
+    }
+
+    /**
+     * Doubles from the poll interval with each failed attempt, capped at {@code max-backoff}.
+     */
+    private Duration retryDelay(int attempts) {
+        Duration delay = properties.getPollInterval().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private ReservationEvent toReservationEvent(OutboxEvent event) throws IOException {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        return ReservationEvent.builder()
+                .outboxId(event.getId())
+                .type(ReservationEvent.Type.valueOf(event.getEventType()))
+                .reservationId(event.getAggregateId())
+                .reservation(snapshot(payload.get("reservation")))
+                .previous(snapshot(payload.get("previous")))
+                .occurredAt(event.getCreatedAt())
+                .build();
+    }
+
+    private ReservationSnapshot snapshot(JsonNode node) throws IOException {
+        return node == null || node.isNull() ? null : objectMapper.treeToValue(node, ReservationSnapshot.class);
+    }
+
+    private void awaitWork() {
+        synchronized (workSignal) {
+            try {
+                if (!workAvailable) {
+                    workSignal.wait(properties.getPollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            workAvailable = false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private enum BatchOutcome { IDLE, PARTIAL, FULL, STALLED }
+}
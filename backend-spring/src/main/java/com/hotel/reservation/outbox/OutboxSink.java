@@ -0,0 +1,11 @@
+package com.hotel.reservation.outbox;
+
+/**
+ * Destination of relayed outbox events (message broker, webhook, ...). Every sink bean receives
+ * every event, in outbox order per reservation; an exception leaves the event pending and it is
+ * delivered again, to all sinks, on a later attempt.
+ */
+public interface OutboxSink {
+
+    void deliver(ReservationEvent event) throws Exception;
+}
@@ -0,0 +1,78 @@
+package com.hotel.reservation.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.model.OutboxEvent;
+import com.hotel.reservation.model.Reservation;
+import com.hotel.reservation.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends reservation events to the outbox within the caller's transaction, so an event exists
+ * if and only if its change committed. Callers changing an existing reservation hold its row lock
+ * ({@code ReservationRepository.lockById}), so the events of a reservation get ids in the order
+ * their changes commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    static final String AGGREGATE_TYPE = "RESERVATION";
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservationCreated(Reservation reservation) {
+        append(ReservationEvent.Type.CREATED, reservation.getId(), ReservationSnapshot.of(reservation), null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservationUpdated(ReservationSnapshot previous, Reservation reservation) {
+        append(ReservationEvent.Type.UPDATED, reservation.getId(), ReservationSnapshot.of(reservation), previous);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservationCancelled(ReservationSnapshot previous, Reservation reservation) {
+        append(ReservationEvent.Type.CANCELLED, reservation.getId(), ReservationSnapshot.of(reservation), previous);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservationDeleted(ReservationSnapshot previous) {
+        append(ReservationEvent.Type.DELETED, previous.getId(), null, previous);
+    }
+
+    private void append(ReservationEvent.Type type, Long reservationId,
+                        ReservationSnapshot reservation, ReservationSnapshot previous) {
+        Map<String, ReservationSnapshot> payload = new LinkedHashMap<>();
+        payload.put("reservation", reservation);
+        payload.put("previous", previous);
+        try {
+            outboxRepository.save(OutboxEvent.builder()
+                    .aggregateType(AGGREGATE_TYPE)
+                    .aggregateId(reservationId)
+                    .eventType(type.name())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .status(OutboxEvent.OutboxStatus.PENDING)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event for reservation " + reservationId, e);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.signalWork();
+            }
+        });
+    }
+}
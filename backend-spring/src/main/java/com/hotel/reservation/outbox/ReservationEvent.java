@@ -0,0 +1,34 @@
+package com.hotel.reservation.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservation domain event relayed from the outbox. Delivery is at least once: listeners must
+ * tolerate duplicates, using {@link #outboxId} (increasing per reservation) to discard them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationEvent {
+
+    public enum Type { CREATED, UPDATED, CANCELLED, DELETED }
+
+    private Long outboxId;
+    private Type type;
+    private Long reservationId;
+    /**
+     * State after the change; null for {@link Type#DELETED}.
+     */
+    private ReservationSnapshot reservation;
+    /**
+     * State before the change; null for {@link Type#CREATED}.
+     */
+    private ReservationSnapshot previous;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,43 @@
+package com.hotel.reservation.outbox;
+
+import com.hotel.reservation.model.Reservation;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * State of a reservation carried by a {@link ReservationEvent}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSnapshot {
+
+    private Long id;
+    private Long clientId;
+    private Long roomId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer numberOfGuests;
+    private BigDecimal totalPrice;
+    private ReservationStatus status;
+
+    public static ReservationSnapshot of(Reservation reservation) {
+        return ReservationSnapshot.builder()
+                .id(reservation.getId())
+                .clientId(reservation.getClient().getId())
+                .roomId(reservation.getRoom().getId())
+                .checkInDate(reservation.getCheckInDate())
+                .checkOutDate(reservation.getCheckOutDate())
+                .numberOfGuests(reservation.getNumberOfGuests())
+                .totalPrice(reservation.getTotalPrice())
+                .status(reservation.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hotel.reservation.report;
+
+import com.hotel.reservation.dto.OccupancyReport;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room.RoomType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revenue-management reports evaluated in memory over the {@link ReservationColumnStore}
+ * snapshot, split across cores with fork/join.
+ */
+@Service
+@Slf4j
+public class OccupancyReportService {
+
+    static final int MAX_WINDOW_DAYS = 10 * 366;
+
+    private final ReservationColumnStore store;
+    private final Timer computeTimer;
+
+    public OccupancyReportService(ReservationColumnStore store, MeterRegistry registry) {
+        this.store = store;
+        this.computeTimer = Timer.builder("reservation.report.compute")
+                .description("Time to evaluate an occupancy report over the in-memory snapshot")
+                .register(registry);
+    }
+
+    public OccupancyReport occupancy(LocalDate from, LocalDate to, boolean includePending) {
+        long days = ChronoUnit.DAYS.between(from, to);
+        if (days <= 0) {
+            throw new IllegalArgumentException("Report end date must be after its start date");
+        }
+        if (days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Report window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+        int nights = (int) days;
+        int types = RoomType.values().length;
+        boolean[] counted = new boolean[ReservationStatus.values().length];
+        counted[ReservationStatus.CONFIRMED.ordinal()] = true;
+        counted[ReservationStatus.COMPLETED.ordinal()] = true;
+        counted[ReservationStatus.PENDING.ordinal()] = includePending;
+
+        long start = System.nanoTime();
+        Result result = store.read(columns -> new Result(
+                ForkJoinPool.commonPool().invoke(new OccupancyTask(columns, (int) from.toEpochDay(),
+                        (int) to.toEpochDay(), counted, types, 0, columns.size)),
+                columns.roomsPerType()));
+        long elapsed = System.nanoTime() - start;
+        computeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Occupancy report over {} nights computed in {} µs", nights, elapsed / 1_000);
+
+        List<OccupancyReport.RoomTypeOccupancy> rows = new ArrayList<>(types);
+        for (RoomType type : RoomType.values()) {
+            int t = type.ordinal();
+            int[] soldByNight = new int[nights];
+            long sold = 0;
+            for (int night = 0; night < nights; night++) {
+                soldByNight[night] = (int) result.totals[t * nights + night];
+                sold += soldByNight[night];
+            }
+            int rooms = result.roomsPerType[t];
+            long available = (long) rooms * nights;
+            BigDecimal revenue = BigDecimal.valueOf(result.totals[types * nights + t], 2);
+            rows.add(OccupancyReport.RoomTypeOccupancy.builder()
+                    .roomType(type)
+                    .rooms(rooms)
+                    .availableRoomNights(available)
+                    .soldRoomNights(sold)
+                    .occupancy(available == 0 ? 0 : (double) sold / available)
+                    .roomRevenue(revenue)
+                    .adr(sold == 0 ? BigDecimal.ZERO : revenue.divide(BigDecimal.valueOf(sold), 2, RoundingMode.HALF_UP))
+                    .revpar(available == 0 ? BigDecimal.ZERO
+                            : revenue.divide(BigDecimal.valueOf(available), 2, RoundingMode.HALF_UP))
+                    .soldByNight(soldByNight)
+                    .build());
+        }
+
+        return OccupancyReport.builder()
+                .from(from)
+                .to(to)
+                .includePending(includePending)
+                .roomTypes(rows)
+                .build();
+    }
+
+    private record Result(long[] totals, int[] roomsPerType) {
+    }
+}
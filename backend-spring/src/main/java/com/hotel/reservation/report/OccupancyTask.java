@@ -0,0 +1,90 @@
+package com.hotel.reservation.report;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join scan of a row range of the snapshot. Returns, per room type, the rooms sold on each
+ * night of the window followed by the room revenue earned in the window, in cents:
+ * {@code [type0 night0..nightN-1, type1 night0.., ..., revenue type0, revenue type1, ...]}.
+ *
+ * <p>A stay's price is spread evenly over its nights (any remainder on the first night), so
+ * revenue is attributed to the nights actually inside the window.
+ */
+final class OccupancyTask extends RecursiveTask<long[]> {
+
+    private static final int LEAF_ROWS = 32_768;
+
+    private final ReservationColumns columns;
+    private final int from;
+    private final int to;
+    private final boolean[] countedStatuses;
+    private final int types;
+    private final int lo;
+    private final int hi;
+
+    OccupancyTask(ReservationColumns columns, int fromDay, int toDay, boolean[] countedStatuses, int types,
+                  int lo, int hi) {
+        this.columns = columns;
+        this.from = fromDay;
+        this.to = toDay;
+        this.countedStatuses = countedStatuses;
+        this.types = types;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    @Override
+    protected long[] compute() {
+        if (hi - lo <= LEAF_ROWS) {
+            return scan();
+        }
+        int mid = (lo + hi) >>> 1;
+        OccupancyTask left = new OccupancyTask(columns, from, to, countedStatuses, types, lo, mid);
+        left.fork();
+        long[] right = new OccupancyTask(columns, from, to, countedStatuses, types, mid, hi).compute();
+        long[] result = left.join();
+        for (int i = 0; i < result.length; i++) {
+            result[i] += right[i];
+        }
+        return result;
+    }
+
+    private long[] scan() {
+        int nights = to - from;
+        long[] result = new long[types * nights + types];
+        int revenueOffset = types * nights;
+
+        int[] checkIns = columns.checkInDays;
+        int[] checkOuts = columns.checkOutDays;
+        byte[] statuses = columns.statuses;
+        int[] roomSlots = columns.roomSlots;
+        byte[] roomTypes = columns.roomTypes;
+        long[] cents = columns.totalCents;
+
+        for (int i = lo; i < hi; i++) {
+            if (!countedStatuses[statuses[i]]) {
+                continue;
+            }
+            int checkIn = checkIns[i];
+            int checkOut = checkOuts[i];
+            int first = Math.max(checkIn, from);
+            int last = Math.min(checkOut, to);
+            if (first >= last) {
+                continue;
+            }
+            int type = roomTypes[roomSlots[i]];
+            int base = type * nights - from;
+            for (int day = first; day < last; day++) {
+                result[base + day]++;
+            }
+            int stayNights = checkOut - checkIn;
+            long perNight = cents[i] / stayNights;
+            long revenue = perNight * (last - first);
+            if (checkIn >= from) {
+                revenue += cents[i] % stayNights;
+            }
+            result[revenueOffset + type] += revenue;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,251 @@
+package com.hotel.reservation.report;
+
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room.RoomType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Owns the {@link ReservationColumns} snapshot used by the report engine. The snapshot is loaded
+ * in full at startup (streamed from a cursor) and after an invalidation resync; in between, each
+ * reservation change notice updates its row in place, so the cost of keeping it current is
+ * proportional to the changes, not the table.
+ *
+ * <p>Reports read under a shared lock; updates take the exclusive lock for a few microseconds,
+ * any room data they need being queried before. Resync rebuilds run on a thread of their own so
+ * that the invalidation bus keeps dispatching notices, which the rebuild replays.
+ */
+@Component
+@Slf4j
+public class ReservationColumnStore implements InvalidationSubscriber {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-snapshot-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Set while a resync rebuild is queued but not started; further resyncs are folded into it.
+     */
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private ReservationColumns columns;
+    /**
+     * Notices received while a rebuild is loading, replayed onto the new snapshot before it is
+     * published; null when no rebuild is running.
+     */
+    private List<ChangeNotice> pendingReplay;
+
+    public ReservationColumnStore(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rooms and reservations are read from the same database snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Report snapshot not loaded at startup, loading on first report: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs {@code reader} against the current snapshot, loading it first if needed.
+     */
+    public <T> T read(Function<ReservationColumns, T> reader) {
+        lock.readLock().lock();
+        try {
+            if (columns != null) {
+                return reader.apply(columns);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        loadIfAbsent();
+        return read(reader);
+    }
+
+    private synchronized void loadIfAbsent() {
+        if (columns == null) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ReservationColumns rebuilt = new ReservationColumns();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                loadRooms().forEach(rebuilt::putRoom);
+                cursorTemplate.query(
+                        "SELECT id, room_id, check_in_date, check_out_date, total_price, status FROM reservations",
+                        rs -> {
+                            rebuilt.upsert(rs.getLong("id"), rs.getLong("room_id"),
+                                    (int) rs.getDate("check_in_date").toLocalDate().toEpochDay(),
+                                    (int) rs.getDate("check_out_date").toLocalDate().toEpochDay(),
+                                    toCents(rs.getBigDecimal("total_price")),
+                                    ReservationStatus.valueOf(rs.getString("status")));
+                        });
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (ChangeNotice notice : pendingReplay) {
+                apply(rebuilt, notice);
+            }
+            pendingReplay = null;
+            columns = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Report snapshot loaded: {} reservations over {} rooms in {} ms", rebuilt.size, rebuilt.roomCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        Map<Long, RoomType> rooms = roomsNeeded(notices) ? loadRooms() : Map.of();
+        lock.writeLock().lock();
+        try {
+            if (pendingReplay != null) {
+                notices.stream()
+                        .filter(notice -> notice.getTable() == ChangeNotice.Table.RESERVATIONS)
+                        .forEach(pendingReplay::add);
+            }
+            if (columns == null) {
+                return;
+            }
+            rooms.forEach(columns::putRoom);
+            for (ChangeNotice notice : notices) {
+                if (notice.getTable() == ChangeNotice.Table.RESERVATIONS) {
+                    apply(columns, notice);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@code notices} change a room or reference one missing from the snapshot, in which
+     * case room data is reloaded before taking the write lock.
+     */
+    private boolean roomsNeeded(Collection<ChangeNotice> notices) {
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return false;
+            }
+            for (ChangeNotice notice : notices) {
+                if (notice.getTable() == ChangeNotice.Table.ROOMS) {
+                    return true;
+                }
+                // Only reservation notices carry a room; the others leave it null
+                if (notice.getTable() == ChangeNotice.Table.RESERVATIONS
+                        && notice.getOperation() != ChangeNotice.Operation.DELETE && !columns.hasRoom(notice.getRoomId())) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onResync() {
+        boolean loaded;
+        lock.readLock().lock();
+        try {
+            loaded = columns != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (loaded && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (DataAccessException e) {
+                    log.warn("Report snapshot rebuild after resync failed, keeping the previous one: {}",
+                            e.getMessage());
+                }
+            });
+        }
+    }
+
+    private void apply(ReservationColumns target, ChangeNotice notice) {
+        if (notice.getOperation() == ChangeNotice.Operation.DELETE) {
+            target.remove(notice.getId());
+            return;
+        }
+        if (!target.hasRoom(notice.getRoomId())) {
+            return;
+        }
+        target.upsert(notice.getId(), notice.getRoomId(),
+                (int) notice.getCheckInDate().toEpochDay(), (int) notice.getCheckOutDate().toEpochDay(),
+                toCents(notice.getTotalPrice()), ReservationStatus.valueOf(notice.getStatus()));
+    }
+
+    private Map<Long, RoomType> loadRooms() {
+        Map<Long, RoomType> rooms = new HashMap<>();
+        cursorTemplate.query("SELECT id, room_type FROM rooms",
+                rs -> {
+                    rooms.put(rs.getLong("id"), RoomType.valueOf(rs.getString("room_type")));
+                });
+        return rooms;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).longValue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotel.reservation.report;
+
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room.RoomType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Columnar snapshot of reservations: one primitive array per attribute, rows packed densely so a
+ * report scan touches nothing but contiguous ints, longs and bytes. Dates are epoch days, prices
+ * cents, statuses and room types ordinals. Not thread-safe; see {@link ReservationColumnStore}.
+ */
+final class ReservationColumns {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    int size;
+    long[] ids = new long[INITIAL_CAPACITY];
+    int[] roomSlots = new int[INITIAL_CAPACITY];
+    int[] checkInDays = new int[INITIAL_CAPACITY];
+    int[] checkOutDays = new int[INITIAL_CAPACITY];
+    long[] totalCents = new long[INITIAL_CAPACITY];
+    byte[] statuses = new byte[INITIAL_CAPACITY];
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    int roomCount;
+    byte[] roomTypes = new byte[64];
+    private final Map<Long, Integer> roomSlotById = new HashMap<>();
+
+    void putRoom(long roomId, RoomType type) {
+        Integer slot = roomSlotById.get(roomId);
+        if (slot == null) {
+            slot = roomCount++;
+            if (slot == roomTypes.length) {
+                roomTypes = Arrays.copyOf(roomTypes, slot * 2);
+            }
+            roomSlotById.put(roomId, slot);
+        }
+        roomTypes[slot] = (byte) type.ordinal();
+    }
+
+    boolean hasRoom(long roomId) {
+        return roomSlotById.containsKey(roomId);
+    }
+
+    int[] roomsPerType() {
+        int[] counts = new int[RoomType.values().length];
+        for (int i = 0; i < roomCount; i++) {
+            counts[roomTypes[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Inserts or overwrites a reservation; the room must be known.
+     */
+    void upsert(long id, long roomId, int checkInDay, int checkOutDay, long cents, ReservationStatus status) {
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            slot = size++;
+            if (slot == ids.length) {
+                grow();
+            }
+            slotById.put(id, slot);
+            ids[slot] = id;
+        }
+        roomSlots[slot] = roomSlotById.get(roomId);
+        checkInDays[slot] = checkInDay;
+        checkOutDays[slot] = checkOutDay;
+        totalCents[slot] = cents;
+        statuses[slot] = (byte) status.ordinal();
+    }
+
+    void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        // Keep rows dense: move the last row into the freed slot
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            roomSlots[slot] = roomSlots[last];
+            checkInDays[slot] = checkInDays[last];
+            checkOutDays[slot] = checkOutDays[last];
+            totalCents[slot] = totalCents[last];
+            statuses[slot] = statuses[last];
+            slotById.put(ids[slot], slot);
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        roomSlots = Arrays.copyOf(roomSlots, capacity);
+        checkInDays = Arrays.copyOf(checkInDays, capacity);
+        checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+        totalCents = Arrays.copyOf(totalCents, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+}
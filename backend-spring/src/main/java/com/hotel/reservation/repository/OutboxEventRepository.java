@@ -0,0 +1,38 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Takes the relay lock for the current transaction; only one relay in the cluster delivers at
+     * a time, which keeps delivery in outbox id order.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('outbox_relay'))", nativeQuery = true)
+    boolean tryLockRelay();
+
+    /**
+     * Locks the next pending events in id order, skipping every event of an aggregate whose
+     * earliest pending event is still backing off, so that a failing event delays only its own
+     * aggregate and later events never overtake it.
+     */
+    @Query(value = "SELECT * FROM outbox o WHERE o.status = 'PENDING' AND NOT EXISTS (" +
+                   "SELECT 1 FROM outbox b WHERE b.status = 'PENDING' AND b.next_attempt_at > :now " +
+                   "AND b.aggregate_id = o.aggregate_id AND b.aggregate_type = o.aggregate_type AND b.id <= o.id) " +
+                   "ORDER BY o.id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox WHERE id IN (SELECT id FROM outbox WHERE status = 'DELIVERED' " +
+                   "AND delivered_at < :before LIMIT :limit)", nativeQuery = true)
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,32 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.QueuedReservationRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QueuedReservationRequestRepository extends JpaRepository<QueuedReservationRequest, Long> {
+
+    Optional<QueuedReservationRequest> findByHandle(UUID handle);
+
+    /**
+     * Locks the oldest queued requests for the current transaction. Rows locked by another
+     * writer are skipped, so concurrent writers (on this node or others) drain disjoint batches.
+     */
+    @Query(value = "SELECT * FROM reservation_requests WHERE status = 'QUEUED' " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<QueuedReservationRequest> lockNextBatch(@Param("batchSize") int batchSize);
+
+    /**
+     * Locks the request if it is still queued, waiting for a writer that holds it.
+     */
+    @Query(value = "SELECT * FROM reservation_requests WHERE id = :id AND status = 'QUEUED' FOR UPDATE",
+           nativeQuery = true)
+    Optional<QueuedReservationRequest> lockQueuedById(@Param("id") Long id);
+}
@@ -2,37 +2,99 @@ package com.hotel.reservation.repository;
 
 import com.hotel.reservation.model.Reservation;
 import com.hotel.reservation.model.Reservation.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
     List<Reservation> findByClientId(Long clientId);
 
+    boolean existsByClientId(Long clientId);
+
     List<Reservation> findByRoomId(Long roomId);
 
     List<Reservation> findByStatus(ReservationStatus status);
 
-    @Query("SELECT r FROM Reservation r WHERE r.checkInDate >= :startDate AND r.checkOutDate <= :endDate")
+    /**
+     * Loads the reservation locked until commit. Writes of a reservation take this lock before
+     * reading it, so concurrent writes apply one after the other and append their outbox events
+     * in commit order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> lockById(@Param("id") Long id);
+
+    /**
+     * Locks the reservations among {@code ids}, in id order so that overlapping batches cannot
+     * deadlock; returns the ids found.
+     */
+    @Query(value = "SELECT id FROM reservations WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.room.id FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findRoomIdById(@Param("id") Long id);
+
+    /**
+     * Loads reservations with their client and room in one statement. Padded IN lists
+     * ({@code hibernate.query.in_clause_parameter_padding}) keep the number of distinct
+     * statements small across batch sizes.
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.client JOIN FETCH r.room WHERE r.id IN :ids")
+    List<Reservation> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Page of reservations with IDs above {@code afterId}, in ID order, optionally restricted to
+     * one status. Seeks past the previous page through the primary key instead of skipping an
+     * offset, so every page costs the same.
+     */
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.client JOIN FETCH r.room WHERE r.id > :afterId " +
+           "AND (:status IS NULL OR r.status = :status) ORDER BY r.id")
+    List<Reservation> findPageWithDetails(
+            @Param("afterId") long afterId,
+            @Param("status") ReservationStatus status,
+            Pageable pageable
+    );
+
+    // The redundant upper bound on checkInDate lets PostgreSQL prune partitions
+    @Query("SELECT r FROM Reservation r WHERE r.checkInDate >= :startDate AND r.checkInDate < :endDate " +
+           "AND r.checkOutDate <= :endDate")
     List<Reservation> findReservationsBetweenDates(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
 
+    /**
+     * Reservations of the room overlapping [checkIn, checkOut] (bounds inclusive). Check-in dates are
+     * bounded on both sides, {@code earliestCheckIn} being checkIn minus the maximum stay, so only the
+     * partitions that can hold an overlapping stay are scanned.
+     */
     @Query("SELECT r FROM Reservation r WHERE r.room.id = :roomId " +
            "AND r.status != 'CANCELLED' " +
-           "AND ((r.checkInDate BETWEEN :checkIn AND :checkOut) " +
-           "OR (r.checkOutDate BETWEEN :checkIn AND :checkOut) " +
-           "OR (:checkIn BETWEEN r.checkInDate AND r.checkOutDate))")
+           "AND r.checkInDate >= :earliestCheckIn AND r.checkInDate <= :checkOut " +
+           "AND r.checkOutDate >= :checkIn")
     List<Reservation> findConflictingReservations(
             @Param("roomId") Long roomId,
             @Param("checkIn") LocalDate checkIn,
-            @Param("checkOut") LocalDate checkOut
+            @Param("checkOut") LocalDate checkOut,
+            @Param("earliestCheckIn") LocalDate earliestCheckIn
     );
+
+    /**
+     * Locks the reservations among {@code ids} still in {@code status}; rows locked by a concurrent
+     * write are skipped, their transition being retried on a later pass.
+     */
+    @Query(value = "SELECT * FROM reservations WHERE id IN (:ids) AND status = :status FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Reservation> lockByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
 }
@@ -3,8 +3,12 @@ package com.hotel.reservation.repository;
 import com.hotel.reservation.model.Room;
 import com.hotel.reservation.model.Room.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,24 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findByIsAvailableTrue();
     
     List<Room> findByRoomTypeAndIsAvailableTrue(RoomType roomType);
+
+    /**
+     * Locks the rooms until commit, so that bookings of the same room (from this backend or the
+     * gRPC one) wait for each other instead of racing the conflict check, and moves their booking
+     * version. Rooms are locked in id order so that batches sharing rooms cannot deadlock;
+     * {@code NO KEY UPDATE} leaves the foreign-key checks of unrelated inserts unblocked. Returns
+     * the number of rooms found.
+     */
+    @Modifying
+    @Query(value = "WITH locked AS (SELECT id FROM rooms WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE) " +
+                   "UPDATE rooms r SET booking_version = r.booking_version + 1 FROM locked WHERE r.id = locked.id",
+           nativeQuery = true)
+    int lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The room's booking version, share-locked until commit: the owner node's bookings of the room
+     * do not wait for each other here, but those locking it with {@link #lockAllById} wait for them.
+     */
+    @Query(value = "SELECT booking_version FROM rooms WHERE id = :id FOR SHARE", nativeQuery = true)
+    Optional<Long> lockSharedById(@Param("id") Long id);
 }
@@ -0,0 +1,30 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatus(WaitlistEntry.WaitlistStatus status);
+
+    /**
+     * Locks an entry that is still waiting, so a cancellation by the guest cannot race a match.
+     */
+    @Query(value = "SELECT * FROM waitlist_entries WHERE id = :id AND status = 'WAITING' FOR UPDATE",
+           nativeQuery = true)
+    Optional<WaitlistEntry> lockWaiting(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE waitlist_entries SET status = 'EXPIRED' " +
+                   "WHERE status = 'WAITING' AND check_in_date <= :today", nativeQuery = true)
+    int expireStarted(@Param("today") LocalDate today);
+}
@@ -0,0 +1,267 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.dto.ReservationBatchResult;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationRequestStatusResponse;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.metrics.ReservationMetrics;
+import com.hotel.reservation.model.QueuedReservationRequest;
+import com.hotel.reservation.model.QueuedReservationRequest.QueueStatus;
+import com.hotel.reservation.repository.QueuedReservationRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accept-and-queue reservation creation. Requests are validated, persisted to the durable
+ * {@code reservation_requests} table and acknowledged with a handle; writer workers drain the
+ * queue in batches through {@link ReservationService#createReservations(List)}.
+ *
+ * <p>A batch is locked with {@code FOR UPDATE SKIP LOCKED} and its outcomes are written in the same
+ * transaction as the reservations, so a crashed writer leaves its batch queued rather than
+ * half-applied.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncReservationService implements SmartLifecycle {
+
+    private final QueuedReservationRequestRepository queueRepository;
+    private final ReservationService reservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationProperties properties;
+    private final ReservationMetrics metrics;
+
+    private final Object workSignal = new Object();
+    private boolean workAvailable;
+    private volatile boolean running;
+    private ExecutorService writers;
+
+    @Transactional
+    public ReservationRequestStatusResponse enqueue(ReservationRequest request) {
+        reservationService.validateDates(request);
+
+        QueuedReservationRequest queued = queueRepository.save(QueuedReservationRequest.builder()
+                .handle(UUID.randomUUID())
+                .clientId(request.getClientId())
+                .roomId(request.getRoomId())
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .numberOfGuests(request.getNumberOfGuests())
+                .specialRequests(request.getSpecialRequests())
+                .requestedStatus(request.getStatus())
+                .status(QueueStatus.QUEUED)
+                .build());
+        log.info("Reservation request queued with handle: {}", queued.getHandle());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signalWork();
+            }
+        });
+        return mapToStatus(queued);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationRequestStatusResponse getStatus(UUID handle) {
+        return queueRepository.findByHandle(handle)
+                .map(this::mapToStatus)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation request not found with handle: " + handle));
+    }
+
+    @Override
+    public void start() {
+        int workers = properties.getAsync().getWorkers();
+        if (workers <= 0) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "reservation-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            writers.submit(this::runWriter);
+        }
+        log.info("Started {} asynchronous reservation writer(s)", workers);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writers == null) {
+            return;
+        }
+        signalWork();
+        writers.shutdownNow();
+        try {
+            writers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getAsync().getBatchSize();
+        while (running) {
+            int processed;
+            try {
+                processed = drainBatch(batchSize, new ArrayList<>());
+            } catch (RuntimeException e) {
+                log.warn("Reservation batch failed, isolating requests one by one: {}", e.getMessage());
+                processed = drainIndividually(batchSize);
+            }
+            if (processed < batchSize && !awaitWork()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Books the next batch in one transaction; the ids of the requests claimed are added to
+     * {@code claimed}, which tells what was being processed should the transaction fail.
+     */
+    private int drainBatch(int batchSize, List<Long> claimed) {
+        Integer processed = transactionTemplate.execute(status -> {
+            ReservationMetrics.OperationTimer timer = metrics.operation("async_drain");
+            List<QueuedReservationRequest> batch = queueRepository.lockNextBatch(batchSize);
+            batch.forEach(queued -> claimed.add(queued.getId()));
+            timer.stage("claim");
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<ReservationBatchResult> results = reservationService.createReservations(
+                    batch.stream().map(this::toRequest).toList());
+            timer.stage("process");
+
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < batch.size(); i++) {
+                QueuedReservationRequest queued = batch.get(i);
+                ReservationBatchResult result = results.get(i);
+                queued.setProcessedAt(now);
+                if (result.isSuccess()) {
+                    queued.setStatus(QueueStatus.COMPLETED);
+                    queued.setReservationId(result.getReservation().getId());
+                } else {
+                    queued.setStatus(QueueStatus.REJECTED);
+                    queued.setErrorCode(result.getErrorCode().name());
+                    queued.setErrorMessage(result.getErrorMessage());
+                }
+            }
+            queueRepository.saveAll(batch);
+            timer.stage("record");
+            return batch.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    /**
+     * Processes up to {@code limit} requests one transaction each, so a request that fails at the
+     * database level is rejected on its own instead of blocking the queue.
+     */
+    private int drainIndividually(int limit) {
+        int processed = 0;
+        for (int i = 0; i < limit && running; i++) {
+            List<Long> claimed = new ArrayList<>(1);
+            try {
+                if (drainBatch(1, claimed) == 0) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                if (claimed.isEmpty()) {
+                    // Failed before claiming anything: nothing to isolate, the queue is retried later
+                    log.warn("Reservation queue could not be read: {}", e.getMessage());
+                    break;
+                }
+                reject(claimed.get(0), e);
+            }
+            processed++;
+        }
+        return processed;
+    }
+
+    /**
+     * Rejects the request whose processing failed. Another writer may have claimed it since the
+     * failed transaction rolled back: the lock waits for that writer, and a request it completed
+     * or rejected is left as is.
+     */
+    private void reject(Long id, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status -> queueRepository.lockQueuedById(id).ifPresent(queued -> {
+            log.error("Rejecting reservation request {}: {}", queued.getHandle(), cause.getMessage());
+            queued.setStatus(QueueStatus.REJECTED);
+            queued.setErrorCode("INTERNAL");
+            queued.setErrorMessage(cause.getMessage());
+            queued.setProcessedAt(LocalDateTime.now());
+        }));
+    }
+
+    private void signalWork() {
+        synchronized (workSignal) {
+            workAvailable = true;
+            workSignal.notifyAll();
+        }
+    }
+
+    private boolean awaitWork() {
+        synchronized (workSignal) {
+            try {
+                if (!workAvailable) {
+                    workSignal.wait(properties.getAsync().getPollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            workAvailable = false;
+            return true;
+        }
+    }
+
+    private ReservationRequest toRequest(QueuedReservationRequest queued) {
+        return ReservationRequest.builder()
+                .clientId(queued.getClientId())
+                .roomId(queued.getRoomId())
+                .checkInDate(queued.getCheckInDate())
+                .checkOutDate(queued.getCheckOutDate())
+                .numberOfGuests(queued.getNumberOfGuests())
+                .specialRequests(queued.getSpecialRequests())
+                .status(queued.getRequestedStatus())
+                .build();
+    }
+
+    private ReservationRequestStatusResponse mapToStatus(QueuedReservationRequest queued) {
+        return ReservationRequestStatusResponse.builder()
+                .handle(queued.getHandle())
+                .status(queued.getStatus())
+                .reservationId(queued.getReservationId())
+                .errorCode(queued.getErrorCode())
+                .errorMessage(queued.getErrorMessage())
+                .createdAt(queued.getCreatedAt())
+                .processedAt(queued.getProcessedAt())
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.directory.ClientDirectory;
+import com.hotel.reservation.dto.ClientRequest;
+import com.hotel.reservation.dto.ClientResponse;
+import com.hotel.reservation.dto.ClientSummary;
+import com.hotel.reservation.exception.ResourceConflictException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.model.Client;
+import com.hotel.reservation.repository.ClientRepository;
+import com.hotel.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class ClientService {
+
+    static final int MAX_SEARCH_RESULTS = 50;
+
+    private final ClientRepository clientRepository;
+    private final ReservationRepository reservationRepository;
+    private final ClientDirectory directory;
+    private final Meter.MeterProvider<Counter> emailChecks;
+
+    public ClientService(ClientRepository clientRepository, ReservationRepository reservationRepository,
+                         ClientDirectory directory, MeterRegistry registry) {
+        this.clientRepository = clientRepository;
+        this.reservationRepository = reservationRepository;
+        this.directory = directory;
+        this.emailChecks = Counter.builder("client.email.checks")
+                .description("Duplicate-email checks, by whether the Bloom filter spared the database query")
+                .withRegistry(registry);
+    }
+
+    @Transactional
+    public ClientResponse createClient(ClientRequest request) {
+        log.info("Creating client with email: {}", request.getEmail());
+        ensureEmailAvailable(request.getEmail());
+
+        Client client = Client.builder()
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .address(request.getAddress())
+                .build();
+        Client savedClient = save(client);
+        log.info("Client created successfully with ID: {}", savedClient.getId());
+        return mapToResponse(savedClient);
+    }
+
+    @Transactional(readOnly = true)
+    public ClientResponse getClientById(Long id) {
+        log.info("Fetching client with ID: {}", id);
+        return clientRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClientResponse> getAllClients() {
+        log.info("Fetching all clients");
+        return clientRepository.findAll().stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public List<ClientSummary> searchClients(String query, int limit) {
+        return directory.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @Transactional
+    public ClientResponse updateClient(Long id, ClientRequest request) {
+        log.info("Updating client with ID: {}", id);
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + id));
+
+        if (!client.getEmail().equals(request.getEmail())) {
+            ensureEmailAvailable(request.getEmail());
+        }
+        client.setFirstName(request.getFirstName());
+        client.setLastName(request.getLastName());
+        client.setEmail(request.getEmail());
+        client.setPhone(request.getPhone());
+        client.setAddress(request.getAddress());
+
+        Client updatedClient = save(client);
+        log.info("Client updated successfully with ID: {}", id);
+        return mapToResponse(updatedClient);
+    }
+
+    @Transactional
+    public void deleteClient(Long id) {
+        log.info("Deleting client with ID: {}", id);
+        if (!clientRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Client not found with ID: " + id);
+        }
+        if (reservationRepository.existsByClientId(id)) {
+            throw new ResourceConflictException("Client has reservations and cannot be deleted");
+        }
+        clientRepository.deleteById(id);
+        afterCommit(() -> directory.remove(id));
+        log.info("Client deleted successfully with ID: {}", id);
+    }
+
+    private void ensureEmailAvailable(String email) {
+        if (!directory.mightContainEmail(email)) {
+            emailChecks.withTags("result", "filtered").increment();
+            return;
+        }
+        boolean exists = clientRepository.existsByEmail(email);
+        emailChecks.withTags("result", exists ? "duplicate" : "false_positive").increment();
+        if (exists) {
+            throw new ResourceConflictException("A client already exists with email: " + email);
+        }
+    }
+
+    private Client save(Client client) {
+        Client saved;
+        try {
+            // Flush now so a concurrent sign-up with the same email fails here, not at commit
+            saved = clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceConflictException("A client already exists with email: " + client.getEmail());
+        }
+        ClientSummary summary = ClientDirectory.toSummary(saved);
+        afterCommit(() -> directory.upsert(summary));
+        return saved;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ClientResponse mapToResponse(Client client) {
+        return ClientResponse.builder()
+                .id(client.getId())
+                .firstName(client.getFirstName())
+                .lastName(client.getLastName())
+                .email(client.getEmail())
+                .phone(client.getPhone())
+                .address(client.getAddress())
+                .createdAt(client.getCreatedAt())
+                .updatedAt(client.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package com.hotel.reservation.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.metrics.ReservationMetrics;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full reservation export streamed from a forward-only cursor. Rows are fetched
+ * {@value #FETCH_SIZE} at a time and written straight to the response, so memory use does not
+ * depend on the table size. A client disconnect fails the next write, which aborts the query and
+ * releases the cursor.
+ *
+ * <p>By default only reservations still attached to the {@code reservations} table are exported.
+ * Partitions detached by the partition maintenance live on in the {@code reservations_archive}
+ * schema; an export asked to include them reads the archived months overlapping its date range
+ * through a {@code UNION ALL}.
+ */
+@Service
+@Slf4j
+public class ReservationExportService {
+
+    public enum ExportFormat { NDJSON, CSV }
+
+    static final int FETCH_SIZE = 1_000;
+
+    private static final String[] COLUMNS = {
+            "id", "client_id", "client_first_name", "client_last_name", "client_email",
+            "room_id", "room_number", "room_type", "check_in_date", "check_out_date",
+            "number_of_guests", "total_price", "status", "special_requests", "created_at", "updated_at"
+    };
+
+    // Listed rather than *: an archived partition keeps the columns it had when it was detached
+    private static final String RESERVATION_COLUMNS = "id, client_id, room_id, check_in_date, check_out_date, " +
+            "number_of_guests, total_price, status, special_requests, created_at, updated_at";
+
+    private static final String ARCHIVED_PARTITIONS =
+            "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = 'reservations_archive' AND c.relkind = 'r' " +
+            "AND c.relname ~ '^reservations_y[0-9]{4}m[0-9]{2}$' ORDER BY c.relname";
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ReservationMetrics metrics;
+
+    public ReservationExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper, ReservationMetrics metrics) {
+        // PostgreSQL only uses a cursor when a fetch size is set and autocommit is off (in a transaction)
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns a body writing the reservations whose check-in date is in [from, to) (either bound
+     * optional) and whose status is in {@code statuses} (all when empty), ordered by check-in date.
+     * With {@code includeArchived}, reservations of archived partitions are exported as well.
+     */
+    public StreamingResponseBody export(ExportFormat format, LocalDate from, LocalDate to,
+                                        Set<ReservationStatus> statuses, boolean includeArchived, boolean gzip) {
+        StringBuilder filter = new StringBuilder(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            filter.append(" AND r.check_in_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            filter.append(" AND r.check_in_date < ?");
+            args.add(to);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            filter.append(" AND r.status IN (").append(String.join(", ", statuses.stream().map(s -> "?").toList())).append(")");
+            statuses.forEach(status -> args.add(status.name()));
+        }
+        filter.append(" ORDER BY r.check_in_date, r.id");
+
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            long start = System.nanoTime();
+            long[] rows = {0};
+            try {
+                rowWriter.begin();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    String source = includeArchived ? withArchive(from, to) : "reservations";
+                    cursorTemplate.query(select(source) + filter, rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }, args.toArray());
+                });
+                rowWriter.end();
+                writer.flush();
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+            } catch (UncheckedIOException e) {
+                log.info("Reservation export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+            metrics.rowsReturned("export", (int) Math.min(rows[0], Integer.MAX_VALUE));
+            log.info("Reservation export of {} rows ({}) completed in {} ms", rows[0], format,
+                    (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    private static String select(String source) {
+        return "SELECT r.id, r.client_id, c.first_name AS client_first_name, c.last_name AS client_last_name, " +
+                "c.email AS client_email, r.room_id, ro.room_number, ro.room_type, r.check_in_date, " +
+                "r.check_out_date, r.number_of_guests, r.total_price, r.status, r.special_requests, " +
+                "r.created_at, r.updated_at " +
+                "FROM " + source + " r JOIN clients c ON c.id = r.client_id JOIN rooms ro ON ro.id = r.room_id";
+    }
+
+    /**
+     * The live table followed by the archived partitions whose month overlaps [from, to). Partitions
+     * are named after their month (see {@code create_reservation_partitions}), which skips the others
+     * without scanning them.
+     */
+    private String withArchive(LocalDate from, LocalDate to) {
+        StringBuilder union = new StringBuilder("(SELECT ").append(RESERVATION_COLUMNS).append(" FROM reservations");
+        for (String partition : cursorTemplate.queryForList(ARCHIVED_PARTITIONS, String.class)) {
+            LocalDate month = LocalDate.of(Integer.parseInt(partition.substring(14, 18)),
+                    Integer.parseInt(partition.substring(19, 21)), 1);
+            if ((from == null || month.plusMonths(1).isAfter(from)) && (to == null || month.isBefore(to))) {
+                union.append(" UNION ALL SELECT ").append(RESERVATION_COLUMNS)
+                        .append(" FROM reservations_archive.").append(partition);
+            }
+        }
+        return union.append(")").toString();
+    }
+
+    private interface RowWriter {
+        default void begin() throws IOException {
+        }
+
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        default void end() throws IOException {
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("clientId", rs.getLong("client_id"));
+            generator.writeStringField("clientFirstName", rs.getString("client_first_name"));
+            generator.writeStringField("clientLastName", rs.getString("client_last_name"));
+            generator.writeStringField("clientEmail", rs.getString("client_email"));
+            generator.writeNumberField("roomId", rs.getLong("room_id"));
+            generator.writeStringField("roomNumber", rs.getString("room_number"));
+            generator.writeStringField("roomType", rs.getString("room_type"));
+            generator.writeStringField("checkInDate", rs.getString("check_in_date"));
+            generator.writeStringField("checkOutDate", rs.getString("check_out_date"));
+            generator.writeNumberField("numberOfGuests", rs.getInt("number_of_guests"));
+            generator.writeNumberField("totalPrice", rs.getBigDecimal("total_price"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("specialRequests", rs.getString("special_requests"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = COLUMNS[i].endsWith("_at") ? timestamp(rs, COLUMNS[i]) : rs.getString(COLUMNS[i]);
+                writeField(value);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.toString() : null;
+    }
+}
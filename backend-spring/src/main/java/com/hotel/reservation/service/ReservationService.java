@@ -1,23 +1,42 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.cache.ResponseCache;
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.dto.ReservationBatchResult;
+import com.hotel.reservation.dto.ReservationPage;
 import com.hotel.reservation.dto.ReservationRequest;
 import com.hotel.reservation.dto.ReservationResponse;
 import com.hotel.reservation.exception.ResourceNotFoundException;
 import com.hotel.reservation.exception.ReservationConflictException;
+import com.hotel.reservation.metrics.ReservationMetrics;
 import com.hotel.reservation.model.Client;
 import com.hotel.reservation.model.Reservation;
 import com.hotel.reservation.model.Room;
+import com.hotel.reservation.outbox.OutboxWriter;
+import com.hotel.reservation.outbox.ReservationSnapshot;
 import com.hotel.reservation.repository.ClientRepository;
 import com.hotel.reservation.repository.ReservationRepository;
 import com.hotel.reservation.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,104 +47,201 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final ClientRepository clientRepository;
     private final RoomRepository roomRepository;
+    private final ReservationMetrics metrics;
+    private final ReservationProperties properties;
+    private final OutboxWriter outbox;
+    private final ResponseCache responseCache;
+
+    /**
+     * Availability of a room decided by the node owning it, in place of the room row lock and the
+     * conflict query. Runs inside the booking transaction, before the reservation is written.
+     */
+    @FunctionalInterface
+    public interface AvailabilityCheck {
+        boolean isAvailable(ReservationRequest request, Long excludeReservationId);
+    }
 
     @Transactional
     public ReservationResponse createReservation(ReservationRequest request) {
-        log.info("Creating reservation for client ID: {}, room ID: {}", request.getClientId(), request.getRoomId());
-
-        // Validate dates
-        if (request.getCheckOutDate().isBefore(request.getCheckInDate()) ||
-            request.getCheckOutDate().isEqual(request.getCheckInDate())) {
-            throw new IllegalArgumentException("Check-out date must be after check-in date");
-        }
-
-        // Fetch client
-        Client client = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + request.getClientId()));
+        return create(request, null);
+    }
 
-        // Fetch room
-        Room room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + request.getRoomId()));
+    /**
+     * Creates the reservation with availability decided by {@code ownerCheck}: neither the room row
+     * lock nor the conflict query run. Only for the room's owner node, which fences the writers
+     * going around it.
+     */
+    @Transactional
+    public ReservationResponse createReservation(ReservationRequest request, AvailabilityCheck ownerCheck) {
+        return create(request, ownerCheck);
+    }
 
-        // Check for conflicting reservations
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                request.getRoomId(),
-                request.getCheckInDate(),
-                request.getCheckOutDate()
-        );
+    private ReservationResponse create(ReservationRequest request, AvailabilityCheck ownerCheck) {
+        log.info("Creating reservation for client ID: {}, room ID: {}", request.getClientId(), request.getRoomId());
+        ReservationMetrics.OperationTimer timer = metrics.operation("create");
 
-        if (!conflicts.isEmpty()) {
-            throw new ReservationConflictException("Room is not available for the selected dates");
+        if (ownerCheck == null) {
+            lockRooms(List.of(request.getRoomId()));
+            timer.stage("room_lock");
         }
+        Reservation savedReservation = insertReservation(request, "create", timer, ownerCheck);
+        log.info("Reservation created successfully with ID: {}", savedReservation.getId());
 
-        // Calculate total price
-        long nights = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
-        BigDecimal totalPrice = room.getPricePerNight().multiply(BigDecimal.valueOf(nights));
-
-        // Create reservation
-        Reservation reservation = Reservation.builder()
-                .client(client)
-                .room(room)
-                .checkInDate(request.getCheckInDate())
-                .checkOutDate(request.getCheckOutDate())
-                .numberOfGuests(request.getNumberOfGuests())
-                .totalPrice(totalPrice)
-                .status(request.getStatus() != null ? request.getStatus() : Reservation.ReservationStatus.PENDING)
-                .specialRequests(request.getSpecialRequests())
-                .build();
+        ReservationResponse response = mapToResponse(savedReservation);
+        timer.stage("mapping");
+        return response;
+    }
 
-        Reservation savedReservation = reservationRepository.save(reservation);
-        log.info("Reservation created successfully with ID: {}", savedReservation.getId());
+    /**
+     * Creates several reservations in a single transaction. Requests are processed in order, so a
+     * request conflicting with an earlier one of the same batch is rejected; a rejected request
+     * does not roll back the others.
+     */
+    @Transactional
+    public List<ReservationBatchResult> createReservations(List<ReservationRequest> requests) {
+        log.info("Creating batch of {} reservations", requests.size());
+        ReservationMetrics.OperationTimer timer = metrics.operation("batch_create");
+        List<ReservationBatchResult> results = new ArrayList<>(requests.size());
+
+        // Every room of the batch up front, in id order
+        lockRooms(requests.stream().map(ReservationRequest::getRoomId)
+                .filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new)));
+        timer.stage("room_lock");
+
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                Reservation savedReservation = insertReservation(requests.get(i), "batch_create", timer, null);
+                results.add(ReservationBatchResult.success(i, mapToResponse(savedReservation)));
+                timer.stage("mapping");
+            } catch (ReservationConflictException e) {
+                results.add(ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.CONFLICT, e.getMessage()));
+            } catch (ResourceNotFoundException e) {
+                results.add(ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.NOT_FOUND, e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                results.add(ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.INVALID, e.getMessage()));
+            }
+        }
 
-        return mapToResponse(savedReservation);
+        log.info("Batch created {} of {} reservations", results.stream().filter(ReservationBatchResult::isSuccess).count(),
+                requests.size());
+        return results;
     }
 
     @Transactional(readOnly = true)
     public ReservationResponse getReservationById(Long id) {
         log.info("Fetching reservation with ID: {}", id);
+        ReservationMetrics.OperationTimer timer = metrics.operation("get");
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
-        return mapToResponse(reservation);
+        timer.stage("lookup");
+        ReservationResponse response = mapToResponse(reservation);
+        timer.stage("mapping");
+        return response;
+    }
+
+    /**
+     * Looks up several reservations in one query. Results follow the order of {@code ids}, with a
+     * NOT_FOUND entry for each unknown id.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationBatchResult> getReservations(List<Long> ids) {
+        log.info("Fetching batch of {} reservations", ids.size());
+        ReservationMetrics.OperationTimer timer = metrics.operation("batch_get");
+        Map<Long, Reservation> found = reservationRepository.findAllWithDetailsByIdIn(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        timer.stage("query");
+
+        List<ReservationBatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Reservation reservation = found.get(ids.get(i));
+            results.add(reservation != null
+                    ? ReservationBatchResult.success(i, mapToResponse(reservation))
+                    : ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.NOT_FOUND,
+                            "Reservation not found with ID: " + ids.get(i)));
+        }
+        timer.stage("mapping");
+        metrics.rowsReturned("batch_get", found.size());
+        return results;
     }
 
     @Transactional(readOnly = true)
     public List<ReservationResponse> getAllReservations() {
         log.info("Fetching all reservations");
-        return reservationRepository.findAll().stream()
+        ReservationMetrics.OperationTimer timer = metrics.operation("list");
+        List<Reservation> reservations = reservationRepository.findAll();
+        timer.stage("query");
+        List<ReservationResponse> responses = reservations.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        timer.stage("mapping");
+        metrics.rowsReturned("list", responses.size());
+        return responses;
+    }
+
+    /**
+     * Keyset-paged listing in ID order: the page after {@code afterId}, optionally restricted to
+     * one status.
+     */
+    @Transactional(readOnly = true)
+    public ReservationPage listReservations(long afterId, int pageSize, Reservation.ReservationStatus status) {
+        log.info("Fetching page of {} reservations after ID {} (status: {})", pageSize, afterId, status);
+        ReservationMetrics.OperationTimer timer = metrics.operation("page");
+        // One row past the page tells whether another page follows
+        List<Reservation> reservations = reservationRepository.findPageWithDetails(afterId, status,
+                PageRequest.ofSize(pageSize + 1));
+        timer.stage("query");
+        boolean more = reservations.size() > pageSize;
+        List<ReservationResponse> responses = reservations.stream()
+                .limit(pageSize)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        timer.stage("mapping");
+        metrics.rowsReturned("page", responses.size());
+        return ReservationPage.builder()
+                .reservations(responses)
+                .lastId(more ? responses.get(responses.size() - 1).getId() : null)
+                .build();
     }
 
     @Transactional
     public ReservationResponse updateReservation(Long id, ReservationRequest request) {
+        return update(id, request, null);
+    }
+
+    /**
+     * Updates the reservation with availability decided by {@code ownerCheck}, like
+     * {@link #createReservation(ReservationRequest, AvailabilityCheck)}.
+     */
+    @Transactional
+    public ReservationResponse updateReservation(Long id, ReservationRequest request, AvailabilityCheck ownerCheck) {
+        return update(id, request, ownerCheck);
+    }
+
+    private ReservationResponse update(Long id, ReservationRequest request, AvailabilityCheck ownerCheck) {
         log.info("Updating reservation with ID: {}", id);
+        ReservationMetrics.OperationTimer timer = metrics.operation("update");
 
-        Reservation existingReservation = reservationRepository.findById(id)
+        Reservation existingReservation = reservationRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+        ReservationSnapshot previous = ReservationSnapshot.of(existingReservation);
+        timer.stage("lookup");
 
-        // Validate dates
-        if (request.getCheckOutDate().isBefore(request.getCheckInDate()) ||
-            request.getCheckOutDate().isEqual(request.getCheckInDate())) {
-            throw new IllegalArgumentException("Check-out date must be after check-in date");
-        }
+        validateDates(request);
+        timer.stage("validation");
 
         // If room or dates changed, check for conflicts
         if (!existingReservation.getRoom().getId().equals(request.getRoomId()) ||
             !existingReservation.getCheckInDate().equals(request.getCheckInDate()) ||
             !existingReservation.getCheckOutDate().equals(request.getCheckOutDate())) {
 
-            List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                    request.getRoomId(),
-                    request.getCheckInDate(),
-                    request.getCheckOutDate()
-            );
-
-            // Exclude current reservation from conflicts
-            conflicts = conflicts.stream()
-                    .filter(r -> !r.getId().equals(id))
-                    .collect(Collectors.toList());
+            if (ownerCheck == null) {
+                lockRooms(List.of(request.getRoomId()));
+            }
+            boolean available = ownerCheck != null ? ownerCheck.isAvailable(request, id) : isAvailable(request, id);
+            timer.stage("conflict_check");
 
-            if (!conflicts.isEmpty()) {
+            if (!available) {
+                metrics.conflictDetected("update");
                 throw new ReservationConflictException("Room is not available for the selected dates");
             }
         }
@@ -143,6 +259,7 @@ public class ReservationService {
                     .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + request.getRoomId()));
             existingReservation.setRoom(room);
         }
+        timer.stage("relation_lookup");
 
         // Recalculate total price
         long nights = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
@@ -159,35 +276,255 @@ public class ReservationService {
         }
 
         Reservation updatedReservation = reservationRepository.save(existingReservation);
+        timer.stage("save");
+
+        outbox.reservationUpdated(previous, updatedReservation);
+        timer.stage("outbox");
+        invalidateCachedResponses(id);
         log.info("Reservation updated successfully with ID: {}", updatedReservation.getId());
 
-        return mapToResponse(updatedReservation);
+        ReservationResponse response = mapToResponse(updatedReservation);
+        timer.stage("mapping");
+        return response;
     }
 
     @Transactional
     public void deleteReservation(Long id) {
         log.info("Deleting reservation with ID: {}", id);
+        ReservationMetrics.OperationTimer timer = metrics.operation("delete");
         
-        if (!reservationRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Reservation not found with ID: " + id);
-        }
+        Reservation reservation = reservationRepository.lockById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+        timer.stage("lookup");
 
-        reservationRepository.deleteById(id);
+        reservationRepository.delete(reservation);
+        timer.stage("delete");
+
+        outbox.reservationDeleted(ReservationSnapshot.of(reservation));
+        timer.stage("outbox");
+        invalidateCachedResponses(id);
         log.info("Reservation deleted successfully with ID: {}", id);
     }
 
     @Transactional
     public ReservationResponse cancelReservation(Long id) {
         log.info("Cancelling reservation with ID: {}", id);
+        ReservationMetrics.OperationTimer timer = metrics.operation("cancel");
         
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation reservation = reservationRepository.lockById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with ID: " + id));
+        ReservationSnapshot previous = ReservationSnapshot.of(reservation);
+        timer.stage("lookup");
 
         reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
         Reservation cancelledReservation = reservationRepository.save(reservation);
+        timer.stage("save");
+
+        outbox.reservationCancelled(previous, cancelledReservation);
+        timer.stage("outbox");
+        invalidateCachedResponses(id);
         
         log.info("Reservation cancelled successfully with ID: {}", id);
-        return mapToResponse(cancelledReservation);
+        ReservationResponse response = mapToResponse(cancelledReservation);
+        timer.stage("mapping");
+        return response;
+    }
+
+    /**
+     * Cancels several reservations in a single transaction. Results follow the order of
+     * {@code ids}, with a NOT_FOUND entry for each unknown id; a reservation already cancelled is
+     * reported as is.
+     */
+    @Transactional
+    public List<ReservationBatchResult> cancelReservations(List<Long> ids) {
+        log.info("Cancelling batch of {} reservations", ids.size());
+        ReservationMetrics.OperationTimer timer = metrics.operation("batch_cancel");
+        // Locked first, then read: the read sees the state left by any write the lock waited for
+        List<Long> locked = ids.isEmpty() ? List.of() : reservationRepository.lockAllById(new TreeSet<>(ids));
+        Map<Long, Reservation> found = locked.isEmpty() ? Map.of()
+                : reservationRepository.findAllWithDetailsByIdIn(locked).stream()
+                        .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        timer.stage("lookup");
+
+        List<ReservationBatchResult> results = new ArrayList<>(ids.size());
+        List<Reservation> cancelled = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Reservation reservation = found.get(ids.get(i));
+            if (reservation == null) {
+                results.add(ReservationBatchResult.failure(i, ReservationBatchResult.ErrorCode.NOT_FOUND,
+                        "Reservation not found with ID: " + ids.get(i)));
+                continue;
+            }
+            if (reservation.getStatus() != Reservation.ReservationStatus.CANCELLED) {
+                ReservationSnapshot previous = ReservationSnapshot.of(reservation);
+                reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+                outbox.reservationCancelled(previous, reservation);
+                invalidateCachedResponses(reservation.getId());
+                cancelled.add(reservation);
+            }
+            results.add(ReservationBatchResult.success(i, mapToResponse(reservation)));
+        }
+        reservationRepository.saveAll(cancelled);
+        timer.stage("save");
+
+        log.info("Batch cancelled {} of {} reservations", cancelled.size(), ids.size());
+        return results;
+    }
+
+    /**
+     * Cancels the PENDING reservations among {@code ids} created at or before
+     * {@code createdBefore}; the others are left untouched. Returns the number cancelled.
+     */
+    @Transactional
+    public int expireHolds(Collection<Long> ids, LocalDateTime createdBefore) {
+        ReservationMetrics.OperationTimer timer = metrics.operation("expire_holds");
+        List<Reservation> locked = reservationRepository.lockByIdInAndStatus(ids, Reservation.ReservationStatus.PENDING.name());
+        timer.stage("lock");
+
+        List<Reservation> expired = new ArrayList<>(locked.size());
+        for (Reservation reservation : locked) {
+            if (reservation.getCreatedAt().isAfter(createdBefore)) {
+                continue;
+            }
+            ReservationSnapshot previous = ReservationSnapshot.of(reservation);
+            reservation.setStatus(Reservation.ReservationStatus.CANCELLED);
+            outbox.reservationCancelled(previous, reservation);
+            invalidateCachedResponses(reservation.getId());
+            expired.add(reservation);
+        }
+        reservationRepository.saveAll(expired);
+        timer.stage("save");
+        log.info("Expired {} of {} pending reservation(s)", expired.size(), ids.size());
+        return expired.size();
+    }
+
+    /**
+     * Marks COMPLETED the CONFIRMED reservations among {@code ids} checking out on or before
+     * {@code checkedOutBy}; the others are left untouched. Returns the number completed.
+     */
+    @Transactional
+    public int completeStays(Collection<Long> ids, LocalDate checkedOutBy) {
+        ReservationMetrics.OperationTimer timer = metrics.operation("complete_stays");
+        List<Reservation> locked = reservationRepository.lockByIdInAndStatus(ids, Reservation.ReservationStatus.CONFIRMED.name());
+        timer.stage("lock");
+
+        List<Reservation> completed = new ArrayList<>(locked.size());
+        for (Reservation reservation : locked) {
+            if (reservation.getCheckOutDate().isAfter(checkedOutBy)) {
+                continue;
+            }
+            ReservationSnapshot previous = ReservationSnapshot.of(reservation);
+            reservation.setStatus(Reservation.ReservationStatus.COMPLETED);
+            outbox.reservationUpdated(previous, reservation);
+            invalidateCachedResponses(reservation.getId());
+            completed.add(reservation);
+        }
+        reservationRepository.saveAll(completed);
+        timer.stage("save");
+        log.info("Completed {} of {} confirmed reservation(s)", completed.size(), ids.size());
+        return completed.size();
+    }
+
+    /**
+     * Books the request. Without {@code ownerCheck} the caller holds the lock of its room
+     * ({@link #lockRooms}), which makes the conflict check and the insert atomic against other
+     * bookings of the room.
+     */
+    private Reservation insertReservation(ReservationRequest request, String operation,
+                                          ReservationMetrics.OperationTimer timer, AvailabilityCheck ownerCheck) {
+        validateDates(request);
+        timer.stage("validation");
+
+        // Fetch client
+        Client client = clientRepository.findById(request.getClientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + request.getClientId()));
+        timer.stage("client_lookup");
+
+        // Fetch room
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + request.getRoomId()));
+        timer.stage("room_lookup");
+
+        // Check for conflicting reservations
+        boolean available = ownerCheck != null ? ownerCheck.isAvailable(request, null) : isAvailable(request, null);
+        timer.stage("conflict_check");
+
+        if (!available) {
+            metrics.conflictDetected(operation);
+            throw new ReservationConflictException("Room is not available for the selected dates");
+        }
+
+        // Calculate total price
+        long nights = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+        BigDecimal totalPrice = room.getPricePerNight().multiply(BigDecimal.valueOf(nights));
+
+        // Create reservation
+        Reservation reservation = Reservation.builder()
+                .client(client)
+                .room(room)
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .numberOfGuests(request.getNumberOfGuests())
+                .totalPrice(totalPrice)
+                .status(request.getStatus() != null ? request.getStatus() : Reservation.ReservationStatus.PENDING)
+                .specialRequests(request.getSpecialRequests())
+                .build();
+
+        Reservation savedReservation = reservationRepository.save(reservation);
+        timer.stage("insert");
+
+        outbox.reservationCreated(savedReservation);
+        timer.stage("outbox");
+        invalidateCachedResponses(savedReservation.getId());
+        return savedReservation;
+    }
+
+    /**
+     * Locks the rooms until commit, as the gRPC backend does before its conflict checks: bookings
+     * of a room are serialized across threads, nodes and both backends. Also moves the rooms'
+     * booking version, which tells their owner node its calendar missed a booking.
+     */
+    private void lockRooms(Collection<Long> roomIds) {
+        if (!roomIds.isEmpty()) {
+            roomRepository.lockAllById(roomIds);
+        }
+    }
+
+    /**
+     * Whether no non-cancelled stay other than {@code excludeReservationId} overlaps the request;
+     * the caller holds the room lock.
+     */
+    private boolean isAvailable(ReservationRequest request, Long excludeReservationId) {
+        return reservationRepository.findConflictingReservations(
+                        request.getRoomId(),
+                        request.getCheckInDate(),
+                        request.getCheckOutDate(),
+                        request.getCheckInDate().minusDays(properties.getMaxStayNights()))
+                .stream()
+                .allMatch(conflict -> conflict.getId().equals(excludeReservationId));
+    }
+
+    /**
+     * Drops the cached GET responses for the reservation once the change is visible; reads racing
+     * the commit are not stored (see {@link ResponseCache}).
+     */
+    private void invalidateCachedResponses(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responseCache.invalidateReservation(id);
+            }
+        });
+    }
+
+    void validateDates(ReservationRequest request) {
+        if (request.getCheckOutDate().isBefore(request.getCheckInDate()) ||
+            request.getCheckOutDate().isEqual(request.getCheckInDate())) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate()) > properties.getMaxStayNights()) {
+            throw new IllegalArgumentException("Stay cannot exceed " + properties.getMaxStayNights() + " nights");
+        }
     }
 
     private ReservationResponse mapToResponse(Reservation reservation) {
@@ -0,0 +1,152 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.dto.WaitlistEntryResponse;
+import com.hotel.reservation.dto.WaitlistRequest;
+import com.hotel.reservation.exception.ResourceConflictException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.model.WaitlistEntry;
+import com.hotel.reservation.model.WaitlistEntry.WaitlistStatus;
+import com.hotel.reservation.repository.ClientRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.repository.WaitlistEntryRepository;
+import com.hotel.reservation.waitlist.WaitlistIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Waitlist for stays that could not be booked. Entries are matched against freed slots by the
+ * {@link com.hotel.reservation.waitlist.WaitlistMatcher}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final ClientRepository clientRepository;
+    private final RoomRepository roomRepository;
+    private final WaitlistIndex index;
+    private final ReservationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public WaitlistEntryResponse enqueue(WaitlistRequest request) {
+        log.info("Adding client ID {} to the waitlist", request.getClientId());
+        validate(request);
+        if (!clientRepository.existsById(request.getClientId())) {
+            throw new ResourceNotFoundException("Client not found with ID: " + request.getClientId());
+        }
+
+        Room.RoomType roomType = request.getRoomType();
+        if (request.getRoomId() != null) {
+            Room room = roomRepository.findById(request.getRoomId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + request.getRoomId()));
+            if (request.getNumberOfGuests() > room.getCapacity()) {
+                throw new IllegalArgumentException("Room " + room.getRoomNumber() + " holds at most "
+                        + room.getCapacity() + " guests");
+            }
+            roomType = null;
+        }
+
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .clientId(request.getClientId())
+                .roomId(request.getRoomId())
+                .roomType(roomType)
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .numberOfGuests(request.getNumberOfGuests())
+                .specialRequests(request.getSpecialRequests())
+                .mode(request.getMode() != null ? request.getMode() : WaitlistEntry.Mode.AUTO_BOOK)
+                .status(WaitlistStatus.WAITING)
+                .build();
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        afterCommit(() -> index.upsert(saved));
+        log.info("Waitlist entry created with ID: {}", saved.getId());
+        return mapToResponse(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistEntryResponse getEntry(Long id) {
+        return waitlistRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with ID: " + id));
+    }
+
+    @Transactional
+    public WaitlistEntryResponse cancel(Long id) {
+        log.info("Cancelling waitlist entry with ID: {}", id);
+        WaitlistEntry entry = waitlistRepository.lockWaiting(id).orElseThrow(() -> waitlistRepository.existsById(id)
+                ? new ResourceConflictException("Waitlist entry " + id + " is no longer waiting")
+                : new ResourceNotFoundException("Waitlist entry not found with ID: " + id));
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        afterCommit(() -> index.remove(id));
+        return mapToResponse(saved);
+    }
+
+    /**
+     * Entries still waiting when their stay begins can no longer be served.
+     */
+    @Scheduled(cron = "${reservation.waitlist.expiry-cron:0 5 0 * * *}")
+    public void expireStarted() {
+        try {
+            Integer expired = transactionTemplate.execute(status -> waitlistRepository.expireStarted(LocalDate.now()));
+            if (expired != null && expired > 0) {
+                log.info("Expired {} waitlist entries whose stay has started", expired);
+                index.reload();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Waitlist expiry failed: {}", e.getMessage());
+        }
+    }
+
+    private void validate(WaitlistRequest request) {
+        if (request.getRoomId() == null && request.getRoomType() == null) {
+            throw new IllegalArgumentException("Either a room ID or a room type is required");
+        }
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate()) > properties.getMaxStayNights()) {
+            throw new IllegalArgumentException("Stay cannot exceed " + properties.getMaxStayNights() + " nights");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private WaitlistEntryResponse mapToResponse(WaitlistEntry entry) {
+        return WaitlistEntryResponse.builder()
+                .id(entry.getId())
+                .clientId(entry.getClientId())
+                .roomId(entry.getRoomId())
+                .roomType(entry.getRoomType())
+                .checkInDate(entry.getCheckInDate())
+                .checkOutDate(entry.getCheckOutDate())
+                .numberOfGuests(entry.getNumberOfGuests())
+                .mode(entry.getMode())
+                .status(entry.getStatus())
+                .reservationId(entry.getReservationId())
+                .createdAt(entry.getCreatedAt())
+                .matchedAt(entry.getMatchedAt())
+                .build();
+    }
+}
@@ -0,0 +1,279 @@
+package com.hotel.reservation.tracing;
+
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.spi.Reporter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentracing.tag.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tail-based sampling reporter.
+ *
+ * <p>Every span is recorded in-process, but spans are buffered per trace for a short decision
+ * window before being handed to the delegate (UDP) reporter. Errored, conflicted (HTTP 409) and
+ * slow traces are always kept; the remaining traces are sampled at a rate that is re-evaluated
+ * every second so exported spans stay within the configured spans-per-second budget.
+ */
+@Slf4j
+public class TailSamplingReporter implements Reporter {
+
+    private static final long ADJUST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final Reporter delegate;
+    private final TracingProperties.TailSampling config;
+    private final long decisionWaitNanos;
+
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Map<String, Decided> decided = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private final long[] latencyReservoir;
+    private int reservoirIndex;
+    private int reservoirCount;
+
+    private final AtomicLong forcedSpansInInterval = new AtomicLong();
+    private final AtomicLong normalSpansInInterval = new AtomicLong();
+    private long lastAdjustNanos = System.nanoTime();
+    private volatile double samplingRate = 1.0;
+    private volatile long slowThresholdMicros;
+
+    private final Meter.MeterProvider<Counter> traceDecisions;
+    private final Meter.MeterProvider<Counter> spanDecisions;
+
+    public TailSamplingReporter(Reporter delegate, TracingProperties.TailSampling config, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.config = config;
+        this.decisionWaitNanos = config.getDecisionWait().toNanos();
+        this.latencyReservoir = new long[config.getLatencyReservoirSize()];
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(config.getMinSlowThreshold().toNanos());
+
+        this.traceDecisions = Counter.builder("tracing.tail.traces")
+                .description("Traces seen by the tail sampler, by decision and reason")
+                .withRegistry(registry);
+        this.spanDecisions = Counter.builder("tracing.tail.spans")
+                .description("Spans seen by the tail sampler, by decision")
+                .withRegistry(registry);
+        Gauge.builder("tracing.tail.sampling.rate", this, r -> r.samplingRate)
+                .description("Current sampling rate applied to normal traces")
+                .register(registry);
+        Gauge.builder("tracing.tail.slow.threshold", this, r -> r.slowThresholdMicros / 1_000_000.0)
+                .description("Trace duration above which traces are always kept")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("tracing.tail.buffered.traces", pending, Map::size)
+                .description("Traces currently buffered awaiting a sampling decision")
+                .register(registry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tail-sampling-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(10, config.getDecisionWait().toMillis() / 10);
+        flusher.scheduleWithFixedDelay(this::flushSafely, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void report(JaegerSpan span) {
+        String traceId = span.context().getTraceId();
+        Decided earlier = decided.get(traceId);
+        if (earlier != null) {
+            forwardLate(span, earlier.keep);
+            return;
+        }
+
+        boolean[] overflow = new boolean[1];
+        Decided[] late = new Decided[1];
+        pending.compute(traceId, (id, trace) -> {
+            Decided decision = decided.get(id);
+            if (decision != null) {
+                late[0] = decision;
+                return trace;
+            }
+            if (trace == null) {
+                if (pending.size() >= config.getMaxBufferedTraces()) {
+                    overflow[0] = true;
+                    return null;
+                }
+                trace = new PendingTrace(System.nanoTime());
+            }
+            trace.add(span);
+            return trace;
+        });
+
+        if (late[0] != null) {
+            forwardLate(span, late[0].keep);
+        } else if (overflow[0]) {
+            traceDecisions.withTags("decision", "dropped", "reason", "overflow").increment();
+            spanDecisions.withTags("decision", "dropped").increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(config.getDecisionWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (String traceId : new ArrayList<>(pending.keySet())) {
+            decide(traceId);
+        }
+        delegate.close();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Tail sampling flush failed", e);
+        }
+    }
+
+    private void flush() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, PendingTrace> entry : pending.entrySet()) {
+            if (now - entry.getValue().firstSeenNanos >= decisionWaitNanos) {
+                decide(entry.getKey());
+            }
+        }
+        if (now - lastAdjustNanos >= ADJUST_INTERVAL_NANOS) {
+            adjust(now);
+            lastAdjustNanos = now;
+        }
+    }
+
+    private void decide(String traceId) {
+        long expiresAt = System.nanoTime() + 2 * decisionWaitNanos;
+        List<JaegerSpan> spans = new ArrayList<>();
+        String[] reason = new String[1];
+        pending.computeIfPresent(traceId, (id, trace) -> {
+            reason[0] = trace.forcedReason(slowThresholdMicros);
+            boolean keep = reason[0] != null || ThreadLocalRandom.current().nextDouble() < samplingRate;
+            if (reason[0] == null) {
+                reason[0] = keep ? "sampled" : "dropped";
+            }
+            decided.put(id, new Decided(keep, expiresAt));
+            spans.addAll(trace.spans);
+            recordLatency(trace.maxDurationMicros);
+            return null;
+        });
+        if (reason[0] == null) {
+            return;
+        }
+
+        boolean forced = !"sampled".equals(reason[0]) && !"dropped".equals(reason[0]);
+        boolean keep = !"dropped".equals(reason[0]);
+        (forced ? forcedSpansInInterval : normalSpansInInterval).addAndGet(spans.size());
+        traceDecisions.withTags("decision", keep ? "kept" : "dropped", "reason", reason[0]).increment();
+        spanDecisions.withTags("decision", keep ? "kept" : "dropped").increment(spans.size());
+        if (keep) {
+            spans.forEach(delegate::report);
+        }
+    }
+
+    private void forwardLate(JaegerSpan span, boolean keep) {
+        spanDecisions.withTags("decision", keep ? "kept" : "dropped").increment();
+        if (keep) {
+            delegate.report(span);
+        }
+    }
+
+    private synchronized void recordLatency(long durationMicros) {
+        latencyReservoir[reservoirIndex] = durationMicros;
+        reservoirIndex = (reservoirIndex + 1) % latencyReservoir.length;
+        reservoirCount = Math.min(reservoirCount + 1, latencyReservoir.length);
+    }
+
+    private void adjust(long now) {
+        double seconds = (now - lastAdjustNanos) / 1_000_000_000.0;
+        double forcedPerSecond = forcedSpansInInterval.getAndSet(0) / seconds;
+        double normalPerSecond = normalSpansInInterval.getAndSet(0) / seconds;
+
+        double target = 1.0;
+        if (normalPerSecond > 0) {
+            double remainingBudget = Math.max(0, config.getSpansPerSecond() - forcedPerSecond);
+            target = Math.min(1.0, remainingBudget / normalPerSecond);
+        }
+        double smoothed = samplingRate + RATE_SMOOTHING * (target - samplingRate);
+        samplingRate = Math.max(config.getMinSamplingRate(), Math.min(1.0, smoothed));
+
+        long[] snapshot;
+        synchronized (this) {
+            snapshot = Arrays.copyOf(latencyReservoir, reservoirCount);
+        }
+        if (snapshot.length > 0) {
+            Arrays.sort(snapshot);
+            int index = (int) Math.min(snapshot.length - 1, Math.ceil(config.getSlowPercentile() * snapshot.length) - 1);
+            long floor = TimeUnit.NANOSECONDS.toMicros(config.getMinSlowThreshold().toNanos());
+            slowThresholdMicros = Math.max(floor, snapshot[Math.max(0, index)]);
+        }
+
+        for (Iterator<Decided> it = decided.values().iterator(); it.hasNext(); ) {
+            if (it.next().expiresAtNanos - now < 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class PendingTrace {
+
+        private final long firstSeenNanos;
+        private final List<JaegerSpan> spans = new ArrayList<>(4);
+        private long maxDurationMicros;
+        private boolean error;
+        private boolean conflict;
+
+        private PendingTrace(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+
+        private void add(JaegerSpan span) {
+            spans.add(span);
+            maxDurationMicros = Math.max(maxDurationMicros, span.getDuration());
+            Map<String, Object> tags = span.getTags();
+            Object status = tags.get(Tags.HTTP_STATUS.getKey());
+            if (Boolean.TRUE.equals(tags.get(Tags.ERROR.getKey()))
+                    || (status instanceof Number && ((Number) status).intValue() >= 500)) {
+                error = true;
+            }
+            if (Boolean.TRUE.equals(tags.get(TracingFilter.CONFLICT_TAG))
+                    || (status instanceof Number && ((Number) status).intValue() == 409)) {
+                conflict = true;
+            }
+        }
+
+        private String forcedReason(long slowThresholdMicros) {
+            if (error) {
+                return "error";
+            }
+            if (conflict) {
+                return "conflict";
+            }
+            if (maxDurationMicros >= slowThresholdMicros) {
+                return "slow";
+            }
+            return null;
+        }
+    }
+
+    private record Decided(boolean keep, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.reservation.tracing;
+
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.NoopReporter;
+import io.jaegertracing.internal.reporters.RemoteReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.jaegertracing.internal.samplers.ProbabilisticSampler;
+import io.jaegertracing.spi.Reporter;
+import io.jaegertracing.spi.Sampler;
+import io.jaegertracing.thrift.internal.senders.UdpSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentracing.Tracer;
+import io.opentracing.util.GlobalTracer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Jaeger tracer wiring. With tail sampling enabled every span is recorded in-process and the
+ * {@link TailSamplingReporter} decides which traces are exported; otherwise the configured
+ * probabilistic head sampler is used.
+ *
+ * <p>{@code opentracing.jaeger.enabled} is read by the beans themselves rather than used as a bean
+ * condition, which a native image would evaluate once, at build time: when tracing is disabled the
+ * tracer samples nothing, reports nowhere and the tracing filter is not registered.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    // Closed by the tracer that owns it
+    @Bean(destroyMethod = "")
+    public Reporter jaegerReporter(TracingProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return new NoopReporter();
+        }
+        Reporter remote = new RemoteReporter.Builder()
+                .withSender(new UdpSender(properties.getUdpSender().getHost(), properties.getUdpSender().getPort(), 0))
+                .build();
+        if (!properties.getTailSampling().isEnabled()) {
+            return remote;
+        }
+        return new TailSamplingReporter(remote, properties.getTailSampling(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public JaegerTracer jaegerTracer(TracingProperties properties, Reporter jaegerReporter) {
+        Sampler sampler = !properties.isEnabled() ? new ConstSampler(false)
+                : properties.getTailSampling().isEnabled() ? new ConstSampler(true)
+                : new ProbabilisticSampler(properties.getProbabilisticSampler().getSamplingRate());
+        JaegerTracer tracer = new JaegerTracer.Builder(properties.getServiceName())
+                .withSampler(sampler)
+                .withReporter(jaegerReporter)
+                .build();
+        if (properties.isEnabled()) {
+            GlobalTracer.registerIfAbsent(tracer);
+        }
+        return tracer;
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TracingProperties properties, Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setEnabled(properties.isEnabled());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
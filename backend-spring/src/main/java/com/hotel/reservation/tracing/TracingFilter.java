@@ -0,0 +1,86 @@
+package com.hotel.reservation.tracing;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.propagation.TextMapAdapter;
+import io.opentracing.tag.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates a server span for each HTTP request. The OpenTracing servlet filter shipped with the
+ * Jaeger starter targets {@code javax.servlet} and is not picked up by Spring Boot 3.
+ *
+ * <p>Spans are named after the matched route ({@code GET /api/reservations/{id}}), known once the
+ * request has been dispatched, so that operations stay few; the raw URL is the {@code http.url} tag.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String CONFLICT_TAG = "reservation.conflict";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, request.getHeader(name));
+        }
+        SpanContext parent = tracer.extract(Format.Builtin.HTTP_HEADERS, new TextMapAdapter(headers));
+
+        Span span = tracer.buildSpan(request.getMethod())
+                .asChildOf(parent)
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
+                .withTag(Tags.HTTP_METHOD.getKey(), request.getMethod())
+                .withTag(Tags.HTTP_URL.getKey(), request.getRequestURL().toString())
+                .start();
+        try (Scope ignored = tracer.activateSpan(span)) {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            Tags.ERROR.set(span, true);
+            throw e;
+        } finally {
+            span.setOperationName(operationName(request));
+            int status = response.getStatus();
+            Tags.HTTP_STATUS.set(span, status);
+            if (status >= 500) {
+                Tags.ERROR.set(span, true);
+            } else if (status == 409) {
+                span.setTag(CONFLICT_TAG, true);
+            }
+            span.finish();
+        }
+    }
+
+    /**
+     * The handler's path pattern; requests not dispatched to a controller (SOAP, unmatched paths)
+     * fall back to the servlet mapping.
+     */
+    private static String operationName(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : request.getHttpServletMapping().getPattern();
+        return request.getMethod() + " " + route;
+    }
+}
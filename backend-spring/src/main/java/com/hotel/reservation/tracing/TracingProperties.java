@@ -0,0 +1,55 @@
+package com.hotel.reservation.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "opentracing.jaeger")
+public class TracingProperties {
+
+    private boolean enabled = true;
+    private String serviceName = "hotel-reservation-spring";
+    private UdpSender udpSender = new UdpSender();
+    private ProbabilisticSampler probabilisticSampler = new ProbabilisticSampler();
+    private TailSampling tailSampling = new TailSampling();
+
+    @Data
+    public static class UdpSender {
+        private String host = "localhost";
+        private int port = 6831;
+    }
+
+    @Data
+    public static class ProbabilisticSampler {
+        /**
+         * Head sampling rate, only used when tail sampling is disabled.
+         */
+        private double samplingRate = 1.0;
+    }
+
+    @Data
+    public static class TailSampling {
+        private boolean enabled = true;
+        /**
+         * How long spans of a trace are buffered before the keep/drop decision is made.
+         */
+        private Duration decisionWait = Duration.ofSeconds(1);
+        /**
+         * Traces slower than this percentile of recent trace durations are always kept.
+         */
+        private double slowPercentile = 0.99;
+        /**
+         * Lower bound for the slow threshold, so a quiet service does not keep every trace.
+         */
+        private Duration minSlowThreshold = Duration.ofMillis(50);
+        /**
+         * Target number of exported spans per second; normal traces are sampled to fit it.
+         */
+        private int spansPerSecond = 200;
+        private double minSamplingRate = 0.001;
+        private int maxBufferedTraces = 10_000;
+        private int latencyReservoirSize = 2048;
+    }
+}
@@ -0,0 +1,173 @@
+package com.hotel.reservation.waitlist;
+
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.InvalidationSubscriber;
+import com.hotel.reservation.model.Room.RoomType;
+import com.hotel.reservation.model.WaitlistEntry;
+import com.hotel.reservation.model.WaitlistEntry.WaitlistStatus;
+import com.hotel.reservation.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of the entries still waiting, so a freed slot finds its candidates without
+ * scanning the waitlist. Entries are grouped by target (a room id, or a room type) and, within a
+ * target, ordered by check-in date: the entries fitting inside a freed interval are a sub-map of
+ * that order, filtered on check-out.
+ *
+ * <p>Kept current by the waitlist change notices, and reloaded at startup and on resync.
+ */
+@Component
+@Slf4j
+public class WaitlistIndex implements InvalidationSubscriber {
+
+    /**
+     * Waiting entry as the matcher needs it.
+     */
+    public record Candidate(long id, Long roomId, RoomType roomType, LocalDate checkInDate,
+                            LocalDate checkOutDate, int numberOfGuests) {
+    }
+
+    private final WaitlistEntryRepository repository;
+
+    private final Map<Object, TreeMap<LocalDate, Map<Long, Candidate>>> byTarget = new HashMap<>();
+    private final Map<Long, Candidate> byId = new HashMap<>();
+    private volatile boolean loaded;
+
+    public WaitlistIndex(WaitlistEntryRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        Gauge.builder("reservation.waitlist.waiting", this, WaitlistIndex::size)
+                .description("Waitlist entries waiting for a freed slot")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Waitlist index not loaded at startup, loading on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waiting entries for {@code roomId} or {@code roomType} whose whole stay lies within
+     * {@code [from, to]} (both dates inclusive) and whose party fits {@code capacity}, oldest
+     * first, at most {@code limit}.
+     */
+    public List<Candidate> candidates(long roomId, RoomType roomType, LocalDate from, LocalDate to,
+                                      int capacity, int limit) {
+        if (!loaded) {
+            reload();
+        }
+        List<Candidate> found = new ArrayList<>();
+        synchronized (this) {
+            collect(roomId, from, to, capacity, found);
+            collect(roomType, from, to, capacity, found);
+        }
+        found.sort(Comparator.comparingLong(Candidate::id));
+        return found.size() > limit ? found.subList(0, limit) : found;
+    }
+
+    public synchronized void upsert(WaitlistEntry entry) {
+        remove(entry.getId());
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            return;
+        }
+        Candidate candidate = new Candidate(entry.getId(), entry.getRoomId(), entry.getRoomType(),
+                entry.getCheckInDate(), entry.getCheckOutDate(), entry.getNumberOfGuests());
+        byId.put(candidate.id(), candidate);
+        byTarget.computeIfAbsent(target(candidate), t -> new TreeMap<>())
+                .computeIfAbsent(candidate.checkInDate(), d -> new HashMap<>())
+                .put(candidate.id(), candidate);
+    }
+
+    public synchronized void remove(long id) {
+        Candidate candidate = byId.remove(id);
+        if (candidate == null) {
+            return;
+        }
+        Object target = target(candidate);
+        TreeMap<LocalDate, Map<Long, Candidate>> byCheckIn = byTarget.get(target);
+        Map<Long, Candidate> sameDay = byCheckIn.get(candidate.checkInDate());
+        sameDay.remove(id);
+        if (sameDay.isEmpty()) {
+            byCheckIn.remove(candidate.checkInDate());
+            if (byCheckIn.isEmpty()) {
+                byTarget.remove(target);
+            }
+        }
+    }
+
+    public synchronized void reload() {
+        List<WaitlistEntry> waiting = repository.findByStatus(WaitlistStatus.WAITING);
+        byTarget.clear();
+        byId.clear();
+        waiting.forEach(this::upsert);
+        loaded = true;
+        log.info("Waitlist index loaded with {} waiting entries", byId.size());
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void onChanges(Collection<ChangeNotice> notices) {
+        Set<Long> ids = new HashSet<>();
+        for (ChangeNotice notice : notices) {
+            if (notice.getTable() == ChangeNotice.Table.WAITLIST_ENTRIES) {
+                ids.add(notice.getId());
+            }
+        }
+        if (ids.isEmpty() || !loaded) {
+            return;
+        }
+        for (WaitlistEntry entry : repository.findAllById(ids)) {
+            upsert(entry);
+            ids.remove(entry.getId());
+        }
+        ids.forEach(this::remove);
+    }
+
+    @Override
+    public void onResync() {
+        reload();
+    }
+
+    private void collect(Object target, LocalDate from, LocalDate to, int capacity, List<Candidate> found) {
+        TreeMap<LocalDate, Map<Long, Candidate>> byCheckIn = byTarget.get(target);
+        if (byCheckIn == null) {
+            return;
+        }
+        NavigableMap<LocalDate, Map<Long, Candidate>> window = byCheckIn.subMap(from, true, to, true);
+        for (Map<Long, Candidate> sameDay : window.values()) {
+            for (Candidate candidate : sameDay.values()) {
+                if (!candidate.checkOutDate().isAfter(to) && candidate.numberOfGuests() <= capacity) {
+                    found.add(candidate);
+                }
+            }
+        }
+    }
+
+    private static Object target(Candidate candidate) {
+        return candidate.roomId() != null ? candidate.roomId() : candidate.roomType();
+    }
+}
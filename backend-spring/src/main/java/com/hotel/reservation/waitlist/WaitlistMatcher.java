@@ -0,0 +1,186 @@
+package com.hotel.reservation.waitlist;
+
+import com.hotel.reservation.config.ReservationProperties;
+import com.hotel.reservation.dto.ReservationRequest;
+import com.hotel.reservation.dto.ReservationResponse;
+import com.hotel.reservation.exception.ReservationConflictException;
+import com.hotel.reservation.exception.ResourceNotFoundException;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.model.WaitlistEntry;
+import com.hotel.reservation.model.WaitlistEntry.WaitlistStatus;
+import com.hotel.reservation.outbox.ReservationEvent;
+import com.hotel.reservation.outbox.ReservationSnapshot;
+import com.hotel.reservation.repository.RoomRepository;
+import com.hotel.reservation.repository.WaitlistEntryRepository;
+import com.hotel.reservation.service.ReservationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Offers the nights freed by a cancellation, a deletion, a move to another room or a shortened
+ * stay to the waitlist. Candidates come from the {@link WaitlistIndex}, oldest entry first; each
+ * is booked through {@link ReservationService} in its own transaction, so the database conflict
+ * check stays the authority and a stale candidate only costs a rolled back attempt. Whatever is
+ * left of the freed interval on either side of a booked stay is offered again.
+ *
+ * <p>Driven by the outbox events, which are relayed by a single node at a time: a freed slot is
+ * offered once across the cluster. A redelivered event re-offers slots that are already taken,
+ * which the conflict check rejects.
+ */
+@Component
+@Slf4j
+public class WaitlistMatcher {
+
+    private record Slot(long roomId, LocalDate from, LocalDate to) {
+    }
+
+    private final WaitlistIndex index;
+    private final WaitlistEntryRepository waitlistRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationService reservationService;
+    private final ReservationProperties.Waitlist properties;
+    private final TransactionTemplate newTransaction;
+    private final Meter.MeterProvider<Counter> matches;
+
+    public WaitlistMatcher(WaitlistIndex index, WaitlistEntryRepository waitlistRepository,
+                           RoomRepository roomRepository, ReservationService reservationService,
+                           ReservationProperties properties, PlatformTransactionManager transactionManager,
+                           MeterRegistry registry) {
+        this.index = index;
+        this.waitlistRepository = waitlistRepository;
+        this.roomRepository = roomRepository;
+        this.reservationService = reservationService;
+        this.properties = properties.getWaitlist();
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.matches = Counter.builder("reservation.waitlist.matches")
+                .description("Waitlist entries tried against a freed slot, by outcome")
+                .withRegistry(registry);
+    }
+
+    @EventListener
+    public void onReservationEvent(ReservationEvent event) {
+        if (!properties.isMatchingEnabled()) {
+            return;
+        }
+        try {
+            for (Slot slot : freedSlots(event)) {
+                offer(slot);
+            }
+        } catch (RuntimeException e) {
+            // Never fail the relay batch: the slot stays free and can still be booked directly
+            log.warn("Waitlist matching failed for reservation {}: {}", event.getReservationId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Nights held by the previous state and not by the current one, as inclusive date ranges (a
+     * stay blocks both its check-in and its check-out date).
+     */
+    private static List<Slot> freedSlots(ReservationEvent event) {
+        ReservationSnapshot previous = event.getPrevious();
+        List<Slot> slots = new ArrayList<>(2);
+        if (previous == null || previous.getStatus() == ReservationStatus.CANCELLED) {
+            return slots;
+        }
+        ReservationSnapshot current = event.getReservation();
+        if (current == null || current.getStatus() == ReservationStatus.CANCELLED
+                || !current.getRoomId().equals(previous.getRoomId())) {
+            slots.add(new Slot(previous.getRoomId(), previous.getCheckInDate(), previous.getCheckOutDate()));
+            return slots;
+        }
+        if (current.getCheckInDate().isAfter(previous.getCheckInDate())) {
+            LocalDate to = current.getCheckInDate().minusDays(1);
+            slots.add(new Slot(previous.getRoomId(), previous.getCheckInDate(),
+                    to.isBefore(previous.getCheckOutDate()) ? to : previous.getCheckOutDate()));
+        }
+        if (current.getCheckOutDate().isBefore(previous.getCheckOutDate())) {
+            LocalDate from = current.getCheckOutDate().plusDays(1);
+            slots.add(new Slot(previous.getRoomId(),
+                    from.isAfter(previous.getCheckInDate()) ? from : previous.getCheckInDate(),
+                    previous.getCheckOutDate()));
+        }
+        return slots;
+    }
+
+    private void offer(Slot freed) {
+        Room room = roomRepository.findById(freed.roomId()).orElse(null);
+        if (room == null) {
+            return;
+        }
+        List<Slot> pending = new ArrayList<>();
+        pending.add(freed);
+        while (!pending.isEmpty()) {
+            Slot slot = pending.remove(pending.size() - 1);
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            LocalDate from = slot.from().isBefore(tomorrow) ? tomorrow : slot.from();
+            if (!slot.to().isAfter(from)) {
+                continue;
+            }
+            List<WaitlistIndex.Candidate> candidates = index.candidates(room.getId(), room.getRoomType(),
+                    from, slot.to(), room.getCapacity(), properties.getCandidatesPerSlot());
+            for (WaitlistIndex.Candidate candidate : candidates) {
+                if (book(candidate, room)) {
+                    pending.add(new Slot(room.getId(), from, candidate.checkInDate().minusDays(1)));
+                    pending.add(new Slot(room.getId(), candidate.checkOutDate().plusDays(1), slot.to()));
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean book(WaitlistIndex.Candidate candidate, Room room) {
+        try {
+            WaitlistEntry booked = newTransaction.execute(status -> {
+                WaitlistEntry entry = waitlistRepository.lockWaiting(candidate.id()).orElse(null);
+                if (entry == null) {
+                    return null;
+                }
+                boolean hold = entry.getMode() == WaitlistEntry.Mode.HOLD;
+                ReservationResponse reservation = reservationService.createReservation(ReservationRequest.builder()
+                        .clientId(entry.getClientId())
+                        .roomId(room.getId())
+                        .checkInDate(entry.getCheckInDate())
+                        .checkOutDate(entry.getCheckOutDate())
+                        .numberOfGuests(entry.getNumberOfGuests())
+                        .specialRequests(entry.getSpecialRequests())
+                        .status(hold ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED)
+                        .build());
+                entry.setStatus(hold ? WaitlistStatus.HELD : WaitlistStatus.BOOKED);
+                entry.setReservationId(reservation.getId());
+                entry.setMatchedAt(LocalDateTime.now());
+                return waitlistRepository.save(entry);
+            });
+            index.remove(candidate.id());
+            if (booked == null) {
+                matches.withTags("outcome", "stale").increment();
+                return false;
+            }
+            matches.withTags("outcome", booked.getStatus().name().toLowerCase(Locale.ROOT)).increment();
+            log.info("Waitlist entry {} {} as reservation {} on room {}", booked.getId(),
+                    booked.getStatus().name().toLowerCase(Locale.ROOT), booked.getReservationId(), room.getId());
+            return true;
+        } catch (ReservationConflictException e) {
+            matches.withTags("outcome", "conflict").increment();
+            return false;
+        } catch (ResourceNotFoundException e) {
+            log.warn("Waitlist entry {} cannot be booked: {}", candidate.id(), e.getMessage());
+            matches.withTags("outcome", "invalid").increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hotel.reservation.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int ROOMS = 10_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void ownersDoNotDependOnNodeOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node1", "node2", "node3"), VIRTUAL_NODES);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("node3", "node1", "node2"), VIRTUAL_NODES);
+
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            assertThat(reordered.ownerOf(roomId)).isEqualTo(ring.ownerOf(roomId));
+        }
+    }
+
+    @Test
+    void spreadsRoomsOverEveryNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node1", "node2", "node3"), VIRTUAL_NODES);
+
+        int[] owned = new int[3];
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            owned[Integer.parseInt(ring.ownerOf(roomId).substring(4)) - 1]++;
+        }
+        for (int count : owned) {
+            assertThat(count).isBetween(ROOMS / 5, ROOMS / 2);
+        }
+    }
+
+    @Test
+    void joiningNodeOnlyTakesRoomsOver() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node1", "node2", "node3"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node1", "node2", "node3", "node4"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            String owner = after.ownerOf(roomId);
+            if (!owner.equals(before.ownerOf(roomId))) {
+                assertThat(owner).isEqualTo("node4");
+                moved++;
+            }
+        }
+        // About a quarter of the rooms move to the new node
+        assertThat(moved).isBetween(ROOMS * 15 / 100, ROOMS * 35 / 100);
+    }
+
+    @Test
+    void leavingNodeOnlyHandsItsRoomsOver() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node1", "node2", "node3", "node4"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node1", "node2", "node4"), VIRTUAL_NODES);
+
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            String owner = before.ownerOf(roomId);
+            if (owner.equals("node3")) {
+                assertThat(after.ownerOf(roomId)).isNotEqualTo("node3");
+            } else {
+                assertThat(after.ownerOf(roomId)).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    void rejectsEmptyRing() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
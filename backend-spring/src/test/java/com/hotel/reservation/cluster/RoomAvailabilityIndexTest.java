@@ -0,0 +1,96 @@
+package com.hotel.reservation.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomAvailabilityIndexTest {
+
+    private static final long ROOM = 7;
+    private static final LocalDate DAY = LocalDate.now().plusDays(30);
+
+    private final List<long[]> bookings = new ArrayList<>();
+    private long bookingVersion;
+    private int loads;
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(ROOM))).thenAnswer(invocation -> {
+            loads++;
+            return List.of(bookingVersion);
+        });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] booking : bookings) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(booking[0]);
+                when(rs.getObject("check_in_date", LocalDate.class)).thenReturn(DAY.plusDays(booking[1]));
+                when(rs.getObject("check_out_date", LocalDate.class)).thenReturn(DAY.plusDays(booking[2]));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(ROOM), any(LocalDate.class));
+        index = new RoomAvailabilityIndex(jdbcTemplate);
+
+        bookings.add(new long[]{1, 0, 3});
+    }
+
+    @Test
+    void decidesFromMemoryAtTheLoadedVersion() {
+        boolean free = index.withRoom(ROOM, () -> index.isFree(ROOM, 0, DAY.plusDays(4), DAY.plusDays(6), null));
+
+        assertThat(free).isTrue();
+        assertThat(loads).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsWhenABookingWasMadeAroundTheOwner() {
+        index.withRoom(ROOM, () -> null);
+        bookings.add(new long[]{2, 4, 6});
+        bookingVersion = 1;
+
+        boolean free = index.withRoom(ROOM, () -> index.isFree(ROOM, 1, DAY.plusDays(4), DAY.plusDays(6), null));
+
+        assertThat(free).isFalse();
+        assertThat(loads).isEqualTo(2);
+        // The reloaded calendar is current: no further reload at the same version
+        assertThat(index.withRoom(ROOM, () -> index.isFree(ROOM, 1, DAY.plusDays(10), DAY.plusDays(12), null)))
+                .isTrue();
+        assertThat(loads).isEqualTo(2);
+    }
+
+    @Test
+    void confirmsConflictsAgainstAFreshCalendar() {
+        index.withRoom(ROOM, () -> null);
+        // Cancelled around the owner, whose calendar has not heard of it yet
+        bookings.clear();
+
+        boolean free = index.withRoom(ROOM, () -> index.isFree(ROOM, 0, DAY.plusDays(1), DAY.plusDays(2), null));
+
+        assertThat(free).isTrue();
+        assertThat(loads).isEqualTo(2);
+    }
+
+    @Test
+    void excludesTheReservationBeingUpdated() {
+        boolean free = index.withRoom(ROOM, () -> index.isFree(ROOM, 0, DAY.plusDays(1), DAY.plusDays(5), 1L));
+
+        assertThat(free).isTrue();
+    }
+}
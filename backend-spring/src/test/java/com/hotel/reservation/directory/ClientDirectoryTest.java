@@ -0,0 +1,101 @@
+package com.hotel.reservation.directory;
+
+import com.hotel.reservation.dto.ClientSummary;
+import com.hotel.reservation.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientDirectoryTest {
+
+    private final List<ClientSummary> clients = new ArrayList<>();
+    private Runnable duringLoad = () -> { };
+    private ClientDirectory directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ClientSummary client : List.copyOf(clients)) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(client.getId());
+                when(rs.getString("first_name")).thenReturn(client.getFirstName());
+                when(rs.getString("last_name")).thenReturn(client.getLastName());
+                when(rs.getString("email")).thenReturn(client.getEmail());
+                when(rs.getString("phone")).thenReturn(client.getPhone());
+                handler.processRow(rs);
+            }
+            duringLoad.run();
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        directory = new ClientDirectory(mock(ClientRepository.class), jdbcTemplate, new SimpleMeterRegistry());
+
+        clients.add(client(1, "Alice", "Martin"));
+        clients.add(client(2, "Bruno", "Durand"));
+        directory.rebuild();
+    }
+
+    @Test
+    void rebuildReplaysWritesMadeDuringTheLoad() {
+        duringLoad = () -> {
+            directory.upsert(client(3, "Chloe", "Bernard"));
+            directory.remove(2);
+            directory.upsert(client(1, "Alice", "Moreau"));
+        };
+
+        directory.rebuild();
+
+        assertThat(ids("chloe")).containsExactly(3L);
+        assertThat(ids("bruno")).isEmpty();
+        assertThat(ids("moreau")).containsExactly(1L);
+        assertThat(ids("martin")).isEmpty();
+        assertThat(directory.mightContainEmail("chloe.bernard@example.com")).isTrue();
+    }
+
+    @Test
+    void failedRebuildStopsRecordingWrites() {
+        duringLoad = () -> {
+            throw new QueryTimeoutException("timeout");
+        };
+        assertThatThrownBy(directory::rebuild).isInstanceOf(QueryTimeoutException.class);
+
+        duringLoad = () -> { };
+        directory.remove(1);
+        clients.remove(0);
+        clients.add(client(1, "Alice", "Martin"));
+        directory.rebuild();
+
+        // The removal was not recorded for replay, so the reloaded row stands
+        assertThat(ids("martin")).containsExactly(1L);
+    }
+
+    private List<Long> ids(String query) {
+        return directory.search(query, 10).stream().map(ClientSummary::getId).toList();
+    }
+
+    private static ClientSummary client(long id, String firstName, String lastName) {
+        return ClientSummary.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com")
+                .phone("+3360000000" + id)
+                .build();
+    }
+}
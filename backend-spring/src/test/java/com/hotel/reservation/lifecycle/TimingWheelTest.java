@@ -0,0 +1,120 @@
+package com.hotel.reservation.lifecycle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 37 * TICK;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 262_145})
+    void firesAtDeadlineAcrossLevelBoundaries(long ticksOut) {
+        assertFiresExactlyAt(START, ticksOut);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {64, 4_096, 262_144})
+    void firesExactlyPowersOfSlotsOut(long ticksOut) {
+        // Aligned start: the deadline lands on slot 0 of the level above the one it would fill
+        assertFiresExactlyAt(0, ticksOut);
+        assertFiresExactlyAt(ticksOut * TICK, ticksOut);
+    }
+
+    @Test
+    void holdsDeadlinesUpToItsSpan() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+
+        assertThat(wheel.schedule(1, "last", START + wheel.spanMillis())).isTrue();
+        assertThat(wheel.schedule(2, "beyond", START + wheel.spanMillis() + TICK)).isFalse();
+        assertThat(wheel.contains(2)).isFalse();
+
+        Map<Long, String> due = new HashMap<>();
+        wheel.advance(START + wheel.spanMillis() - TICK, due);
+        assertThat(due).isEmpty();
+        wheel.advance(START + wheel.spanMillis(), due);
+        assertThat(due).containsExactly(Map.entry(1L, "last"));
+    }
+
+    @Test
+    void pastDeadlineFiresAtNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        Map<Long, String> due = new HashMap<>();
+        wheel.advance(START + 10 * TICK, due);
+
+        wheel.schedule(1, "late", START);
+        wheel.advance(START + 10 * TICK + TICK - 1, due);
+        assertThat(due).isEmpty();
+        wheel.advance(START + 11 * TICK, due);
+
+        assertThat(due).containsExactly(Map.entry(1L, "late"));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void partialTickDeadlineRoundsUp() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule(1, "timer", START + 5 * TICK + 1);
+
+        Map<Long, String> due = new HashMap<>();
+        wheel.advance(START + 5 * TICK, due);
+        assertThat(due).isEmpty();
+        wheel.advance(START + 6 * TICK, due);
+        assertThat(due).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void cancelAfterCascade() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        long deadline = (4_096 + 70) * TICK;
+        wheel.schedule(1, "cancelled", deadline);
+        wheel.schedule(2, "kept", deadline);
+
+        Map<Long, String> due = new HashMap<>();
+        // Past the level 2 and level 1 cascades that moved both timers down to level 0
+        wheel.advance((4_096 + 64) * TICK, due);
+        assertThat(due).isEmpty();
+
+        assertThat(wheel.cancel(1)).isTrue();
+        assertThat(wheel.cancel(1)).isFalse();
+        wheel.advance(deadline, due);
+
+        assertThat(due).containsExactly(Map.entry(2L, "kept"));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule(1, "first", START + 100 * TICK);
+        wheel.schedule(1, "second", START + 5_000 * TICK);
+
+        Map<Long, String> due = new HashMap<>();
+        wheel.advance(START + 4_999 * TICK, due);
+        assertThat(due).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        wheel.advance(START + 5_000 * TICK, due);
+        assertThat(due).containsExactly(Map.entry(1L, "second"));
+    }
+
+    private static void assertFiresExactlyAt(long startMillis, long ticksOut) {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, startMillis);
+        long deadline = startMillis + ticksOut * TICK;
+        assertThat(wheel.schedule(ticksOut, ticksOut, deadline)).isTrue();
+        // A second timer keeps the wheel from jumping over the empty ticks
+        wheel.schedule(-1, -1L, deadline + TICK);
+
+        Map<Long, Long> due = new HashMap<>();
+        wheel.advance(deadline - TICK, due);
+        assertThat(due).as("fired before %d ticks", ticksOut).isEmpty();
+        wheel.advance(deadline, due);
+        assertThat(due).as("fired at %d ticks", ticksOut).containsExactly(Map.entry(ticksOut, ticksOut));
+    }
+}
@@ -0,0 +1,110 @@
+package com.hotel.reservation.report;
+
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OccupancyTaskTest {
+
+    private static final int TYPES = RoomType.values().length;
+    private static final int DOUBLE = RoomType.DOUBLE.ordinal();
+    private static final int SUITE = RoomType.SUITE.ordinal();
+    private static final int CHECK_IN = 20_000;
+
+    private final ReservationColumns columns = new ReservationColumns();
+    private final boolean[] counted = new boolean[ReservationStatus.values().length];
+
+    @BeforeEach
+    void setUp() {
+        counted[ReservationStatus.CONFIRMED.ordinal()] = true;
+        counted[ReservationStatus.COMPLETED.ordinal()] = true;
+        columns.putRoom(1, RoomType.DOUBLE);
+        columns.putRoom(2, RoomType.SUITE);
+        // Three nights for 10.00: 3.34 on the first night, 3.33 on the others
+        columns.upsert(100, 1, CHECK_IN, CHECK_IN + 3, 1_000, ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void wholeStayInWindowCountsFullPrice() {
+        long[] result = scan(CHECK_IN - 1, CHECK_IN + 4);
+
+        assertThat(nights(result, DOUBLE, 5)).containsExactly(0, 1, 1, 1, 0);
+        assertThat(revenue(result, DOUBLE, 5)).isEqualTo(1_000);
+    }
+
+    @Test
+    void remainderStaysOnFirstNight() {
+        assertThat(revenue(scan(CHECK_IN, CHECK_IN + 1), DOUBLE, 1)).isEqualTo(334);
+        assertThat(revenue(scan(CHECK_IN + 1, CHECK_IN + 2), DOUBLE, 1)).isEqualTo(333);
+        assertThat(revenue(scan(CHECK_IN + 2, CHECK_IN + 3), DOUBLE, 1)).isEqualTo(333);
+    }
+
+    @Test
+    void windowClipsStayOnBothSides() {
+        long[] result = scan(CHECK_IN + 1, CHECK_IN + 2);
+
+        assertThat(nights(result, DOUBLE, 1)).containsExactly(1);
+        assertThat(revenue(result, DOUBLE, 1)).isEqualTo(333);
+    }
+
+    @Test
+    void stayOutsideWindowIsIgnored() {
+        long[] before = scan(CHECK_IN - 5, CHECK_IN);
+        long[] after = scan(CHECK_IN + 3, CHECK_IN + 8);
+
+        assertThat(nights(before, DOUBLE, 5)).containsOnly(0);
+        assertThat(revenue(before, DOUBLE, 5)).isZero();
+        assertThat(nights(after, DOUBLE, 5)).containsOnly(0);
+        assertThat(revenue(after, DOUBLE, 5)).isZero();
+    }
+
+    @Test
+    void countsOnlySelectedStatusesPerRoomType() {
+        columns.upsert(101, 2, CHECK_IN, CHECK_IN + 2, 500, ReservationStatus.COMPLETED);
+        columns.upsert(102, 2, CHECK_IN, CHECK_IN + 2, 700, ReservationStatus.CANCELLED);
+        columns.upsert(103, 1, CHECK_IN, CHECK_IN + 1, 900, ReservationStatus.PENDING);
+
+        long[] result = scan(CHECK_IN, CHECK_IN + 3);
+
+        assertThat(nights(result, SUITE, 3)).containsExactly(1, 1, 0);
+        assertThat(revenue(result, SUITE, 3)).isEqualTo(500);
+        assertThat(nights(result, DOUBLE, 3)).containsExactly(1, 1, 1);
+        assertThat(revenue(result, DOUBLE, 3)).isEqualTo(1_000);
+    }
+
+    @Test
+    void forkedScanMatchesSingleScan() {
+        for (int i = 0; i < 100_000; i++) {
+            columns.upsert(1_000 + i, 1 + i % 2, CHECK_IN + i % 7, CHECK_IN + i % 7 + 1 + i % 5, 1_001 + i,
+                    ReservationStatus.CONFIRMED);
+        }
+        long[] forked = new OccupancyTask(columns, CHECK_IN, CHECK_IN + 10, counted, TYPES, 0, columns.size).invoke();
+
+        long[] single = new long[forked.length];
+        for (int lo = 0; lo < columns.size; lo += 1_000) {
+            long[] part = new OccupancyTask(columns, CHECK_IN, CHECK_IN + 10, counted, TYPES, lo,
+                    Math.min(lo + 1_000, columns.size)).compute();
+            for (int i = 0; i < part.length; i++) {
+                single[i] += part[i];
+            }
+        }
+        assertThat(forked).containsExactly(single);
+    }
+
+    private long[] scan(int from, int to) {
+        return new OccupancyTask(columns, from, to, counted, TYPES, 0, columns.size).invoke();
+    }
+
+    private static long[] nights(long[] result, int type, int nights) {
+        long[] sold = new long[nights];
+        System.arraycopy(result, type * nights, sold, 0, nights);
+        return sold;
+    }
+
+    private static long revenue(long[] result, int type, int nights) {
+        return result[TYPES * nights + type];
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotel.reservation.report;
+
+import com.hotel.reservation.invalidation.ChangeNotice;
+import com.hotel.reservation.invalidation.ChangeNotice.Operation;
+import com.hotel.reservation.invalidation.ChangeNotice.Table;
+import com.hotel.reservation.model.Reservation.ReservationStatus;
+import com.hotel.reservation.model.Room.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationColumnStoreTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 3, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 3, 4);
+
+    private final Map<Long, RoomType> rooms = new LinkedHashMap<>();
+    private final List<Map<String, Object>> reservations = new ArrayList<>();
+    private final List<String> queries = new ArrayList<>();
+    private ReservationColumnStore store;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            queries.add(sql);
+            return sql.contains("FROM rooms") ? roomRows() : resultSet(reservations);
+        });
+        store = new ReservationColumnStore(dataSource, mock(PlatformTransactionManager.class));
+
+        rooms.put(1L, RoomType.DOUBLE);
+        reservations.add(Map.of("id", 10L, "room_id", 1L, "check_in_date", Date.valueOf(CHECK_IN),
+                "check_out_date", Date.valueOf(CHECK_OUT), "total_price", new BigDecimal("300.00"),
+                "status", "CONFIRMED"));
+        store.onStartup();
+        queries.clear();
+    }
+
+    @Test
+    void mixedBatchAppliesItsReservationNotices() {
+        store.onChanges(List.of(
+                ChangeNotice.builder().table(Table.CLIENTS).operation(Operation.UPDATE).id(5).build(),
+                reservation(Operation.INSERT, 11, 1L, "PENDING"),
+                ChangeNotice.builder().table(Table.WAITLIST_ENTRIES).operation(Operation.INSERT).id(6).build(),
+                reservation(Operation.UPDATE, 10, 1L, "CANCELLED")));
+
+        assertThat(statuses()).isEqualTo(Map.of(10L, ReservationStatus.CANCELLED, 11L, ReservationStatus.PENDING));
+        assertThat(queries).isEmpty();
+    }
+
+    @Test
+    void reservationOnUnknownRoomReloadsRooms() {
+        rooms.put(2L, RoomType.SUITE);
+
+        store.onChanges(List.of(
+                ChangeNotice.builder().table(Table.CLIENTS).operation(Operation.INSERT).id(7).build(),
+                reservation(Operation.INSERT, 12, 2L, "CONFIRMED")));
+
+        assertThat(queries).hasSize(1);
+        assertThat(statuses()).containsOnlyKeys(10L, 12L);
+        int[] roomsPerType = store.read(ReservationColumns::roomsPerType);
+        assertThat(roomsPerType[RoomType.SUITE.ordinal()]).isEqualTo(1);
+    }
+
+    @Test
+    void deleteNeedsNoRooms() {
+        store.onChanges(List.of(ChangeNotice.builder().table(Table.RESERVATIONS).operation(Operation.DELETE)
+                .id(10).roomId(99L).build()));
+
+        assertThat(queries).isEmpty();
+        assertThat(statuses()).isEmpty();
+    }
+
+    private Map<Long, ReservationStatus> statuses() {
+        return store.read(columns -> {
+            Map<Long, ReservationStatus> byId = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size; i++) {
+                byId.put(columns.ids[i], ReservationStatus.values()[columns.statuses[i]]);
+            }
+            return byId;
+        });
+    }
+
+    private static ChangeNotice reservation(Operation operation, long id, Long roomId, String status) {
+        return ChangeNotice.builder()
+                .table(Table.RESERVATIONS)
+                .operation(operation)
+                .id(id)
+                .roomId(roomId)
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_OUT)
+                .status(status)
+                .totalPrice(new BigDecimal("300.00"))
+                .build();
+    }
+
+    private ResultSet roomRows() throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rooms.forEach((id, type) -> rows.add(Map.of("id", id, "room_type", type.name())));
+        return resultSet(rows);
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) throws SQLException {
+        Iterator<Map<String, Object>> iterator = List.copyOf(rows).iterator();
+        Object[] current = new Object[1];
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenAnswer(invocation -> {
+            current[0] = iterator.hasNext() ? iterator.next() : null;
+            return current[0] != null;
+        });
+        when(resultSet.getLong(anyString())).thenAnswer(invocation -> value(current, invocation.getArgument(0)));
+        when(resultSet.getString(anyString())).thenAnswer(invocation -> value(current, invocation.getArgument(0)));
+        when(resultSet.getDate(anyString())).thenAnswer(invocation -> value(current, invocation.getArgument(0)));
+        when(resultSet.getBigDecimal(anyString())).thenAnswer(invocation -> value(current, invocation.getArgument(0)));
+        return resultSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object value(Object[] current, String column) {
+        return ((Map<String, Object>) current[0]).get(column);
+    }
+}
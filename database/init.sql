@@ -4,7 +4,11 @@
 
 -- Drop existing tables if they exist
 DROP TABLE IF EXISTS reservation_history CASCADE;
+DROP TABLE IF EXISTS reservation_requests CASCADE;
+DROP TABLE IF EXISTS outbox CASCADE;
+DROP TABLE IF EXISTS waitlist_entries CASCADE;
 DROP TABLE IF EXISTS reservations CASCADE;
+DROP SCHEMA IF EXISTS reservations_archive CASCADE;
 DROP TABLE IF EXISTS rooms CASCADE;
 DROP TABLE IF EXISTS clients CASCADE;
 
@@ -30,12 +34,18 @@ CREATE TABLE rooms (
     description TEXT,
     amenities TEXT[], -- Array of amenities
     is_available BOOLEAN DEFAULT true,
+    -- Moved by every booking that locks the room row; the cluster's owner node compares it with
+    -- the version its calendar was loaded at (see RoomAvailabilityIndex)
+    booking_version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Create reservations table
+-- Create reservations table, partitioned by month of check-in date.
+-- The primary key must contain the partition key; ids stay unique through the sequence.
+-- Conflict checks only look back max-stay-nights check-in dates: chk_reservations_max_stay must
+-- match reservation.max-stay-nights (Spring) and MAX_STAY_NIGHTS (gRPC), or overlaps go unseen.
 CREATE TABLE reservations (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     client_id BIGINT NOT NULL,
     room_id BIGINT NOT NULL,
     check_in_date DATE NOT NULL,
@@ -48,8 +58,138 @@ CREATE TABLE reservations (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE,
     FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE,
+    PRIMARY KEY (id, check_in_date),
     CHECK (check_out_date > check_in_date),
+    CONSTRAINT chk_reservations_max_stay CHECK (check_out_date - check_in_date <= 90),
     CHECK (number_of_guests > 0)
+) PARTITION BY RANGE (check_in_date);
+
+-- Catch-all for check-in dates beyond the pre-created months
+CREATE TABLE reservations_default PARTITION OF reservations DEFAULT;
+
+-- Detached partitions of completed stays are moved here
+CREATE SCHEMA reservations_archive;
+
+-- Create (or backfill from the default partition) monthly partitions starting at p_from.
+-- Both partition functions take the same advisory lock, so maintenance runs started on several
+-- nodes at once take turns instead of racing between to_regclass and CREATE TABLE.
+CREATE OR REPLACE FUNCTION create_reservation_partitions(p_from DATE, p_months INT)
+RETURNS INT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_from)::DATE;
+    v_end DATE;
+    v_name TEXT;
+    v_created INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('reservation_partitions'));
+    -- Attaching locks the default partition, which takes bookings beyond the created months:
+    -- give up rather than queue them behind it; the next run retries
+    SET LOCAL lock_timeout = '2s';
+    FOR i IN 0 .. p_months - 1 LOOP
+        v_end := (v_start + INTERVAL '1 month')::DATE;
+        v_name := 'reservations_' || to_char(v_start, '"y"YYYY"m"MM');
+        IF to_regclass(v_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+            -- Rows that landed in the default partition before this month existed
+            EXECUTE format('WITH moved AS (DELETE FROM reservations_default '
+                           'WHERE check_in_date >= %L AND check_in_date < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved', v_start, v_end, v_name);
+            EXECUTE format('ALTER TABLE reservations ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           v_name, v_start, v_end);
+            v_created := v_created + 1;
+        END IF;
+        v_start := v_end;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detach monthly partitions whose check-in range ends before p_before, then move them to
+-- reservations_archive (p_drop = false) or drop them. Uses a short lock timeout so it never
+-- queues behind booking traffic; partitions that cannot be locked are retried on the next run.
+CREATE OR REPLACE FUNCTION detach_reservation_partitions(p_before DATE, p_drop BOOLEAN)
+RETURNS INT AS $$
+DECLARE
+    v_partition RECORD;
+    v_detached INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('reservation_partitions'));
+    SET LOCAL lock_timeout = '2s';
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'reservations'::regclass
+          AND c.relname ~ '^reservations_y[0-9]{4}m[0-9]{2}$'
+          AND (to_date(substring(c.relname FROM 15), 'YYYY"m"MM') + INTERVAL '1 month')::DATE <= p_before
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE reservations DETACH PARTITION %I', v_partition.relname);
+        IF p_drop THEN
+            EXECUTE format('DROP TABLE %I', v_partition.relname);
+        ELSE
+            EXECUTE format('ALTER TABLE %I SET SCHEMA reservations_archive', v_partition.relname);
+        END IF;
+        v_detached := v_detached + 1;
+    END LOOP;
+    RETURN v_detached;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_reservation_partitions(DATE '2025-01-01', 36);
+
+-- Durable queue of reservation requests accepted in asynchronous mode
+CREATE TABLE reservation_requests (
+    id BIGSERIAL PRIMARY KEY,
+    handle UUID UNIQUE NOT NULL,
+    client_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    number_of_guests INT NOT NULL,
+    special_requests TEXT,
+    requested_status VARCHAR(20),
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED', -- QUEUED, COMPLETED, REJECTED
+    reservation_id BIGINT,
+    error_code VARCHAR(20),
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Transactional outbox: domain events written in the same transaction as the change,
+-- relayed in id order to in-process listeners and sinks
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, DELIVERED, DEAD
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    next_attempt_at TIMESTAMP, -- set after a failed delivery; the event and later ones of its aggregate wait until then
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- Waitlist of requests for fully booked rooms, matched when a stay is cancelled or shortened
+CREATE TABLE waitlist_entries (
+    id BIGSERIAL PRIMARY KEY,
+    client_id BIGINT NOT NULL REFERENCES clients(id) ON DELETE CASCADE,
+    room_id BIGINT REFERENCES rooms(id) ON DELETE CASCADE, -- either a specific room...
+    room_type VARCHAR(50),                                  -- ...or any room of a type
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    number_of_guests INT NOT NULL,
+    special_requests TEXT,
+    mode VARCHAR(20) NOT NULL DEFAULT 'AUTO_BOOK', -- AUTO_BOOK, HOLD
+    status VARCHAR(20) NOT NULL DEFAULT 'WAITING', -- WAITING, BOOKED, HELD, EXPIRED, CANCELLED
+    reservation_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    matched_at TIMESTAMP,
+    CONSTRAINT chk_waitlist_target CHECK (room_id IS NOT NULL OR room_type IS NOT NULL),
+    CONSTRAINT chk_waitlist_dates CHECK (check_out_date > check_in_date)
 );
 
 -- Create reservation history table for audit trail
@@ -59,8 +199,9 @@ CREATE TABLE reservation_history (
     action VARCHAR(50) NOT NULL, -- CREATED, UPDATED, CANCELLED, COMPLETED
     changed_by VARCHAR(100),
     change_details JSONB,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (reservation_id) REFERENCES reservations(id) ON DELETE CASCADE
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    -- No foreign key to reservations: its key includes the partition column and
+    -- the audit trail must outlive archived partitions.
 );
 
 -- Create indexes for performance optimization
@@ -69,6 +210,15 @@ CREATE INDEX idx_reservations_room_id ON reservations(room_id);
 CREATE INDEX idx_reservations_check_in_date ON reservations(check_in_date);
 CREATE INDEX idx_reservations_check_out_date ON reservations(check_out_date);
 CREATE INDEX idx_reservations_status ON reservations(status);
+-- Upcoming lifecycle deadlines: hold expiry and check-out completion
+CREATE INDEX idx_reservations_pending_created_at ON reservations(created_at) WHERE status = 'PENDING';
+CREATE INDEX idx_reservations_confirmed_check_out ON reservations(check_out_date) WHERE status = 'CONFIRMED';
+CREATE INDEX idx_reservation_history_reservation_id ON reservation_history(reservation_id);
+CREATE INDEX idx_reservation_requests_queued ON reservation_requests(id) WHERE status = 'QUEUED';
+CREATE INDEX idx_outbox_pending ON outbox(id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_retrying ON outbox(aggregate_id, id) WHERE status = 'PENDING' AND next_attempt_at IS NOT NULL;
+CREATE INDEX idx_waitlist_entries_waiting ON waitlist_entries(id) WHERE status = 'WAITING';
+CREATE INDEX idx_outbox_delivered_at ON outbox(delivered_at) WHERE status = 'DELIVERED';
 CREATE INDEX idx_clients_email ON clients(email);
 CREATE INDEX idx_rooms_room_number ON rooms(room_number);
 
@@ -92,6 +242,63 @@ CREATE TRIGGER update_reservations_updated_at
     FOR EACH ROW
     EXECUTE FUNCTION update_updated_at_column();
 
+-- Change notices for cross-node cache invalidation (LISTEN hotel_changes).
+-- Payloads are short JSON documents; reservation notices carry enough to update an
+-- availability calendar without reading the row back.
+CREATE OR REPLACE FUNCTION notify_hotel_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    rec RECORD;
+    payload JSON;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        rec := OLD;
+    ELSE
+        rec := NEW;
+    END IF;
+
+    -- Bookings move rooms.booking_version; the room itself did not change
+    IF TG_TABLE_NAME = 'rooms' AND TG_OP = 'UPDATE'
+            AND to_jsonb(OLD) - 'booking_version' = to_jsonb(NEW) - 'booking_version' THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_TABLE_NAME = 'reservations' THEN
+        payload := json_build_object(
+            't', TG_TABLE_NAME, 'op', left(TG_OP, 1), 'id', rec.id,
+            'room', rec.room_id,
+            'prevRoom', CASE WHEN TG_OP = 'UPDATE' AND OLD.room_id <> NEW.room_id THEN OLD.room_id END,
+            'in', rec.check_in_date, 'out', rec.check_out_date, 'status', rec.status,
+            'price', rec.total_price);
+    ELSE
+        payload := json_build_object('t', TG_TABLE_NAME, 'op', left(TG_OP, 1), 'id', rec.id);
+    END IF;
+
+    PERFORM pg_notify('hotel_changes', payload::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER notify_reservations_change
+    AFTER INSERT OR UPDATE OR DELETE ON reservations
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_hotel_change();
+
+CREATE TRIGGER notify_rooms_change
+    AFTER INSERT OR UPDATE OR DELETE ON rooms
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_hotel_change();
+
+CREATE TRIGGER notify_clients_change
+    AFTER INSERT OR UPDATE OR DELETE ON clients
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_hotel_change();
+
+CREATE TRIGGER notify_waitlist_entries_change
+    AFTER INSERT OR UPDATE OR DELETE ON waitlist_entries
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_hotel_change();
+
 -- Insert sample clients
 INSERT INTO clients (first_name, last_name, email, phone, address) VALUES
 ('Jean', 'Dupont', 'jean.dupont@email.com', '+33612345678', '123 Rue de Paris, Paris, France'),
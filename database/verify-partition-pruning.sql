@@ -0,0 +1,37 @@
+-- Checks that the reservation queries issued by backend-spring only touch the partitions
+-- that can contain matching rows.
+-- Usage: psql -U hoteluser -d hotel_reservation -f database/verify-partition-pruning.sql
+--
+-- Expected: the plans list only the monthly partitions covering the requested check-in range
+-- (plan-time pruning), or show "Subplans Removed: N" under the Append node when the statement
+-- runs with a generic plan (run-time pruning, as used by the JDBC driver after 5 executions).
+
+\echo '== Conflict check: room 1, stay 2026-01-10 -> 2026-01-15, max stay 90 nights'
+PREPARE conflict_check(BIGINT, DATE, DATE, DATE) AS
+SELECT r.id FROM reservations r
+WHERE r.room_id = $1
+  AND r.status <> 'CANCELLED'
+  AND r.check_in_date >= $4 AND r.check_in_date <= $3
+  AND r.check_out_date >= $2;
+
+SET plan_cache_mode = force_custom_plan;
+EXPLAIN (COSTS OFF) EXECUTE conflict_check(1, '2026-01-10', '2026-01-15', DATE '2026-01-10' - 90);
+
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF)
+    EXECUTE conflict_check(1, '2026-01-10', '2026-01-15', DATE '2026-01-10' - 90);
+
+\echo '== Reservations between dates: 2026-02-01 -> 2026-03-01'
+PREPARE between_dates(DATE, DATE) AS
+SELECT r.id FROM reservations r
+WHERE r.check_in_date >= $1 AND r.check_in_date < $2 AND r.check_out_date <= $2;
+
+SET plan_cache_mode = force_custom_plan;
+EXPLAIN (COSTS OFF) EXECUTE between_dates('2026-02-01', '2026-03-01');
+
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) EXECUTE between_dates('2026-02-01', '2026-03-01');
+
+RESET plan_cache_mode;
+DEALLOCATE conflict_check;
+DEALLOCATE between_dates;
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Démarre trois JVM backend-spring en mode cluster sur la même machine
+# (node1 :8080, node2 :8090, node3 :8100), chaque chambre étant possédée par un seul nœud.
+#
+# Usage : ./run-local-cluster.sh         démarre les trois nœuds (Ctrl+C pour tout arrêter)
+# Pré-requis : java 17, la base démarrée via `make start-db`, le jar construit via `make build-rest`.
+
+set -euo pipefail
+
+ROOT_DIR=$(cd "$(dirname "$0")/../.." && pwd)
+JAR=$(ls "$ROOT_DIR"/backend-spring/target/backend-spring-*.jar | grep -v plain | head -n 1)
+LOG_DIR="$ROOT_DIR/results/cluster"
+mkdir -p "$LOG_DIR"
+
+# Secret partagé authentifiant les appels transmis entre nœuds
+export RESERVATION_CLUSTER_FORWARD_SECRET=${RESERVATION_CLUSTER_FORWARD_SECRET:-$(od -An -tx1 -N16 /dev/urandom | tr -d ' \n')}
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT INT TERM
+
+start_node() {
+  local id=$1 port=$2
+  SERVER_PORT=$port RESERVATION_CLUSTER_NODE_ID=$id \
+    java -Xmx512m -jar "$JAR" --spring.profiles.active=cluster \
+    --opentracing.jaeger.enabled=false >"$LOG_DIR/$id.log" 2>&1 &
+  PIDS+=($!)
+  echo "$id démarré sur le port $port (logs : $LOG_DIR/$id.log)"
+}
+
+start_node node1 8080
+start_node node2 8090
+start_node node3 8100
+
+for port in 8080 8090 8100; do
+  until curl -sf "http://localhost:$port/actuator/health" >/dev/null; do sleep 1; done
+done
+echo "Cluster prêt. Les écritures envoyées à n'importe quel nœud sont routées vers le propriétaire de la chambre :"
+echo "  curl -s localhost:8080/actuator/prometheus | grep reservation_cluster_forwarded"
+
+wait
@@ -0,0 +1,125 @@
+#!/usr/bin/env bash
+# Compare HTTP/1.1 et HTTP/2 sur backend-spring avec le même mélange /api/reservations :
+#  - en TLS (profil `tls`, h2 négocié par ALPN) avec k6 rest-http2-test.js, HTTP/1.1 forcé par
+#    GODEBUG=http2client=0 ;
+#  - en clair (h2c, connaissance préalable) avec h2load, si nghttp2 est installé : lectures
+#    GET /api/reservations/{id} (id de 1 à MAX_ID) sur 100 connexions HTTP/1.1 contre
+#    4 connexions HTTP/2 multiplexées.
+# Écrit un rapport Markdown dans results/http2/.
+#
+# Usage : ./compare-http2.sh [k6-duration] [vus]   (défaut : 2m et 50)
+# Pré-requis : java 17, keytool, curl, jq, k6 (h2load optionnel), la base démarrée via
+# `make start-db`, le jar construit via `make build-rest`.
+
+set -euo pipefail
+
+LOAD_DURATION=${1:-2m}
+VUS=${2:-50}
+FAN_OUT=${FAN_OUT:-8}
+H2LOAD_REQUESTS=${H2LOAD_REQUESTS:-200000}
+MAX_ID=${MAX_ID:-1000}
+ROOT_DIR=$(cd "$(dirname "$0")/../.." && pwd)
+JAR=$(ls "$ROOT_DIR"/backend-spring/target/backend-spring-*.jar | grep -v plain | head -n 1)
+RESULTS_DIR="$ROOT_DIR/results/http2"
+CERT_DIR="$RESULTS_DIR/certs"
+STAMP=$(date +%Y%m%d-%H%M%S)
+REPORT="$RESULTS_DIR/http2-vs-http1-$STAMP.md"
+KEYSTORE_PASSWORD=changeit
+
+mkdir -p "$RESULTS_DIR" "$CERT_DIR"
+
+if [ ! -f "$CERT_DIR/backend-spring.p12" ]; then
+  keytool -genkeypair -alias backend-spring -keyalg EC -groupname secp256r1 -validity 365 \
+    -dname "CN=localhost" -ext "SAN=dns:localhost,ip:127.0.0.1" \
+    -storetype PKCS12 -keystore "$CERT_DIR/backend-spring.p12" -storepass "$KEYSTORE_PASSWORD" >/dev/null 2>&1
+fi
+
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT INT TERM
+
+start_app() {
+  local log=$1; shift
+  java -Xmx1g -jar "$JAR" --opentracing.jaeger.enabled=false "$@" >"$log" 2>&1 &
+  APP_PID=$!
+}
+
+stop_app() {
+  kill "$APP_PID" 2>/dev/null || true
+  wait "$APP_PID" 2>/dev/null || true
+  APP_PID=
+}
+
+wait_ready() {
+  until curl -fsk -o /dev/null "$1/actuator/health"; do sleep 0.5; done
+}
+
+# p99 en ms depuis un journal h2load (3e colonne : durée de la requête en µs)
+h2load_p99() {
+  awk '{print $3}' "$1" | sort -n | awk '{a[NR]=$1} END {i=int(NR*0.99); if (i<1) i=1; printf "%.1f", a[i]/1000}'
+}
+
+declare -A RPS P95 P99
+
+# ---- TLS : k6, HTTP/1.1 puis HTTP/2 ----
+SERVER_SSL_KEY_STORE="file:$CERT_DIR/backend-spring.p12" SERVER_SSL_KEY_STORE_PASSWORD=$KEYSTORE_PASSWORD \
+  start_app "$RESULTS_DIR/app-tls-$STAMP.log" --spring.profiles.active=tls
+wait_ready "https://localhost:8443"
+
+for proto in HTTP/1.1 HTTP/2.0; do
+  key=${proto#HTTP/}
+  summary="$RESULTS_DIR/k6-h$key-$STAMP.json"
+  godebug=""
+  [ "$proto" = "HTTP/1.1" ] && godebug="http2client=0"
+  GODEBUG=$godebug k6 run --quiet --vus "$VUS" --duration "$LOAD_DURATION" \
+    -e BASE_URL=https://localhost:8443 -e EXPECTED_PROTO="$proto" -e FAN_OUT="$FAN_OUT" \
+    --summary-export "$summary" "$ROOT_DIR/performance-tests/k6/rest-http2-test.js" >/dev/null || true
+  RPS[$key]=$(jq -r '.metrics.http_reqs.rate | floor' "$summary")
+  P95[$key]=$(jq -r '.metrics.http_req_duration["p(95)"] | . * 10 | floor / 10' "$summary")
+  P99[$key]=$(jq -r '.metrics.http_req_duration["p(99)"] | . * 10 | floor / 10' "$summary")
+done
+stop_app
+
+# ---- Clair : h2load, HTTP/1.1 contre h2c ----
+H2C_SECTION="h2load non installé : comparaison h2c ignorée."
+if command -v h2load >/dev/null; then
+  start_app "$RESULTS_DIR/app-h2c-$STAMP.log"
+  wait_ready "http://localhost:8080"
+  uris="$RESULTS_DIR/uris-$STAMP.txt"
+  for _ in $(seq 1 1000); do echo "http://localhost:8080/api/reservations/$(( (RANDOM % MAX_ID) + 1 ))"; done > "$uris"
+
+  h2load --h1 -n "$H2LOAD_REQUESTS" -c 100 -m 1 -H 'Accept-Encoding: gzip' -i "$uris" \
+    --log-file "$RESULTS_DIR/h2load-h1-$STAMP.log" > "$RESULTS_DIR/h2load-h1-$STAMP.txt"
+  h2load -n "$H2LOAD_REQUESTS" -c 4 -m 32 -H 'Accept-Encoding: gzip' -i "$uris" \
+    --log-file "$RESULTS_DIR/h2load-h2c-$STAMP.log" > "$RESULTS_DIR/h2load-h2c-$STAMP.txt"
+  stop_app
+
+  h1_rps=$(awk '/^finished in/ {print int($4)}' "$RESULTS_DIR/h2load-h1-$STAMP.txt")
+  h2c_rps=$(awk '/^finished in/ {print int($4)}' "$RESULTS_DIR/h2load-h2c-$STAMP.txt")
+  H2C_SECTION=$(printf '| Protocole | Connexions | Débit (req/s) | Latence p99 (ms) |\n|-----------|------------|---------------|------------------|\n| HTTP/1.1 | 100 | %s | %s |\n| h2c | 4 × 32 flux | %s | %s |' \
+    "$h1_rps" "$(h2load_p99 "$RESULTS_DIR/h2load-h1-$STAMP.log")" \
+    "$h2c_rps" "$(h2load_p99 "$RESULTS_DIR/h2load-h2c-$STAMP.log")")
+fi
+
+{
+  echo "# backend-spring : HTTP/1.1 vs HTTP/2"
+  echo
+  echo "- Date : $(date -Iseconds)"
+  echo "- TLS : \`k6 rest-http2-test.js\`, ${VUS} VUs pendant ${LOAD_DURATION}, lectures en parallèle par ${FAN_OUT}"
+  echo "- Clair : \`h2load\`, ${H2LOAD_REQUESTS} lectures \`GET /api/reservations/{id}\`"
+  echo
+  echo "## TLS (h2 par ALPN)"
+  echo
+  echo "| Métrique | HTTP/1.1 | HTTP/2 |"
+  echo "|----------|----------|--------|"
+  echo "| Débit (req/s) | ${RPS[1.1]} | ${RPS[2.0]} |"
+  echo "| Latence p95 (ms) | ${P95[1.1]} | ${P95[2.0]} |"
+  echo "| Latence p99 (ms) | ${P99[1.1]} | ${P99[2.0]} |"
+  echo
+  echo "## Clair (h2c)"
+  echo
+  echo "$H2C_SECTION"
+} > "$REPORT"
+
+cat "$REPORT"
+echo
+echo "Rapport : $REPORT"
@@ -0,0 +1,115 @@
+import grpc from 'k6/net/grpc';
+import exec from 'k6/execution';
+import { check } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+// Compares reservation creation throughput: one unary CreateReservation per booking against
+// client-streaming CreateReservations carrying STREAM_SIZE bookings per call.
+// The scenarios run one after the other with the same VUs and duration; compare
+// reservations_processed (and reservations_created) per second between the two.
+
+const GRPC_ADDR = __ENV.GRPC_ADDR || 'localhost:9090';
+const VUS = parseInt(__ENV.VUS || '20', 10);
+const DURATION = __ENV.DURATION || '1m';
+const STREAM_SIZE = parseInt(__ENV.STREAM_SIZE || '1000', 10);
+const ROOMS = 10;
+
+const processed = new Counter('reservations_processed');
+const created = new Counter('reservations_created');
+const streamDuration = new Trend('bulk_stream_duration', true);
+
+export const options = {
+  scenarios: {
+    unary: {
+      executor: 'constant-vus',
+      exec: 'unary',
+      vus: VUS,
+      duration: DURATION,
+    },
+    bulk: {
+      executor: 'constant-vus',
+      exec: 'bulk',
+      vus: VUS,
+      duration: DURATION,
+      startTime: DURATION,
+    },
+  },
+  // Per-scenario counters only show in the summary when a threshold references them
+  thresholds: {
+    'reservations_processed{scenario:unary}': ['count>0'],
+    'reservations_processed{scenario:bulk}': ['count>0'],
+    'reservations_created{scenario:unary}': ['count>=0'],
+    'reservations_created{scenario:bulk}': ['count>=0'],
+  },
+};
+
+const client = new grpc.Client();
+client.load(['../../backend-grpc/src/main/proto'], 'reservation.proto');
+
+// Each scenario books its own range of slots, one night every other day per room, so that
+// bookings of a run do not conflict with each other; a rerun on the same database mostly
+// reports conflicts, cheaper than inserts: reset the database between comparisons.
+function booking(slot, scenarioOffsetDays) {
+  const night = Math.floor(slot / ROOMS);
+  const checkIn = new Date();
+  checkIn.setUTCDate(checkIn.getUTCDate() + 1 + scenarioOffsetDays + night * 2);
+  const checkOut = new Date(checkIn);
+  checkOut.setUTCDate(checkIn.getUTCDate() + 1);
+  return {
+    client_id: (slot % 10) + 1,
+    room_id: (slot % ROOMS) + 1,
+    check_in_date: checkIn.toISOString().split('T')[0],
+    check_out_date: checkOut.toISOString().split('T')[0],
+    number_of_guests: 1,
+    special_requests: `k6 bulk benchmark - slot ${slot}`,
+    status: 'PENDING',
+  };
+}
+
+// A VU keeps its connection across both scenarios
+let connected = false;
+
+function connect() {
+  if (!connected) {
+    client.connect(GRPC_ADDR, { plaintext: true });
+    connected = true;
+  }
+}
+
+export function unary() {
+  connect();
+  const res = client.invoke('reservation.ReservationService/CreateReservation',
+    booking(exec.scenario.iterationInTest, 0));
+  processed.add(1);
+  const ok = check(res, {
+    'created or rejected': (r) => r && (r.status === grpc.StatusOK || r.status === grpc.StatusFailedPrecondition),
+  });
+  if (ok && res.status === grpc.StatusOK) {
+    created.add(1);
+  }
+}
+
+export function bulk() {
+  connect();
+  const first = exec.scenario.iterationInTest * STREAM_SIZE;
+  const started = Date.now();
+  const stream = new grpc.Stream(client, 'reservation.ReservationService/CreateReservations');
+
+  stream.on('data', (summary) => {
+    processed.add(summary.received);
+    created.add(summary.created);
+    check(summary, { 'every request reported': (s) => s.results.length === STREAM_SIZE });
+  });
+  stream.on('error', (err) => {
+    check(err, { 'stream completed': () => false });
+  });
+  stream.on('end', () => {
+    streamDuration.add(Date.now() - started);
+  });
+
+  for (let i = 0; i < STREAM_SIZE; i++) {
+    // Far from the unary range, so both scenarios insert rather than conflict
+    stream.write(booking(first + i, 20000));
+  }
+  stream.end();
+}
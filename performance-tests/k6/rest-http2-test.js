@@ -0,0 +1,86 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+// Same /api/reservations mix as rest-test.js (create, read, update, delete), without think time,
+// and with each read fanned out into parallel requests: over HTTP/1.1 k6 opens up to
+// batchPerHost connections per VU, over HTTP/2 they are multiplexed on a single one.
+// Run with GODEBUG=http2client=0 to force HTTP/1.1 (see performance-tests/http2/compare-http2.sh).
+
+const errorRate = new Rate('errors');
+const protocolMismatch = new Rate('protocol_mismatch');
+
+const BASE_URL = __ENV.BASE_URL || 'https://localhost:8443';
+const EXPECTED_PROTO = __ENV.EXPECTED_PROTO || '';
+const FAN_OUT = parseInt(__ENV.FAN_OUT || '8', 10);
+
+export const options = {
+  vus: 50,
+  duration: '2m',
+  batchPerHost: FAN_OUT,
+  insecureSkipTLSVerify: true,
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    errors: ['rate<0.1'],
+    protocol_mismatch: ['rate==0'],
+  },
+};
+
+const jsonParams = (name) => ({
+  headers: { 'Content-Type': 'application/json', 'Accept-Encoding': 'gzip' },
+  tags: { name },
+});
+
+function isoDate(date) {
+  return date.toISOString().split('T')[0];
+}
+
+function reservationPayload(status, note) {
+  const checkIn = new Date();
+  checkIn.setDate(checkIn.getDate() + Math.floor(Math.random() * 300) + 1);
+  const checkOut = new Date(checkIn);
+  checkOut.setDate(checkIn.getDate() + Math.floor(Math.random() * 7) + 1);
+  return {
+    clientId: Math.floor(Math.random() * 10) + 1,
+    roomId: Math.floor(Math.random() * 10) + 1,
+    checkInDate: isoDate(checkIn),
+    checkOutDate: isoDate(checkOut),
+    numberOfGuests: Math.floor(Math.random() * 2) + 1,
+    specialRequests: note,
+    status,
+  };
+}
+
+function record(res, ok) {
+  errorRate.add(!ok);
+  if (EXPECTED_PROTO) {
+    protocolMismatch.add(res.proto !== EXPECTED_PROTO);
+  }
+}
+
+export default function () {
+  const payload = reservationPayload('PENDING', `k6 http2 - VU ${__VU}`);
+  const createRes = http.post(`${BASE_URL}/api/reservations`, JSON.stringify(payload), jsonParams('CreateReservation'));
+  // A conflicting stay is an expected outcome of random dates, not an error of the transport
+  record(createRes, check(createRes, { 'create is 201 or 409': (r) => r.status === 201 || r.status === 409 }));
+  if (createRes.status !== 201) {
+    return;
+  }
+  const id = createRes.json('id');
+
+  const reads = [];
+  for (let i = 0; i < FAN_OUT; i++) {
+    const readId = i === 0 ? id : Math.max(1, id - Math.floor(Math.random() * 1000));
+    reads.push(['GET', `${BASE_URL}/api/reservations/${readId}`, null, jsonParams('GetReservation')]);
+  }
+  for (const res of http.batch(reads)) {
+    record(res, check(res, { 'get is 200 or 404': (r) => r.status === 200 || r.status === 404 }));
+  }
+
+  payload.status = 'CONFIRMED';
+  const updateRes = http.put(`${BASE_URL}/api/reservations/${id}`, JSON.stringify(payload), jsonParams('UpdateReservation'));
+  record(updateRes, check(updateRes, { 'update is 200': (r) => r.status === 200 }));
+
+  const deleteRes = http.del(`${BASE_URL}/api/reservations/${id}`, null, { tags: { name: 'DeleteReservation' } });
+  record(deleteRes, check(deleteRes, { 'delete is 204': (r) => r.status === 204 }));
+}
@@ -0,0 +1,146 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate } from 'k6/metrics';
+
+// Custom metrics
+const errorRate = new Rate('errors');
+
+// Same stages as rest-test.js, so the two runs compare directly
+export const options = {
+  stages: [
+    { duration: '30s', target: 10 },
+    { duration: '1m', target: 10 },
+    { duration: '30s', target: 100 },
+    { duration: '2m', target: 100 },
+    { duration: '30s', target: 500 },
+    { duration: '2m', target: 500 },
+    { duration: '30s', target: 0 },
+  ],
+  thresholds: {
+    http_req_duration: ['p(95)<600', 'p(99)<1200'],
+    errors: ['rate<0.1'],
+  },
+};
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SOAP_URL = `${BASE_URL}/soap`;
+const NS = 'http://reservation.hotel.com/soap';
+
+function envelope(body) {
+  return `<soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" xmlns:res="${NS}">` +
+    `<soapenv:Header/><soapenv:Body>${body}</soapenv:Body></soapenv:Envelope>`;
+}
+
+function call(operation, body) {
+  return http.post(SOAP_URL, envelope(body), {
+    headers: {
+      'Content-Type': 'text/xml; charset=utf-8',
+      SOAPAction: '""',
+    },
+    tags: { name: operation },
+  });
+}
+
+function field(xml, name) {
+  const match = xml.match(new RegExp(`<(?:\\w+:)?${name}>([^<]*)</(?:\\w+:)?${name}>`));
+  return match ? match[1] : undefined;
+}
+
+function isFault(r) {
+  return r.body.indexOf('Fault>') !== -1;
+}
+
+function reservationFields(id, clientId, roomId, checkIn, checkOut, status, note) {
+  return (id !== undefined ? `<res:id>${id}</res:id>` : '') +
+    `<res:clientId>${clientId}</res:clientId>` +
+    `<res:roomId>${roomId}</res:roomId>` +
+    `<res:checkInDate>${checkIn}</res:checkInDate>` +
+    `<res:checkOutDate>${checkOut}</res:checkOutDate>` +
+    `<res:numberOfGuests>${Math.floor(Math.random() * 4) + 1}</res:numberOfGuests>` +
+    `<res:specialRequests>${note}</res:specialRequests>` +
+    `<res:status>${status}</res:status>`;
+}
+
+export function setup() {
+  const wsdl = http.get(`${SOAP_URL}/reservations.wsdl`);
+  if (wsdl.status !== 200) {
+    throw new Error(`WSDL not available at ${SOAP_URL}/reservations.wsdl (status ${wsdl.status})`);
+  }
+  return { soapUrl: SOAP_URL };
+}
+
+export default function () {
+  const clientId = Math.floor(Math.random() * 10) + 1;
+  const roomId = Math.floor(Math.random() * 10) + 1;
+
+  // Calculate dates
+  const today = new Date();
+  const checkIn = new Date(today);
+  checkIn.setDate(today.getDate() + Math.floor(Math.random() * 30) + 1);
+  const checkOut = new Date(checkIn);
+  checkOut.setDate(checkIn.getDate() + Math.floor(Math.random() * 7) + 1);
+  const checkInDate = checkIn.toISOString().split('T')[0];
+  const checkOutDate = checkOut.toISOString().split('T')[0];
+
+  // Test 1: CreateReservation
+  const createRes = call('CreateReservation',
+    `<res:CreateReservationRequest>${reservationFields(undefined, clientId, roomId, checkInDate, checkOutDate,
+      'PENDING', `Test request from k6 - VU ${__VU}`)}</res:CreateReservationRequest>`);
+
+  const createSuccess = check(createRes, {
+    'create status is 200': (r) => r.status === 200,
+    'create has reservation id': (r) => !isFault(r) && field(r.body, 'id') !== undefined,
+  });
+
+  errorRate.add(!createSuccess);
+
+  if (createSuccess) {
+    const reservationId = field(createRes.body, 'id');
+
+    sleep(1);
+
+    // Test 2: GetReservation
+    const getRes = call('GetReservation',
+      `<res:GetReservationRequest><res:id>${reservationId}</res:id></res:GetReservationRequest>`);
+
+    const getSuccess = check(getRes, {
+      'get status is 200': (r) => r.status === 200,
+      'get has correct id': (r) => field(r.body, 'id') === reservationId,
+    });
+
+    errorRate.add(!getSuccess);
+
+    sleep(1);
+
+    // Test 3: UpdateReservation
+    const updateRes = call('UpdateReservation',
+      `<res:UpdateReservationRequest>${reservationFields(reservationId, clientId, roomId, checkInDate, checkOutDate,
+        'CONFIRMED', `Updated by k6 - VU ${__VU}`)}</res:UpdateReservationRequest>`);
+
+    const updateSuccess = check(updateRes, {
+      'update status is 200': (r) => r.status === 200,
+      'update status is CONFIRMED': (r) => field(r.body, 'status') === 'CONFIRMED',
+    });
+
+    errorRate.add(!updateSuccess);
+
+    sleep(1);
+
+    // Test 4: DeleteReservation
+    const deleteRes = call('DeleteReservation',
+      `<res:DeleteReservationRequest><res:id>${reservationId}</res:id></res:DeleteReservationRequest>`);
+
+    const deleteSuccess = check(deleteRes, {
+      'delete status is 200': (r) => r.status === 200,
+      'delete succeeded': (r) => field(r.body, 'success') === 'true',
+    });
+
+    errorRate.add(!deleteSuccess);
+  }
+
+  sleep(1);
+}
+
+export function teardown(data) {
+  console.log('Test completed');
+}
@@ -0,0 +1,136 @@
+from locust import HttpUser, task, between
+import random
+import re
+from datetime import datetime, timedelta
+
+
+SOAP_NS = "http://reservation.hotel.com/soap"
+ENVELOPE = (
+    '<soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/" '
+    f'xmlns:res="{SOAP_NS}"><soapenv:Header/><soapenv:Body>{{body}}</soapenv:Body></soapenv:Envelope>'
+)
+HEADERS = {"Content-Type": "text/xml; charset=utf-8", "SOAPAction": '""'}
+
+
+def field(xml, name):
+    """Text of the first element named `name`, whatever its prefix"""
+    match = re.search(rf"<(?:\w+:)?{name}>([^<]*)</(?:\w+:)?{name}>", xml)
+    return match.group(1) if match else None
+
+
+def client_fault(xml):
+    """Faults raised for not found or conflicting reservations (the REST 404/409)"""
+    return "Fault>" in xml and ":Client<" in xml
+
+
+class SoapReservationUser(HttpUser):
+    """
+    Locust user class for testing the SOAP endpoint (/soap).
+    Same task mix as rest-locustfile.py, so the two runs compare directly.
+    """
+
+    wait_time = between(1, 3)  # Wait 1-3 seconds between tasks
+
+    def on_start(self):
+        """Called when a simulated user starts"""
+        self.reservation_id = None
+
+    def call(self, name, body):
+        return self.client.post(
+            "/soap",
+            data=ENVELOPE.format(body=body),
+            headers=HEADERS,
+            catch_response=True,
+            name=name
+        )
+
+    def reservation_fields(self, status, note):
+        client_id = random.randint(1, 10)
+        room_id = random.randint(1, 10)
+
+        # Generate random dates
+        check_in = datetime.now() + timedelta(days=random.randint(1, 30))
+        check_out = check_in + timedelta(days=random.randint(1, 7))
+
+        return (
+            f"<res:clientId>{client_id}</res:clientId>"
+            f"<res:roomId>{room_id}</res:roomId>"
+            f"<res:checkInDate>{check_in.strftime('%Y-%m-%d')}</res:checkInDate>"
+            f"<res:checkOutDate>{check_out.strftime('%Y-%m-%d')}</res:checkOutDate>"
+            f"<res:numberOfGuests>{random.randint(1, 4)}</res:numberOfGuests>"
+            f"<res:specialRequests>{note}</res:specialRequests>"
+            f"<res:status>{status}</res:status>"
+        )
+
+    @task(3)
+    def create_reservation(self):
+        """Create a new reservation (most common operation)"""
+        fields = self.reservation_fields(random.choice(["PENDING", "CONFIRMED"]), "Test reservation from Locust")
+        with self.call(
+            "CreateReservation",
+            f"<res:CreateReservationRequest>{fields}</res:CreateReservationRequest>"
+        ) as response:
+            if response.status_code == 200:
+                self.reservation_id = field(response.text, "id")
+                response.success()
+            elif client_fault(response.text):
+                # Conflict is acceptable (room not available)
+                response.success()
+            else:
+                response.failure(f"Failed with status {response.status_code}")
+
+    @task(2)
+    def get_reservation(self):
+        """Get a reservation by ID"""
+        if self.reservation_id:
+            with self.call(
+                "GetReservation",
+                f"<res:GetReservationRequest><res:id>{self.reservation_id}</res:id></res:GetReservationRequest>"
+            ) as response:
+                if response.status_code == 200 or client_fault(response.text):
+                    # Not found is acceptable
+                    response.success()
+                else:
+                    response.failure(f"Failed with status {response.status_code}")
+
+    @task(1)
+    def list_reservations(self):
+        """List reservations, one page of 100 (the SOAP counterpart of Get All Reservations)"""
+        with self.call(
+            "ListReservations",
+            "<res:ListReservationsRequest><res:pageSize>100</res:pageSize></res:ListReservationsRequest>"
+        ) as response:
+            if response.status_code == 200:
+                response.success()
+            else:
+                response.failure(f"Failed with status {response.status_code}")
+
+    @task(1)
+    def update_reservation(self):
+        """Update an existing reservation"""
+        if self.reservation_id:
+            fields = self.reservation_fields("CONFIRMED", "Updated by Locust")
+            with self.call(
+                "UpdateReservation",
+                f"<res:UpdateReservationRequest><res:id>{self.reservation_id}</res:id>{fields}"
+                "</res:UpdateReservationRequest>"
+            ) as response:
+                if response.status_code == 200 or client_fault(response.text):
+                    # Not found or conflict is acceptable
+                    response.success()
+                else:
+                    response.failure(f"Failed with status {response.status_code}")
+
+    @task(1)
+    def delete_reservation(self):
+        """Delete a reservation"""
+        if self.reservation_id:
+            with self.call(
+                "DeleteReservation",
+                f"<res:DeleteReservationRequest><res:id>{self.reservation_id}</res:id></res:DeleteReservationRequest>"
+            ) as response:
+                if response.status_code == 200 or client_fault(response.text):
+                    response.success()
+                    self.reservation_id = None  # Reset reservation ID
+                else:
+                    response.failure(f"Failed with status {response.status_code}")
@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+# Compare l'image native GraalVM de backend-spring à l'image JVM :
+# temps jusqu'à la première requête réussie, mémoire (RSS) au repos et après charge,
+# et débit en régime établi avec k6. Écrit un rapport Markdown dans results/startup/.
+#
+# Usage : ./compare-native.sh [runs] [k6-duration]   (défaut : 5 et 2m)
+# Pré-requis : docker, curl, k6, la base démarrée via `make start-db`.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+LOAD_DURATION=${2:-2m}
+VUS=${VUS:-50}
+ROOT_DIR=$(cd "$(dirname "$0")/../.." && pwd)
+NETWORK=${NETWORK:-$(basename "$ROOT_DIR" | tr '[:upper:]' '[:lower:]' | tr -cd 'a-z0-9_-')_hotel-network}
+PORT=${PORT:-18080}
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+RESULTS_DIR="$ROOT_DIR/results/startup"
+STAMP=$(date +%Y%m%d-%H%M%S)
+REPORT="$RESULTS_DIR/native-vs-jvm-$STAMP.md"
+IMAGES=(hotel-spring-api:jvm hotel-spring-api:native)
+
+mkdir -p "$RESULTS_DIR"
+
+echo "Building images..."
+docker build -q -t hotel-spring-api:jvm -f "$ROOT_DIR/backend-spring/Dockerfile" "$ROOT_DIR/backend-spring" >/dev/null
+docker build -q -t hotel-spring-api:native -f "$ROOT_DIR/backend-spring/Dockerfile.native" "$ROOT_DIR/backend-spring" >/dev/null
+
+now_ms() {
+  date +%s%3N
+}
+
+start_container() {
+  docker run -d --rm --name "$2" --network "$NETWORK" --cpus "$CPUS" --memory "$MEMORY" -p "${PORT}:8080" \
+    -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/hotel_reservation \
+    -e SPRING_DATASOURCE_USERNAME=hoteluser \
+    -e SPRING_DATASOURCE_PASSWORD=hotelpass123 \
+    "$1" >/dev/null
+}
+
+wait_ready() {
+  until curl -fs -o /dev/null "http://localhost:${PORT}/api/reservations/1"; do
+    sleep 0.05
+  done
+}
+
+rss_mib() {
+  docker stats --no-stream --format '{{.MemUsage}}' "$1" | awk '{print $1}'
+}
+
+median() {
+  sort -n | awk '{a[NR]=$1} END {print (NR%2)?a[(NR+1)/2]:(a[NR/2]+a[NR/2+1])/2}'
+}
+
+declare -A TTFR IDLE_RSS LOAD_RSS RPS P95 P99
+for image in "${IMAGES[@]}"; do
+  samples=()
+  for run in $(seq 1 "$RUNS"); do
+    name="cmp-$$-$run"
+    start=$(now_ms)
+    start_container "$image" "$name"
+    wait_ready
+    samples+=($(( $(now_ms) - start )))
+    docker stop -t 5 "$name" >/dev/null
+  done
+  TTFR[$image]=$(printf '%s\n' "${samples[@]}" | median)
+
+  name="cmp-$$-load"
+  start_container "$image" "$name"
+  wait_ready
+  sleep 5
+  IDLE_RSS[$image]=$(rss_mib "$name")
+  summary="$RESULTS_DIR/k6-${image##*:}-$STAMP.json"
+  BASE_URL="http://localhost:${PORT}" k6 run --quiet --vus "$VUS" --duration "$LOAD_DURATION" --summary-trend-stats "avg,p(95),p(99),max" \
+    --summary-export "$summary" "$ROOT_DIR/performance-tests/k6/rest-test.js" >/dev/null || true
+  LOAD_RSS[$image]=$(rss_mib "$name")
+  docker stop -t 5 "$name" >/dev/null
+  RPS[$image]=$(jq -r '.metrics.http_reqs.rate | floor' "$summary")
+  P95[$image]=$(jq -r '.metrics.http_req_duration["p(95)"] | . * 10 | floor / 10' "$summary")
+  P99[$image]=$(jq -r '.metrics.http_req_duration["p(99)"] | . * 10 | floor / 10' "$summary")
+done
+
+{
+  echo "# backend-spring : image native GraalVM vs JVM"
+  echo
+  echo "- Date : $(date -Iseconds)"
+  echo "- Limites conteneur : ${CPUS} CPU, ${MEMORY}"
+  echo "- TTFR : médiane de ${RUNS} démarrages, de \`docker run\` à la première réponse 200 sur \`GET /api/reservations/1\`"
+  echo "- Charge : \`k6 rest-test.js\`, ${VUS} VUs pendant ${LOAD_DURATION}"
+  echo
+  echo "| Métrique | JVM | Native |"
+  echo "|----------|-----|--------|"
+  echo "| TTFR (ms) | ${TTFR[hotel-spring-api:jvm]} | ${TTFR[hotel-spring-api:native]} |"
+  echo "| Mémoire au repos | ${IDLE_RSS[hotel-spring-api:jvm]} | ${IDLE_RSS[hotel-spring-api:native]} |"
+  echo "| Mémoire après charge | ${LOAD_RSS[hotel-spring-api:jvm]} | ${LOAD_RSS[hotel-spring-api:native]} |"
+  echo "| Débit (req/s) | ${RPS[hotel-spring-api:jvm]} | ${RPS[hotel-spring-api:native]} |"
+  echo "| Latence p95 (ms) | ${P95[hotel-spring-api:jvm]} | ${P95[hotel-spring-api:native]} |"
+  echo "| Latence p99 (ms) | ${P99[hotel-spring-api:jvm]} | ${P99[hotel-spring-api:native]} |"
+} > "$REPORT"
+
+cat "$REPORT"
+echo
+echo "Rapport : $REPORT"
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Mesure du temps jusqu'à la première requête réussie (TTFR) de backend-spring :
+# image JVM standard vs image fast-startup (Spring AOT + archive AppCDS).
+#
+# Usage : ./measure-ttfr.sh [runs]   (défaut : 10)
+# Pré-requis : docker, curl, la base démarrée via `make start-db`.
+
+set -euo pipefail
+
+RUNS=${1:-10}
+ROOT_DIR=$(cd "$(dirname "$0")/../.." && pwd)
+NETWORK=${NETWORK:-$(basename "$ROOT_DIR" | tr '[:upper:]' '[:lower:]' | tr -cd 'a-z0-9_-')_hotel-network}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/reservations/1"
+RESULTS_DIR="$ROOT_DIR/results/startup"
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+
+mkdir -p "$RESULTS_DIR"
+
+echo "Building images..."
+docker build -q -t hotel-spring-api:jvm -f "$ROOT_DIR/backend-spring/Dockerfile" "$ROOT_DIR/backend-spring" >/dev/null
+docker build -q -t hotel-spring-api:fast-startup -f "$ROOT_DIR/backend-spring/Dockerfile.fast-startup" "$ROOT_DIR/backend-spring" >/dev/null
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  local image=$1
+  local name="ttfr-$$"
+  local start end
+  start=$(now_ms)
+  docker run -d --rm --name "$name" --network "$NETWORK" --cpus "$CPUS" --memory "$MEMORY" -p "${PORT}:8080" \
+    -e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/hotel_reservation \
+    -e SPRING_DATASOURCE_USERNAME=hoteluser \
+    -e SPRING_DATASOURCE_PASSWORD=hotelpass123 \
+    "$image" >/dev/null
+  until curl -fs -o /dev/null "$URL"; do
+    sleep 0.05
+  done
+  end=$(now_ms)
+  docker stop -t 5 "$name" >/dev/null
+  echo $((end - start))
+}
+
+CSV="$RESULTS_DIR/ttfr-$(date +%Y%m%d-%H%M%S).csv"
+echo "image,run,ttfr_ms" > "$CSV"
+for image in hotel-spring-api:jvm hotel-spring-api:fast-startup; do
+  for run in $(seq 1 "$RUNS"); do
+    ms=$(measure "$image")
+    echo "$image,$run,$ms" | tee -a "$CSV"
+  done
+done
+
+echo
+echo "Médiane TTFR (ms) :"
+for image in hotel-spring-api:jvm hotel-spring-api:fast-startup; do
+  grep "^$image," "$CSV" | cut -d, -f3 | sort -n | awk -v img="$image" '{a[NR]=$1} END {m=(NR%2)?a[(NR+1)/2]:(a[NR/2]+a[NR/2+1])/2; printf "  %-32s %d\n", img, m}'
+done
+echo "Résultats bruts : $CSV"